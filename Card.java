@@ -7,6 +7,11 @@
  * track of a total of 116 as per the guidelines, each with a color,
  * type, and rank.
  *
+ * Cards are immutable, so the game shares one canonical instance per
+ * distinct card, obtained through Card.of(color, type, rank). Each
+ * distinct card also has a one byte code, which the hands and piles
+ * store instead of Card references.
+ *
  * @author Matthew Sanii
  * @version 1
  */
@@ -30,31 +35,112 @@ public class Card {
         WILDTWO
     }
 
-    private colortype col;
-    private cardtype type;
-    private int rank;
+    // Cached copies of values(), which allocates a new array on every call
+    private static final colortype[] COLORS = colortype.values();
+    private static final cardtype[] TYPES = cardtype.values();
+
+    // Highest NUMBER rank that fits in a card code
+    public static final int MAX_CODED_RANK = 15;
+
+    // Layout of the one byte card codes:
+    // NUMBER cards:            color * 16 + rank            (0 to 79)
+    // SKIP, DRAW_ONE, REVERSE, FLIP: 80 + (type - 1) * 5 + color (80 to 99)
+    // WILD and WILDTWO:        100 and 101
+    private static final int ACTION_CODES = 80;
+    private static final int WILD_CODES = 100;
+    public static final int CODE_COUNT = 102;
+
+    // Canonical cards indexed by their code, built once at startup
+    private static final Card[] CANONICAL = new Card[CODE_COUNT];
+    static {
+        for (int code = 0; code < CODE_COUNT; code++) {
+            if (code < ACTION_CODES) {
+                CANONICAL[code] = new Card(code >> 4, 0, code & MAX_CODED_RANK);
+            } else if (code < WILD_CODES) {
+                CANONICAL[code] = new Card((code - ACTION_CODES) % 5, (code - ACTION_CODES) / 5 + 1, 0);
+            } else {
+                CANONICAL[code] = new Card(4, code - WILD_CODES + 5, 0);
+            }
+        }
+    }
+
+    private final colortype col;
+    private final cardtype type;
+    private final int rank;
+    private final byte code;
+    private final String description;
 
     /**
     * Create a Card with a color, type, and rank.
     * @param color The Color of the card
     * @param type The type of card it is (wild, draw, skip)
-    * @param rank The numerical rank of the card.
+    * @param rank The numerical rank of the card (0 to 15 for NUMBER cards).
     */
     public Card(int color, int type, int rank){
         if(type == 5 || type == 6){ //If card type is one of the two Wild cards, set 'color' to ALL
-            this.type = cardtype.values()[type];
-            this.col = colortype.values()[4];
+            this.type = TYPES[type];
+            this.col = COLORS[4];
             this.rank = 0;
         }
         else{
-            this.type = cardtype.values()[type];
-            this.col = colortype.values()[color];
+            this.type = TYPES[type];
+            this.col = COLORS[color];
             if(type == 0){
+                if(rank < 0 || rank > MAX_CODED_RANK){
+                    throw new IllegalArgumentException("Card rank must be between 0 and " + MAX_CODED_RANK);
+                }
                 this.rank = rank;
             } else{
                 this.rank = 0;
             }
         }
+        this.code = (byte) encode(this.col.ordinal(), this.type.ordinal(), this.rank);
+        this.description = describe();
+    }
+
+    /**
+    * Get the shared Card with a color, type, and rank.
+    * Takes the same arguments as the constructor, but returns the canonical
+    * instance instead of allocating a new Card.
+    * @param color The Color of the card
+    * @param type The type of card it is (wild, draw, skip)
+    * @param rank The numerical rank of the card.
+    * @return The canonical Card
+    */
+    public static Card of(int color, int type, int rank){
+        if(type == 5 || type == 6){
+            return CANONICAL[encode(4, type, 0)];
+        }
+        if(type != 0){
+            return CANONICAL[encode(color, type, 0)];
+        }
+        if(rank < 0 || rank > MAX_CODED_RANK){
+            throw new IllegalArgumentException("Card rank must be between 0 and " + MAX_CODED_RANK);
+        }
+        return CANONICAL[encode(color, type, rank)];
+    }
+
+    /**
+    * Get the shared Card for a card code.
+    * @param code The card's code, as returned by getCode()
+    * @return The canonical Card
+    */
+    public static Card fromCode(int code){
+        return CANONICAL[code];
+    }
+
+    /**
+    * Pack an already normalized color, type, and rank into a card code.
+    * @return The card code
+    */
+    private static int encode(int color, int type, int rank){
+        if(type == 0){
+            return (color << 4) | rank;
+        }
+        if(type == 5 || type == 6){
+            return WILD_CODES + type - 5;
+        }
+        return ACTION_CODES + (type - 1) * 5 + color;
     }
 
     /**
@@ -81,11 +167,28 @@ public class Card {
         return this.rank;
     }
 
+    /**
+    * Get the card's code, which packs its color, type, and rank into one byte.
+    * Two cards with the same code are the same card.
+    * @return The card's code, between 0 and CODE_COUNT - 1
+    */
+    public byte getCode(){
+        return this.code;
+    }
+
     /**
     * Return a description of the card, stating color, type, and rank where applicable.
     * @return The description of the card as a String
     */
     public String getDescription(){
+        return this.description;
+    }
+
+    /**
+    * Build the description of the card, once when the card is created.
+    * @return The description of the card as a String
+    */
+    private String describe(){
         // Handle wilds first
         if (this.type == cardtype.WILD) {
             return "WILD";
@@ -103,4 +206,19 @@ public class Card {
         return this.col + " " + this.rank;
     }
 
+    /**
+    * Two cards are equal if they have the same color, type, and rank.
+    * @param o The object to compare with
+    * @return true if o is a Card with the same code
+    */
+    @Override
+    public boolean equals(Object o){
+        return o instanceof Card && ((Card) o).code == this.code;
+    }
+
+    @Override
+    public int hashCode(){
+        return this.code;
+    }
+
 }
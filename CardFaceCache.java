@@ -0,0 +1,211 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * CardFaceCache - draws each card face once and reuses the picture.
+ *
+ * Showing a card as HTML text makes Swing parse the markup into a tree of
+ * views every time the text is set. The cache instead paints each distinct
+ * face into an image the first time it is asked for, and hands out the same
+ * Icon from then on. The faces are the 102 card codes, plus the WILD and
+ * WILDTWO faces in each colour that can be chosen for them, as shown on the
+ * discard pile.
+ *
+ * The images are painted at the screen's scale, so they stay sharp on high
+ * DPI screens. Changing the size or the scale throws every face away, they
+ * are then painted again as they are needed. The faces have no border,
+ * the component showing them draws its own.
+ *
+ * @author Eshal Kashif
+ * @version 1
+ */
+public class CardFaceCache {
+    // The colours a wild card can be given, in the order their faces are stored
+    private static final Card.colortype[] CHOSEN_COLOURS = {
+            Card.colortype.RED, Card.colortype.BLUE, Card.colortype.GREEN, Card.colortype.YELLOW
+    };
+    private static final int FACES = Card.CODE_COUNT + 2 * CHOSEN_COLOURS.length;
+
+    private final Icon[] faces;
+    private int width;
+    private int height;
+    private double scale;
+    private int facesPainted;
+
+    /**
+     * Constructs an empty cache for faces of the given size at a scale of 1.
+     *
+     * @param width The width of a face in pixels
+     * @param height The height of a face in pixels
+     */
+    public CardFaceCache(int width, int height) {
+        this.faces = new Icon[FACES];
+        this.width = width;
+        this.height = height;
+        this.scale = 1;
+    }
+
+    /**
+     * Gets the face of a card.
+     *
+     * @param card The card to show
+     * @param forcedColour The colour chosen for a wild card, or null to show the card as it is
+     * @return The card's face, painted at the current size and scale
+     */
+    public Icon getFace(Card card, Card.colortype forcedColour) {
+        int index = faceIndex(card, forcedColour);
+        Icon face = faces[index];
+        if (face == null) {
+            face = paint(card, index < Card.CODE_COUNT ? null : forcedColour);
+            faces[index] = face;
+        }
+        return face;
+    }
+
+    /**
+     * Changes the size of the faces. Throws away every face if the size changed.
+     *
+     * @param width The width of a face in pixels
+     * @param height The height of a face in pixels
+     * @return true if the faces were thrown away, otherwise false
+     */
+    public boolean setSize(int width, int height) {
+        if (width <= 0 || height <= 0 || (width == this.width && height == this.height)) {
+            return false;
+        }
+        this.width = width;
+        this.height = height;
+        clear();
+        return true;
+    }
+
+    /**
+     * Changes the screen scale the faces are painted at. Throws away every face if the scale changed.
+     *
+     * @param scale The number of device pixels per pixel, 1 on a standard screen
+     * @return true if the faces were thrown away, otherwise false
+     */
+    public boolean setScale(double scale) {
+        if (scale <= 0 || scale == this.scale) {
+            return false;
+        }
+        this.scale = scale;
+        clear();
+        return true;
+    }
+
+    /**
+     * Gets the number of faces painted since the cache was created.
+     *
+     * @return The number of faces painted
+     */
+    public int getFacesPainted() {
+        return facesPainted;
+    }
+
+    /**
+     * Throws away every face.
+     */
+    private void clear() {
+        for (int i = 0; i < FACES; i++) {
+            faces[i] = null;
+        }
+    }
+
+    /**
+     * Gets the slot of a face in the cache. Only wild cards have a face per chosen colour.
+     */
+    private static int faceIndex(Card card, Card.colortype forcedColour) {
+        Card.cardtype type = card.getType();
+        if (forcedColour == null || (type != Card.cardtype.WILD && type != Card.cardtype.WILDTWO)) {
+            return card.getCode();
+        }
+        for (int c = 0; c < CHOSEN_COLOURS.length; c++) {
+            if (CHOSEN_COLOURS[c] == forcedColour) {
+                int wild = type == Card.cardtype.WILD ? 0 : 1;
+                return Card.CODE_COUNT + wild * CHOSEN_COLOURS.length + c;
+            }
+        }
+        return card.getCode();
+    }
+
+    /**
+     * Paints a face into a new image.
+     *
+     * @param card The card to paint
+     * @param forcedColour The colour chosen for a wild card, or null
+     * @return The face as an Icon
+     */
+    private Icon paint(Card card, Card.colortype forcedColour) {
+        facesPainted++;
+        int w = (int) Math.ceil(width * scale);
+        int h = (int) Math.ceil(height * scale);
+        BufferedImage image = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g.scale(scale, scale);
+
+            g.setColor(UnoFlipFrame.getColorForCard(card, forcedColour));
+            g.fillRect(0, 0, width, height);
+            g.setColor(Color.BLACK);
+
+            Card.colortype colour = forcedColour != null ? forcedColour : card.getColor();
+            Font small = new Font("Arial", Font.BOLD, Math.max(8, height / 10));
+            drawCentred(g, colour.toString(), small, height / 4);
+
+            if (card.getType() == Card.cardtype.NUMBER) {
+                drawCentred(g, String.valueOf(card.getRank()), new Font("Arial", Font.BOLD, Math.max(12, height / 3)), height * 2 / 3);
+            } else {
+                drawCentred(g, card.getType().toString(), small, height * 3 / 5);
+            }
+            if (forcedColour != null) {
+                drawCentred(g, "(from WILD)", small.deriveFont(Font.PLAIN), height * 5 / 6);
+            }
+        } finally {
+            g.dispose();
+        }
+        return new FaceIcon(image, width, height);
+    }
+
+    /**
+     * Draws a line of text centred across the face.
+     */
+    private void drawCentred(Graphics2D g, String text, Font font, int baseline) {
+        g.setFont(font);
+        FontMetrics metrics = g.getFontMetrics();
+        g.drawString(text, (width - metrics.stringWidth(text)) / 2, baseline);
+    }
+
+    /**
+     * An Icon showing a face image painted at the screen's scale, drawn at its size in pixels.
+     */
+    private static class FaceIcon implements Icon {
+        private final Image image;
+        private final int width;
+        private final int height;
+
+        FaceIcon(Image image, int width, int height) {
+            this.image = image;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public void paintIcon(Component c, Graphics g, int x, int y) {
+            g.drawImage(image, x, y, width, height, null);
+        }
+
+        @Override
+        public int getIconWidth() {
+            return width;
+        }
+
+        @Override
+        public int getIconHeight() {
+            return height;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the functionality of the CardFaceCache class.
+ * This test suite makes sure each face is painted once
+ * and only painted again after a resize or a scale change.
+ *
+ * @author Eshal Kashif
+ * @version 1
+ */
+class CardFaceCacheTest {
+
+    private static final Card RED_FIVE = Card.of(Card.colortype.RED.ordinal(), Card.cardtype.NUMBER.ordinal(), 5);
+    private static final Card WILD = Card.of(Card.colortype.ALL.ordinal(), Card.cardtype.WILD.ordinal(), 0);
+
+    /**
+     * The same face is returned every time, painted only once.
+     */
+    @Test
+    void facePaintedOnce() {
+        CardFaceCache cache = new CardFaceCache(96, 136);
+        Icon face = cache.getFace(RED_FIVE, null);
+        for (int i = 0; i < 10; i++) {
+            assertSame(face, cache.getFace(RED_FIVE, null));
+        }
+        assertEquals(1, cache.getFacesPainted());
+        assertEquals(96, face.getIconWidth());
+        assertEquals(136, face.getIconHeight());
+    }
+
+    /**
+     * A wild card has its own face for each chosen colour, other cards ignore the colour.
+     */
+    @Test
+    void wildHasFacePerChosenColour() {
+        CardFaceCache cache = new CardFaceCache(96, 136);
+        Icon plain = cache.getFace(WILD, null);
+        Icon red = cache.getFace(WILD, Card.colortype.RED);
+        Icon blue = cache.getFace(WILD, Card.colortype.BLUE);
+
+        assertNotSame(plain, red);
+        assertNotSame(red, blue);
+        assertSame(red, cache.getFace(WILD, Card.colortype.RED));
+        assertSame(cache.getFace(RED_FIVE, null), cache.getFace(RED_FIVE, Card.colortype.BLUE));
+        assertEquals(4, cache.getFacesPainted());
+    }
+
+    /**
+     * Faces are painted again only when the size or the scale really changes.
+     */
+    @Test
+    void resizeAndScaleChangeInvalidate() {
+        CardFaceCache cache = new CardFaceCache(96, 136);
+        Icon face = cache.getFace(RED_FIVE, null);
+
+        assertFalse(cache.setSize(96, 136));
+        assertFalse(cache.setScale(1));
+        assertSame(face, cache.getFace(RED_FIVE, null));
+
+        assertTrue(cache.setSize(120, 160));
+        Icon resized = cache.getFace(RED_FIVE, null);
+        assertNotSame(face, resized);
+        assertEquals(120, resized.getIconWidth());
+
+        assertTrue(cache.setScale(2));
+        Icon scaled = cache.getFace(RED_FIVE, null);
+        assertNotSame(resized, scaled);
+        assertEquals(120, scaled.getIconWidth(), "Icons keep their size in pixels at any scale.");
+        assertEquals(3, cache.getFacesPainted());
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * Class CardMasks - bitmasks over card codes, grouped by colour, rank and type.
+ *
+ * This class is part of the UnoFlip game application.
+ *
+ * Every distinct card has a code below Card.CODE_COUNT, so a set of
+ * cards fits in two longs: bit (code % 64) of half (code / 64). A hand
+ * keeps such a set of the codes it holds (see PackedCards), and the
+ * masks here pick out the codes of one colour, one NUMBER rank or one
+ * card type. Finding the playable cards in a hand is then a few bitwise
+ * operations instead of checking every card.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public class CardMasks {
+    // Number of longs needed to hold one bit per card code
+    public static final int HALVES = 2;
+
+    private static final long[][] BY_COLOUR = new long[Card.colortype.values().length][HALVES];
+    private static final long[][] BY_TYPE = new long[Card.cardtype.values().length][HALVES];
+    private static final long[][] BY_RANK = new long[Card.MAX_CODED_RANK + 1][HALVES];
+
+    static {
+        for (int code = 0; code < Card.CODE_COUNT; code++) {
+            Card c = Card.fromCode(code);
+            long bit = bit(code);
+            int half = half(code);
+            BY_COLOUR[c.getColor().ordinal()][half] |= bit;
+            BY_TYPE[c.getType().ordinal()][half] |= bit;
+            if (c.getType() == Card.cardtype.NUMBER) {
+                BY_RANK[c.getRank()][half] |= bit;
+            }
+        }
+    }
+
+    /**
+     * Gets which long of a mask holds a card code.
+     *
+     * @param code The card code
+     * @return 0 or 1
+     */
+    public static int half(int code) {
+        return code >>> 6;
+    }
+
+    /**
+     * Gets the bit for a card code within its half of a mask.
+     *
+     * @param code The card code
+     * @return A long with only that code's bit set
+     */
+    public static long bit(int code) {
+        return 1L << (code & 63);
+    }
+
+    /**
+     * Gets the codes of every card with a colour.
+     *
+     * @param colour The colour
+     * @param half Which half of the mask to return
+     * @return That half of the mask
+     */
+    public static long colour(Card.colortype colour, int half) {
+        return BY_COLOUR[colour.ordinal()][half];
+    }
+
+    /**
+     * Gets the codes of every card of a type.
+     *
+     * @param type The card type
+     * @param half Which half of the mask to return
+     * @return That half of the mask
+     */
+    public static long type(Card.cardtype type, int half) {
+        return BY_TYPE[type.ordinal()][half];
+    }
+
+    /**
+     * Gets the codes of every NUMBER card with a rank.
+     *
+     * @param rank The rank
+     * @param half Which half of the mask to return
+     * @return That half of the mask
+     */
+    public static long rank(int rank, int half) {
+        return BY_RANK[rank][half];
+    }
+
+    /**
+     * Gets the codes of every card that may be played on a top card,
+     * following the same rules as UnoFlipModel.isLegal. Wild cards are
+     * always included, their colour is chosen when they are played.
+     *
+     * @param top The top card of the discard pile
+     * @param forcedColour The colour named by the last wild card, or null
+     * @param half Which half of the mask to return
+     * @return That half of the mask
+     */
+    public static long playable(Card top, Card.colortype forcedColour, int half) {
+        Card.colortype active = (forcedColour != null) ? forcedColour : top.getColor();
+        long mask = colour(active, half)
+                | type(Card.cardtype.WILD, half)
+                | type(Card.cardtype.WILDTWO, half);
+        if (top.getType() == Card.cardtype.NUMBER) {
+            mask |= rank(top.getRank(), half);
+        } else {
+            mask |= type(top.getType(), half);
+        }
+        return mask;
+    }
+}
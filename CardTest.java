@@ -64,6 +64,23 @@ class CardTest {
         assertEquals("YELLOW 2", two.getDescription());
     }
 
-}
+    /**
+    * Verifies that Card.of returns one shared card per distinct color, type, and rank.
+    */
+    @Test
+    public void ofReturnsSharedCard() {
+        assertSame(Card.of(1, 0, 7), Card.of(1, 0, 7));
+        assertNotSame(Card.of(1, 0, 7), Card.of(2, 0, 7));
+        // Wild colour and action rank are normalized just like the constructor
+        assertSame(Card.of(0, 5, 3), Card.of(3, 5, -1));
+        assertSame(Card.of(2, 1, -1), Card.of(2, 1, 4));
 
+        Card blue = Card.of(1, 2, 7);
+        assertEquals(Card.colortype.BLUE, blue.getColor());
+        assertEquals(Card.cardtype.DRAW_ONE, blue.getType());
+        assertEquals(0, blue.getRank());
+        assertEquals("BLUE DRAW_ONE", blue.getDescription());
+        assertSame(blue.getDescription(), blue.getDescription());
+    }
 
+}
@@ -0,0 +1,40 @@
+/**
+ * ColourHoardingStrategy - saves the colour it holds most for later.
+ *
+ * This class is part of the UnoFlip game application.
+ *
+ * The bot plays cards of its other colours first, then cards of the
+ * colour it holds most, and wild cards only when nothing else will do,
+ * naming its hoarded colour. Keeping a long run of one colour and the
+ * wild cards makes it likely the bot can still play when the other
+ * players have changed the colour.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public class ColourHoardingStrategy implements PlayerStrategy {
+    // Preference for each kind of playable card, a lower rank is played first
+    private static final int OTHER_COLOUR = 0;
+    private static final int HOARDED_COLOUR = 1;
+    private static final int WILD = 2;
+
+    @Override
+    public int chooseMove(PlayerView view) {
+        Card.colortype hoarded = view.getMostHeldColour();
+        int best = -1;
+        int bestRank = Integer.MAX_VALUE;
+        for (int i = 0; i < view.getHandSize() && bestRank > OTHER_COLOUR; i++) {
+            if (!view.isPlayable(i)) continue;
+            Card.colortype colour = view.getCard(i).getColor();
+            int rank = colour == Card.colortype.ALL ? WILD : colour == hoarded ? HOARDED_COLOUR : OTHER_COLOUR;
+            if (rank < bestRank) {
+                best = i;
+                bestRank = rank;
+            }
+        }
+        if (best < 0) {
+            return PlayerStrategy.nothingToPlay(view);
+        }
+        return PlayerMove.play(best, bestRank == WILD ? hoarded : null);
+    }
+}
@@ -0,0 +1,166 @@
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ConcurrentUnoFlipModel - a thread-safe facade over one UnoFlipModel.
+ *
+ * The model itself is not synchronized, so moves coming from network
+ * threads, bots and timers at once would corrupt its turns. This facade
+ * owns a model and lets any thread use it:
+ *
+ * Every command names the version of the game it was decided on, taken
+ * from a snapshot. The command claims the model with one compare-and-set
+ * of that version; if another command got there first the version has
+ * moved on and the command is rejected as STALE at once, without waiting
+ * or touching the model. The caller reads the new snapshot and decides
+ * again. A command the model refuses is REFUSED and leaves the version
+ * as it was. Otherwise the version goes up by one.
+ *
+ * After every applied command a new immutable UnoFlipSnapshot is
+ * published. getSnapshot() is a single volatile read, so readers never
+ * block and never see a half-applied move.
+ *
+ * A command issued on a snapshot the moment it is published may still
+ * find the command that made it finishing, and be rejected as STALE,
+ * in which case it is simply retried.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public class ConcurrentUnoFlipModel {
+    /** Result of a command issued against an out of date version. */
+    public static final long STALE = -1;
+    /** Result of a command the game's rules do not allow. */
+    public static final long REFUSED = -2;
+
+    private final UnoFlipModel model;
+    // The version times two, plus one while a command holds the model
+    private final AtomicLong state;
+    private volatile UnoFlipSnapshot snapshot;
+
+    /**
+     * Starts a game between the given players.
+     *
+     * @param seed The seed for shuffling
+     * @param playerNames The players in turn order
+     */
+    public ConcurrentUnoFlipModel(long seed, List<String> playerNames) {
+        this.model = new UnoFlipModel(seed);
+        model.initializeGame(playerNames);
+        this.state = new AtomicLong();
+        this.snapshot = new UnoFlipSnapshot(model, 0, null);
+    }
+
+    /**
+     * Gets the latest published state of the game.
+     *
+     * @return The current snapshot
+     */
+    public UnoFlipSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Gets the current version without copying any state.
+     *
+     * @return The version of the latest snapshot
+     */
+    public long getVersion() {
+        return snapshot.getVersion();
+    }
+
+    /**
+     * Plays a card from the current player's hand.
+     *
+     * @param version The version the move was decided on
+     * @param cardIndex The index of the card in the current player's hand
+     * @param chosenColour The colour for a wild card, otherwise null
+     * @return The new version, or STALE or REFUSED
+     */
+    public long playCard(long version, int cardIndex, Card.colortype chosenColour) {
+        if (!claim(version)) return STALE;
+        boolean played = false;
+        try {
+            played = model.playCard(cardIndex, chosenColour);
+        } finally {
+            release(version, played, null);
+        }
+        return played ? version + 1 : REFUSED;
+    }
+
+    /**
+     * Draws a card for the current player. The card is in the new snapshot's getDrawnCard().
+     *
+     * @param version The version the move was decided on
+     * @return The new version, or STALE or REFUSED
+     */
+    public long drawCard(long version) {
+        if (!claim(version)) return STALE;
+        Card drawn = null;
+        try {
+            drawn = model.playerDrawsCard();
+        } finally {
+            release(version, drawn != null, drawn);
+        }
+        return drawn != null ? version + 1 : REFUSED;
+    }
+
+    /**
+     * Ends the current player's turn.
+     *
+     * @param version The version the move was decided on
+     * @return The new version, or STALE or REFUSED once the game is over
+     */
+    public long advanceToNextPlayer(long version) {
+        if (!claim(version)) return STALE;
+        boolean advanced = false;
+        try {
+            if (!model.isGameOver()) {
+                model.advanceToNextPlayer();
+                advanced = true;
+            }
+        } finally {
+            release(version, advanced, null);
+        }
+        return advanced ? version + 1 : REFUSED;
+    }
+
+    /**
+     * Deals the next round once a round is over.
+     *
+     * @param version The version the move was decided on
+     * @return The new version, or STALE or REFUSED if the round is not over or the game is
+     */
+    public long startNewRound(long version) {
+        if (!claim(version)) return STALE;
+        boolean started = false;
+        try {
+            if (model.isRoundOver() && !model.isGameOver()) {
+                model.startNewRound();
+                started = true;
+            }
+        } finally {
+            release(version, started, null);
+        }
+        return started ? version + 1 : REFUSED;
+    }
+
+    /**
+     * Takes the model for a command, if the game is still at the given version.
+     */
+    private boolean claim(long version) {
+        return version >= 0 && state.compareAndSet(version << 1, (version << 1) | 1);
+    }
+
+    /**
+     * Gives the model back, publishing a snapshot first if the command changed it.
+     */
+    private void release(long version, boolean applied, Card drawn) {
+        if (applied) {
+            snapshot = new UnoFlipSnapshot(model, version + 1, drawn);
+            state.set((version + 1) << 1);
+        } else {
+            state.set(version << 1);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the functionality of the ConcurrentUnoFlipModel class.
+ * This test suite checks that commands are versioned, that stale and
+ * refused commands change nothing, and that commands racing from many
+ * threads are applied one at a time, in the order of their versions.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+class ConcurrentUnoFlipModelTest {
+    private static final List<String> NAMES = List.of("Ann", "Bo", "Cy");
+
+    /**
+     * An applied command publishes the next version, and a command on the old version is rejected.
+     */
+    @Test
+    void staleCommandsAreRejected() {
+        ConcurrentUnoFlipModel game = new ConcurrentUnoFlipModel(7L, NAMES);
+        UnoFlipSnapshot before = game.getSnapshot();
+        assertEquals(0, before.getVersion());
+        assertEquals(7, before.getHandSize(0));
+
+        assertEquals(1, game.drawCard(0));
+        UnoFlipSnapshot after = game.getSnapshot();
+        assertEquals(1, after.getVersion());
+        assertEquals(8, after.getHandSize(0));
+        assertEquals(after.getCard(0, 7), after.getDrawnCard());
+        // The old snapshot is untouched
+        assertEquals(7, before.getHandSize(0));
+
+        assertEquals(ConcurrentUnoFlipModel.STALE, game.advanceToNextPlayer(0));
+        assertEquals(ConcurrentUnoFlipModel.STALE, game.drawCard(5));
+        assertSame(after, game.getSnapshot());
+
+        assertEquals(2, game.advanceToNextPlayer(1));
+        assertEquals(1, game.getSnapshot().getCurrentTurn());
+        assertNull(game.getSnapshot().getDrawnCard());
+    }
+
+    /**
+     * A command the rules do not allow leaves the version and snapshot as they were.
+     */
+    @Test
+    void refusedCommandsKeepTheVersion() {
+        ConcurrentUnoFlipModel game = new ConcurrentUnoFlipModel(7L, NAMES);
+        UnoFlipSnapshot snapshot = game.getSnapshot();
+
+        assertEquals(ConcurrentUnoFlipModel.REFUSED, game.startNewRound(0));
+        assertEquals(ConcurrentUnoFlipModel.REFUSED, game.playCard(0, 99, null));
+        assertSame(snapshot, game.getSnapshot());
+        assertEquals(1, game.drawCard(0));
+    }
+
+    /**
+     * Threads racing random commands leave the same game as applying the accepted commands in version order.
+     */
+    @Test
+    void racingCommandsAreApplied() throws Exception {
+        ConcurrentUnoFlipModel game = new ConcurrentUnoFlipModel(42L, NAMES);
+        ConcurrentHashMap<Long, int[]> accepted = new ConcurrentHashMap<>();
+        int threads = 4;
+        long target = 2000;
+        CountDownLatch ready = new CountDownLatch(threads);
+        // A failed assertion only ends its own thread, so the first is kept to fail the test after join()
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            Random random = new Random(t);
+            workers[t] = new Thread(() -> {
+                ready.countDown();
+                try {
+                    ready.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                try {
+                    while (true) {
+                        UnoFlipSnapshot snapshot = game.getSnapshot();
+                        if (snapshot.isGameOver() || snapshot.getVersion() >= target) return;
+                        long version = snapshot.getVersion();
+                        int op = random.nextInt(10);
+                        int index = random.nextInt(Math.max(1, snapshot.getHandSize(snapshot.getCurrentTurn())));
+                        long result;
+                        if (op < 5) {
+                            result = game.playCard(version, index, Card.colortype.GREEN);
+                        } else if (op < 7) {
+                            result = game.drawCard(version);
+                        } else if (op < 9) {
+                            result = game.advanceToNextPlayer(version);
+                        } else {
+                            result = game.startNewRound(version);
+                        }
+                        if (result >= 0) {
+                            assertEquals(version + 1, result);
+                            assertNull(accepted.put(result, new int[] {op, index}));
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        if (failure.get() != null) {
+            fail("A worker thread failed.", failure.get());
+        }
+
+        UnoFlipSnapshot end = game.getSnapshot();
+        assertEquals(end.getVersion(), accepted.size());
+        UnoFlipModel local = new UnoFlipModel(42L);
+        local.initializeGame(NAMES);
+        for (long version = 1; version <= end.getVersion(); version++) {
+            int[] command = accepted.get(version);
+            if (command[0] < 5) {
+                assertTrue(local.playCard(command[1], Card.colortype.GREEN));
+            } else if (command[0] < 7) {
+                assertNotNull(local.playerDrawsCard());
+            } else if (command[0] < 9) {
+                local.advanceToNextPlayer();
+            } else {
+                local.startNewRound();
+            }
+        }
+
+        assertEquals(local.getCurrentTurn(), end.getCurrentTurn());
+        assertEquals(local.getTopCard(), end.getTopCard());
+        for (int seat = 0; seat < NAMES.size(); seat++) {
+            assertEquals(local.getPlayers().get(seat).getHand(), end.getHand(seat));
+            assertEquals(local.getPlayers().get(seat).getScore(), end.getScore(seat));
+        }
+    }
+}
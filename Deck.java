@@ -1,6 +1,7 @@
-import java.util.ArrayList;
-import java.util.Collections; 
-import java.util.ArrayDeque;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Class Deck - a deck of UNO cards
@@ -15,8 +16,14 @@ import java.util.ArrayDeque;
  * @version 1
  */
 public class Deck {
-    private ArrayList<Card> cards;   // cards where you draw from
-    private ArrayDeque<Card> discards;   // cards that have already been played
+    // Both piles share one ring of card codes. Going around the ring from drawHead there is
+    // the draw pile (next card first), then the discard pile (bottom card first, top card last),
+    // then the free slots left by the cards held in the players' hands.
+    private byte[] cards;
+    private int drawHead;   // position in cards of the next card to draw
+    private int drawCount;   // cards where you draw from
+    private int discardCount;   // cards that have already been played
+    private final RandomGenerator random;
 
     public static final int DUPLICATE = 2;
     public static final int MAX_COLOURS = 4;
@@ -35,14 +42,32 @@ public class Deck {
     public static final int WILDTWO_TYPE = 6;
     public static final int NO_RANK = -1;
 
+    // Number of cards created by createDeck()
+    public static final int DECK_SIZE = MAX_COLOURS * DUPLICATE * (MAX_RANK + 3) + 2 * DUPLICATE * DUPLICATE;
+
+    // Codes of the full set of cards in creation order, shared by every deck
+    private static final byte[] FULL_DECK = buildFullDeck();
+
     /**
      * Deck() contructs a new Deck with a full set of UNO cards.
-     * The deck is created and shuffled when constructed.
+     * The deck is created and shuffled when constructed, with its own random number generator.
      */
     public Deck(){
-        cards = new ArrayList<>();
-        discards = new ArrayDeque<>();
-        
+        this(new SplittableRandom());
+    }
+
+    /**
+     * Constructs a new Deck shuffled with the given random number generator.
+     * Two decks built with identically seeded generators draw the same cards in the same order.
+     * The generator is not shared with other threads by the deck, so decks on different
+     * threads should each be given their own.
+     *
+     * @param random The random number generator used for every shuffle of this deck
+     */
+    public Deck(RandomGenerator random){
+        this.random = random;
+        cards = new byte[DECK_SIZE];
+
         createDeck();
         shuffle();
     }
@@ -56,65 +81,146 @@ public class Deck {
      * - 4 WILDTWO cards
      * Total: 104 cards
      */
-    private void createDeck(){
+    private static byte[] buildFullDeck(){
+        byte[] cards = new byte[DECK_SIZE];
+        int count = 0;
 
         // for each colour
         for(int colour = 0; colour < MAX_COLOURS; colour++){
             for(int i = 0; i < DUPLICATE; i++){
                 // create cards 1 to 9 (number type)
                 for(int rank = 1; rank <= MAX_RANK; rank++){
-                    cards.add(new Card(colour, NUMBER_TYPE, rank));   
+                    cards[count++] = Card.of(colour, NUMBER_TYPE, rank).getCode();
                 }
 
                 // add special cards
-                cards.add(new Card(colour, SKIP_TYPE, NO_RANK));
-                cards.add(new Card(colour, DRAW_ONE_TYPE, NO_RANK));
-                cards.add(new Card(colour, REVERSE_TYPE, NO_RANK)); 
+                cards[count++] = Card.of(colour, SKIP_TYPE, NO_RANK).getCode();
+                cards[count++] = Card.of(colour, DRAW_ONE_TYPE, NO_RANK).getCode();
+                cards[count++] = Card.of(colour, REVERSE_TYPE, NO_RANK).getCode();
             }
         }
 
         // add wild cards
         for(int i = 0; i < (DUPLICATE*DUPLICATE); i++){
-            cards.add(new Card(ALL_TYPE, WILD_TYPE, NO_RANK));
-            cards.add(new Card(ALL_TYPE, WILDTWO_TYPE, NO_RANK)); 
+            cards[count++] = Card.of(ALL_TYPE, WILD_TYPE, NO_RANK).getCode();
+            cards[count++] = Card.of(ALL_TYPE, WILDTWO_TYPE, NO_RANK).getCode();
         }
+        return cards;
     }
 
     /**
-     * Shuffles the deck of cards randomly.
+     * Fills the draw pile with the full set of cards, in creation order.
+     */
+    private void createDeck(){
+        System.arraycopy(FULL_DECK, 0, cards, 0, DECK_SIZE);
+        drawHead = 0;
+        drawCount = DECK_SIZE;
+        discardCount = 0;
+    }
+
+    /**
+     * Puts every card back in the draw pile and shuffles it, ready for a new round.
+     * Cards in the players' hands, the draw pile and the discard pile are all returned,
+     * so callers must clear the hands as well. Reuses the deck's arrays, nothing is allocated.
+     */
+    public void reset(){
+        createDeck();
+        shuffle();
+    }
+
+    /**
+     * Shuffles the cards left in the draw pile randomly.
+     * Uses the same swaps as Collections.shuffle, so a given seed always gives the same order.
      */
     public void shuffle(){
-        Collections.shuffle(cards);
+        for (int i = drawCount; i > 1; i--) {
+            int a = wrap(drawHead + i - 1);
+            int b = wrap(drawHead + random.nextInt(i));
+            byte tmp = cards[a];
+            cards[a] = cards[b];
+            cards[b] = tmp;
+        }
     }
 
     /**
      * Reshuffles the discard pile back into the draw pile when the draw pile is empty.
      * The top card of the discard pile is saved to remain at the top of the discards after reshuffle.
-     * All the other cards from the discard pile are moved to the draw pile and shuffled.
+     * All the other cards from the discard pile become the draw pile and are shuffled.
+     *
+     * With the draw pile empty, the discards already start at drawHead in the ring, so the
+     * piles are re-sliced in place: no card is copied. If there is at most one discard,
+     * there is nothing to reshuffle and the draw pile stays empty.
      */
     private void reshuffleDiscards(){
-        // save the top card
-        Card topCard = discards.pop();
-
-        cards.addAll(discards);
-        discards.clear();
-        discards.push(topCard);     // place the top card back on discards     
+        if (discardCount <= 1) {
+            return;
+        }
+        drawCount = discardCount - 1;
+        discardCount = 1;     // only the top card stays on the discards
         shuffle();
     }
 
+    /**
+     * Maps a position past the end of the ring back to the start.
+     *
+     * @param i A position, less than twice the ring's length
+     * @return The position within the ring
+     */
+    private int wrap(int i){
+        return i >= cards.length ? i - cards.length : i;
+    }
+
+    /**
+     * Doubles the ring, keeping both piles. Only needed when cards from outside the
+     * deck are discarded, so the deck holds more than DECK_SIZE cards.
+     */
+    private void grow(){
+        byte[] bigger = new byte[cards.length * 2];
+        int used = drawCount + discardCount;
+        for (int i = 0; i < used; i++) {
+            bigger[i] = cards[wrap(drawHead + i)];
+        }
+        cards = bigger;
+        drawHead = 0;
+    }
+
+    /**
+     * Gets the number of cards left in the draw pile.
+     *
+     * @return The draw pile size
+     */
+    public int getDrawPileSize(){
+        return drawCount;
+    }
+
+    /**
+     * Gets the number of cards in the discard pile.
+     *
+     * @return The discard pile size
+     */
+    public int getDiscardPileSize(){
+        return discardCount;
+    }
+
     /**
      * Draw a card from the top of the draw pile.
      * If the draw pile is empty, reshuffle the discard pile to refill 
      * the draw pile before drawing a card.
      * 
-     * @return The card drawn from the top of the draw pile
+     * @return The card drawn from the top of the draw pile, or null if every card
+     *         except the top discard is in the players' hands
      */
     public Card drawCard(){
-        if(cards.isEmpty()){
+        if(drawCount == 0){
             reshuffleDiscards();
+            if(drawCount == 0){
+                return null;
+            }
         }
-        return cards.remove(0);
-
+        byte code = cards[drawHead];
+        drawHead = wrap(drawHead + 1);
+        drawCount--;
+        return Card.fromCode(code);
     }
 
     /**
@@ -123,7 +229,11 @@ public class Deck {
      * @param card The card to add to the discard pile
      */
     public void discard(Card card){
-        discards.push(card);
+        if (drawCount + discardCount == cards.length) {
+            grow();
+        }
+        cards[wrap(drawHead + drawCount + discardCount)] = card.getCode();
+        discardCount++;
     }
 
     /**
@@ -133,7 +243,72 @@ public class Deck {
      * @return The card at the top of the discard pile or null if empty.
      */
     public Card topCard(){
-        return discards.peek();
+        if (discardCount == 0) {
+            return null;
+        }
+        return Card.fromCode(cards[wrap(drawHead + drawCount + discardCount - 1)]);
+    }
+
+
+    /**
+     * Copies the codes of the full set of cards in creation order (for GameState).
+     *
+     * @param into The array to fill, at least DECK_SIZE long
+     */
+    static void copyFullDeck(byte[] into){
+        System.arraycopy(FULL_DECK, 0, into, 0, DECK_SIZE);
+    }
+
+    /**
+     * Copies both piles one byte per card (for GameState): the draw pile,
+     * next card first, then the discard pile, top card last.
+     *
+     * @param into The array to fill, at least getDrawPileSize() + getDiscardPileSize() long
+     */
+    void copyPiles(byte[] into){
+        for (int i = 0; i < drawCount + discardCount; i++) {
+            into[i] = cards[wrap(drawHead + i)];
+        }
+    }
+
+    /**
+     * Writes both piles one byte per card (for GameStateCodec): the draw pile's size and
+     * cards, next card first, then the discard pile's size and cards, top card last.
+     *
+     * @param out The buffer to write to
+     */
+    void writePiles(ByteBuffer out){
+        if (drawCount > 0xFF || discardCount > 0xFF) {
+            throw new IllegalStateException("Too many cards in a pile to save.");
+        }
+        out.put((byte) drawCount);
+        for (int i = 0; i < drawCount; i++) {
+            out.put(cards[wrap(drawHead + i)]);
+        }
+        out.put((byte) discardCount);
+        for (int i = 0; i < discardCount; i++) {
+            out.put(cards[wrap(drawHead + drawCount + i)]);
+        }
     }
 
+    /**
+     * Replaces both piles with ones written by writePiles (for GameStateCodec).
+     *
+     * @param in The buffer to read from
+     */
+    void readPiles(ByteBuffer in){
+        int draw = in.get() & 0xFF;
+        if (draw > cards.length) {
+            cards = new byte[draw];
+        }
+        drawHead = 0;
+        drawCount = draw;
+        in.get(cards, 0, draw);
+        int discards = in.get() & 0xFF;
+        if (draw + discards > cards.length) {
+            cards = Arrays.copyOf(cards, draw + discards);
+        }
+        discardCount = discards;
+        in.get(cards, draw, discards);
+    }
 }
@@ -2,7 +2,9 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 /**
  * Tests the functionality of the Deck class.
@@ -77,4 +79,112 @@ class DeckTest {
         deck.discard(b);
         assertSame(b, deck.topCard(), "Most recent discard should now be on top");
     }
+
+    /**
+     * Two decks shuffled with the same seed draw the same cards in the same order,
+     * and that order is the one Collections.shuffle gives for the deck as created.
+     */
+    @Test
+    void sameSeedSameDrawOrder() {
+        Deck d1 = new Deck(new Random(42));
+        Deck d2 = new Deck(new Random(42));
+
+        // Deck contents in creation order, shuffled the old way
+        List<String> expected = new ArrayList<>();
+        for (int colour = 0; colour < Deck.MAX_COLOURS; colour++) {
+            for (int i = 0; i < Deck.DUPLICATE; i++) {
+                for (int rank = 1; rank <= Deck.MAX_RANK; rank++) {
+                    expected.add(new Card(colour, Deck.NUMBER_TYPE, rank).getDescription());
+                }
+                expected.add(new Card(colour, Deck.SKIP_TYPE, Deck.NO_RANK).getDescription());
+                expected.add(new Card(colour, Deck.DRAW_ONE_TYPE, Deck.NO_RANK).getDescription());
+                expected.add(new Card(colour, Deck.REVERSE_TYPE, Deck.NO_RANK).getDescription());
+            }
+        }
+        for (int i = 0; i < Deck.DUPLICATE * Deck.DUPLICATE; i++) {
+            expected.add("WILD");
+            expected.add("WILD DRAW TWO");
+        }
+        Collections.shuffle(expected, new Random(42));
+
+        for (int i = 0; i < Deck.DECK_SIZE; i++) {
+            String drawn = d1.drawCard().getDescription();
+            assertEquals(expected.get(i), drawn, "Draw " + i + " should match Collections.shuffle order.");
+            assertEquals(drawn, d2.drawCard().getDescription());
+        }
+    }
+
+    /**
+     * Drawing past the end of the draw pile reshuffles the discards back in,
+     * keeping the top discard in place.
+     */
+    @Test
+    void drawReshufflesDiscards() {
+        Deck deck = new Deck(new Random(7));
+        Card top = null;
+        for (int i = 0; i < Deck.DECK_SIZE; i++) {
+            top = deck.drawCard();
+            deck.discard(top);
+        }
+
+        // Draw pile is empty, the next draw comes from the reshuffled discards
+        Card drawn = deck.drawCard();
+        assertNotNull(drawn);
+        assertSame(top, deck.topCard(), "Top discard should stay on the discard pile.");
+        for (int i = 0; i < Deck.DECK_SIZE - 3; i++) {
+            assertNotNull(deck.drawCard());
+        }
+    }
+
+    /**
+     * With every card but the top discard held by players, drawing returns null
+     * instead of failing, and works again once another card is discarded.
+     */
+    @Test
+    void drawFromExhaustedDeckReturnsNull() {
+        Deck deck = new Deck(new Random(11));
+        List<Card> held = new ArrayList<>();
+        Card first = deck.drawCard();
+        deck.discard(first);
+        for (int i = 1; i < Deck.DECK_SIZE; i++) {
+            held.add(deck.drawCard());
+        }
+
+        assertNull(deck.drawCard());
+        assertNull(deck.drawCard());
+        assertEquals(0, deck.getDrawPileSize());
+        assertEquals(1, deck.getDiscardPileSize());
+        assertEquals(first, deck.topCard());
+
+        // The card under the new top discard is the only one that can be drawn
+        deck.discard(held.get(0));
+        assertEquals(first, deck.drawCard());
+        assertEquals(held.get(0), deck.topCard());
+        assertNull(deck.drawCard());
+    }
+
+    /**
+     * reset() returns every card to the draw pile, empties the discards,
+     * and shuffles the same way a new deck with the same generator state would.
+     */
+    @Test
+    void resetCollectsAllCards() {
+        SplitMix64Random random = new SplitMix64Random(5);
+        Deck deck = new Deck(random);
+        for (int i = 0; i < 30; i++) {
+            deck.discard(deck.drawCard());
+        }
+        Deck fresh = new Deck(new SplitMix64Random(random.getState()));
+        deck.reset();
+        assertNull(deck.topCard(), "reset() should empty the discard pile.");
+        assertEquals(Deck.DECK_SIZE, deck.getDrawPileSize());
+
+        int wilds = 0;
+        for (int i = 0; i < Deck.DECK_SIZE; i++) {
+            Card card = deck.drawCard();
+            assertEquals(fresh.drawCard(), card, "reset() should shuffle like a new deck would.");
+            if (card.getType() == Card.cardtype.WILD) wilds++;
+        }
+        assertEquals(Deck.DUPLICATE * Deck.DUPLICATE, wilds, "Every card should be back in the draw pile.");
+    }
 }
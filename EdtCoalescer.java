@@ -0,0 +1,86 @@
+import javax.swing.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * EdtCoalescer - collapses bursts of update requests into one run on the
+ * Swing event dispatch thread.
+ *
+ * Any thread may call markDirty(), as often as it likes. The first call
+ * sets a dirty flag and queues the flush with SwingUtilities.invokeLater.
+ * Later calls see the flag already set and do nothing, so a burst of model
+ * changes made by a bot or a network client costs one redraw, not one per
+ * change. Flushes are also spaced at least a frame apart. A request made
+ * during a flush is kept for the next frame, never lost.
+ *
+ * The flush should read the latest state when it runs rather than rely on
+ * what the callers saw, since many changes may have been folded into it.
+ *
+ * @author Eshal Kashif
+ * @version 1
+ */
+public class EdtCoalescer {
+    // Shortest time between two flushes, about one frame at 60 Hz
+    public static final long FRAME_NANOS = 16_000_000L;
+
+    private final Runnable flush;
+    private final AtomicBoolean dirty;
+    private final Timer frameTimer;   // holds back a flush that came too soon after the last one
+    private long lastFlush;   // only touched on the event dispatch thread
+    private int flushes;
+
+    /**
+     * Constructs a coalescer for the given flush.
+     *
+     * @param flush Run on the event dispatch thread after one or more requests
+     */
+    public EdtCoalescer(Runnable flush) {
+        this.flush = flush;
+        this.dirty = new AtomicBoolean();
+        this.frameTimer = new Timer(0, e -> run());
+        this.frameTimer.setRepeats(false);
+    }
+
+    /**
+     * Requests a flush. May be called from any thread.
+     */
+    public void markDirty() {
+        if (dirty.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::run);
+        }
+    }
+
+    /**
+     * Checks whether a flush has been requested but has not run yet.
+     *
+     * @return true if a flush is pending, otherwise false
+     */
+    public boolean isDirty() {
+        return dirty.get();
+    }
+
+    /**
+     * Gets the number of flushes run so far. Read on the event dispatch thread.
+     *
+     * @return The number of flushes
+     */
+    public int getFlushCount() {
+        return flushes;
+    }
+
+    /**
+     * Runs the flush, or waits for the rest of the frame if the last flush was too recent.
+     */
+    private void run() {
+        long wait = lastFlush + FRAME_NANOS - System.nanoTime();
+        if (flushes > 0 && wait > 0) {
+            frameTimer.setInitialDelay((int) ((wait + 999_999) / 1_000_000));
+            frameTimer.restart();
+            return;
+        }
+        // Clear the flag first, so a request made while flushing queues another flush
+        dirty.set(false);
+        lastFlush = System.nanoTime();
+        flushes++;
+        flush.run();
+    }
+}
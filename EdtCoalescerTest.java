@@ -0,0 +1,94 @@
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the functionality of the EdtCoalescer class.
+ * This test suite makes sure bursts of requests from other threads
+ * are folded into few flushes, all run on the event dispatch thread,
+ * and that no request is lost.
+ *
+ * @author Eshal Kashif
+ * @version 1
+ */
+class EdtCoalescerTest {
+
+    /**
+     * Waits until the coalescer has no flush pending.
+     */
+    private static void awaitIdle(EdtCoalescer coalescer) throws Exception {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (coalescer.isDirty() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        SwingUtilities.invokeAndWait(() -> { });
+        assertFalse(coalescer.isDirty());
+    }
+
+    /**
+     * A burst of model changes from several threads is redrawn a few times at most,
+     * and the last redraw sees the final state.
+     */
+    @Test
+    void burstFoldedIntoFewFlushes() throws Exception {
+        AtomicInteger state = new AtomicInteger();
+        AtomicInteger seen = new AtomicInteger(-1);
+        AtomicInteger offEdt = new AtomicInteger();
+        EdtCoalescer coalescer = new EdtCoalescer(() -> {
+            if (!SwingUtilities.isEventDispatchThread()) offEdt.incrementAndGet();
+            seen.set(state.get());
+        });
+
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    state.incrementAndGet();
+                    coalescer.markDirty();
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        awaitIdle(coalescer);
+
+        int[] flushes = new int[1];
+        SwingUtilities.invokeAndWait(() -> flushes[0] = coalescer.getFlushCount());
+        assertTrue(flushes[0] >= 1);
+        assertTrue(flushes[0] < 4000 / 10, "Expected the burst to be coalesced, got " + flushes[0] + " flushes.");
+        assertEquals(4000, seen.get());
+        assertEquals(0, offEdt.get());
+    }
+
+    /**
+     * Flushes are spaced at least a frame apart.
+     */
+    @Test
+    void atMostOneFlushPerFrame() throws Exception {
+        long[] times = new long[64];
+        AtomicInteger count = new AtomicInteger();
+        EdtCoalescer coalescer = new EdtCoalescer(() -> {
+            int n = count.getAndIncrement();
+            if (n < times.length) times[n] = System.nanoTime();
+        });
+
+        long end = System.nanoTime() + 200_000_000L;
+        while (System.nanoTime() < end) {
+            coalescer.markDirty();
+            Thread.sleep(1);
+        }
+        awaitIdle(coalescer);
+
+        int flushes = Math.min(count.get(), times.length);
+        assertTrue(flushes >= 2);
+        for (int i = 1; i < flushes; i++) {
+            assertTrue(times[i] - times[i - 1] >= EdtCoalescer.FRAME_NANOS,
+                    "Flushes " + (i - 1) + " and " + i + " were less than a frame apart.");
+        }
+    }
+}
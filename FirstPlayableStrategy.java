@@ -0,0 +1,23 @@
+/**
+ * FirstPlayableStrategy - plays the first playable card in the hand.
+ *
+ * This class is part of the UnoFlip game application.
+ *
+ * Cards are tried in hand order and a wild card names the colour held
+ * most often. This is how the UnoFlipSimulator has always played.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public class FirstPlayableStrategy implements PlayerStrategy {
+    @Override
+    public int chooseMove(PlayerView view) {
+        for (int i = 0; i < view.getHandSize(); i++) {
+            if (view.isPlayable(i)) {
+                return PlayerMove.play(i, view.getCard(i).getColor() == Card.colortype.ALL
+                        ? view.getMostHeldColour() : null);
+            }
+        }
+        return PlayerStrategy.nothingToPlay(view);
+    }
+}
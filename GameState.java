@@ -0,0 +1,685 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * GameState - the rules core of a game of UnoFlip as a few primitive arrays.
+ *
+ * A GameState holds everything the rules need and nothing else: every
+ * hand as card codes, the scores, both piles in one ring of card codes
+ * (the same layout as Deck), the turn, direction, forced colour, pending
+ * advance steps, the round and match results, and the state of the
+ * generator shuffling the deck. There are no Player or Card objects, no
+ * views and no listeners, so copyFrom() is four array copies and a
+ * search or simulator can branch a game millions of times a second.
+ *
+ * Moves are PlayerMoves and apply() follows the same rules as
+ * UnoFlipModel: a play is playCard(), DRAW is playerDrawsCard() and PASS
+ * is advanceToNextPlayer(). The two share the rules for scoring, special
+ * cards and turn order (points(), stepsAfter(), penaltyCards() and
+ * seatAfter()), and shuffle with the same generator the same way, so a
+ * GameState made with of(model), or with the model's seed, and given the
+ * model's moves stays equal to GameState.of(model) all game.
+ *
+ * The state is also the PlayerView of its current player, so any
+ * PlayerStrategy can choose moves on it. Unlike the model it knows when
+ * the current player has drawn, and then only lets the drawn card be
+ * played, as the controller does. It is not thread safe.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public final class GameState implements PlayerView {
+    // Room for every card in one hand
+    private static final int HAND_CAPACITY = Deck.DECK_SIZE;
+    private static final int CARDS_PER_PLAYER = 7;
+    private static final int TARGET_SCORE = 500;
+
+    // Points of every card code
+    private static final int[] POINTS = new int[Card.CODE_COUNT];
+
+    static {
+        for (int code = 0; code < Card.CODE_COUNT; code++) {
+            Card card = Card.fromCode(code);
+            switch (card.getType()) {
+                case NUMBER:   POINTS[code] = Math.max(0, card.getRank()); break; // rank value
+                case SKIP:
+                case REVERSE:  POINTS[code] = 20; break;
+                case DRAW_ONE: POINTS[code] = 10; break;
+                case WILD:     POINTS[code] = 40; break;
+                case WILDTWO:  POINTS[code] = 50; break;
+                default:       POINTS[code] = 0; break;
+            }
+        }
+    }
+
+    private final int playerCount;
+    // Seat s holds hands[s * HAND_CAPACITY] to hands[s * HAND_CAPACITY + handSizes[s] - 1]
+    private final byte[] hands;
+    private final int[] handSizes;
+    private final int[] scores;
+    // Around the ring from drawHead: the draw pile, next card first, then the discard pile, top card last
+    private final byte[] pile;
+    private int drawHead;
+    private int drawCount;
+    private int discardCount;
+    private final SplitMix64Random random;
+
+    private int currentTurn;
+    private int direction;
+    private Card.colortype forcedColour;
+    private int pendingAdvanceSteps;
+    private boolean roundOver;
+    private int roundWinner;
+    private int lastRoundPoints;
+    private boolean gameOver;
+    private int winner;
+    // The card the current player drew this turn, -1 if they have not drawn
+    private int drawnCardIndex;
+
+    // Scratch space for redeal(), not part of the state
+    private byte[] hidden;
+
+    /**
+     * Constructs the state of a new game, dealt exactly as new UnoFlipModel(seed)
+     * deals it on initializeGame() for the same number of players.
+     *
+     * @param playerCount The number of players
+     * @param seed The seed for shuffling
+     */
+    public GameState(int playerCount, long seed) {
+        this(playerCount, new SplitMix64Random(seed));
+        Deck.copyFullDeck(pile);
+        drawCount = Deck.DECK_SIZE;
+        shuffle();
+        deal();
+    }
+
+    /**
+     * Constructs an empty state, to be filled by copyFrom() or of().
+     */
+    private GameState(int playerCount, SplitMix64Random random) {
+        if (playerCount < 1) {
+            throw new IllegalArgumentException("At least one player is needed.");
+        }
+        this.playerCount = playerCount;
+        this.hands = new byte[playerCount * HAND_CAPACITY];
+        this.handSizes = new int[playerCount];
+        this.scores = new int[playerCount];
+        this.pile = new byte[Deck.DECK_SIZE];
+        this.random = random;
+        this.direction = 1;
+        this.pendingAdvanceSteps = 1;
+        this.roundWinner = -1;
+        this.winner = -1;
+        this.drawnCardIndex = -1;
+    }
+
+    /**
+     * Copies the state of a model. If the model shuffles with a SplitMix64Random, as it does
+     * when built with a seed, the copy goes on shuffling the same way, otherwise the copy is
+     * given a randomly seeded generator, as GameStateCodec does.
+     *
+     * @param model The model to copy, after initializeGame()
+     * @return A new state equal to the model's
+     */
+    public static GameState of(UnoFlipModel model) {
+        RandomGenerator generator = model.getRandom();
+        long state = generator instanceof SplitMix64Random
+                ? ((SplitMix64Random) generator).getState() : new SplittableRandom().nextLong();
+        GameState game = new GameState(model.getPlayerCount(), new SplitMix64Random(state));
+
+        for (int seat = 0; seat < game.playerCount; seat++) {
+            Player player = model.getPlayer(seat);
+            PackedCards hand = player.getPackedHand();
+            if (hand.size() > HAND_CAPACITY) {
+                throw new IllegalArgumentException("A hand holds more than a whole deck.");
+            }
+            for (int i = 0; i < hand.size(); i++) {
+                game.hands[seat * HAND_CAPACITY + i] = hand.get(i);
+            }
+            game.handSizes[seat] = hand.size();
+            game.scores[seat] = player.getScore();
+            if (player == model.getRoundWinner()) game.roundWinner = seat;
+            if (player == model.getWinner()) game.winner = seat;
+        }
+
+        Deck deck = model.getDeck();
+        if (deck.getDrawPileSize() + deck.getDiscardPileSize() > Deck.DECK_SIZE) {
+            throw new IllegalArgumentException("The piles hold more than a whole deck.");
+        }
+        deck.copyPiles(game.pile);
+        game.drawCount = deck.getDrawPileSize();
+        game.discardCount = deck.getDiscardPileSize();
+
+        game.currentTurn = model.getCurrentTurn();
+        game.direction = model.getDirection();
+        game.forcedColour = model.getForcedColour();
+        game.pendingAdvanceSteps = model.getPendingAdvanceSteps();
+        game.roundOver = model.isRoundOver();
+        game.lastRoundPoints = model.getLastRoundPoints();
+        game.gameOver = model.isGameOver();
+        return game;
+    }
+
+    /**
+     * Makes an independent copy of the state.
+     *
+     * @return A new state equal to this one
+     */
+    public GameState copy() {
+        GameState copy = new GameState(playerCount, new SplitMix64Random(0));
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    /**
+     * Overwrites this state with another, without allocating.
+     *
+     * @param other A state with the same number of players
+     */
+    public void copyFrom(GameState other) {
+        if (other.playerCount != playerCount) {
+            throw new IllegalArgumentException("The states have different numbers of players.");
+        }
+        System.arraycopy(other.hands, 0, hands, 0, hands.length);
+        System.arraycopy(other.handSizes, 0, handSizes, 0, playerCount);
+        System.arraycopy(other.scores, 0, scores, 0, playerCount);
+        System.arraycopy(other.pile, 0, pile, 0, pile.length);
+        drawHead = other.drawHead;
+        drawCount = other.drawCount;
+        discardCount = other.discardCount;
+        random.setState(other.random.getState());
+        currentTurn = other.currentTurn;
+        direction = other.direction;
+        forcedColour = other.forcedColour;
+        pendingAdvanceSteps = other.pendingAdvanceSteps;
+        roundOver = other.roundOver;
+        roundWinner = other.roundWinner;
+        lastRoundPoints = other.lastRoundPoints;
+        gameOver = other.gameOver;
+        winner = other.winner;
+        drawnCardIndex = other.drawnCardIndex;
+    }
+
+    /**
+     * Makes a move for the current player, following the model's rules.
+     * A play is UnoFlipModel.playCard(), and after a draw only the drawn card may be played.
+     * DRAW is playerDrawsCard(), after which getDrawnCardIndex() is the drawn card.
+     * PASS is advanceToNextPlayer(), which ends the turn whether or not the player drew.
+     *
+     * @param move A PlayerMove
+     * @return true if the move was made, otherwise false if it is illegal or there was no card to draw
+     */
+    public boolean apply(int move) {
+        if (PlayerMove.isPlay(move)) {
+            return play(PlayerMove.cardIndex(move), PlayerMove.colour(move));
+        }
+        if (move == PlayerMove.DRAW) {
+            return draw();
+        }
+        if (move == PlayerMove.PASS) {
+            return advance();
+        }
+        return false;
+    }
+
+    /**
+     * Plays a whole turn with a strategy, as UnoFlipSimulator.playTurn() does on a model:
+     * the strategy plays a card, or draws and may play the drawn card, then the turn passes
+     * unless the round ended.
+     *
+     * @param strategy The strategy choosing the current player's moves
+     */
+    public void playTurn(PlayerStrategy strategy) {
+        if (roundOver) return;
+        drawnCardIndex = -1;
+        int move = strategy.chooseMove(this);
+        if (!PlayerMove.isPlay(move) || !apply(move)) {
+            // Draw one card, only the drawn card may be played afterwards
+            if (draw()) {
+                move = strategy.chooseMove(this);
+                if (PlayerMove.isPlay(move)) {
+                    apply(move);
+                }
+            }
+        }
+        if (!roundOver) {
+            advance();
+        }
+    }
+
+    /**
+     * Starts a new round as UnoFlipModel.startNewRound() does: every card goes back into
+     * a freshly shuffled deck and is dealt again. Scores and the match result are kept.
+     */
+    public void startNewRound() {
+        Deck.copyFullDeck(pile);
+        drawHead = 0;
+        drawCount = Deck.DECK_SIZE;
+        discardCount = 0;
+        shuffle();
+        Arrays.fill(handSizes, 0);
+        deal();
+    }
+
+    /**
+     * Deals the cards a player cannot see out again at random: the other players' hands and
+     * the draw pile, keeping every hand's size. The generator is reseeded too, since the
+     * order the discard pile will be reshuffled in is just as hidden. The result is a game
+     * that looks the same to that player, for searches that must not peek.
+     *
+     * @param seat The seat of the player looking
+     * @param generator The generator to deal with
+     */
+    public void redeal(int seat, RandomGenerator generator) {
+        if (hidden == null) {
+            hidden = new byte[Deck.DECK_SIZE];
+        }
+        int count = 0;
+        for (int s = 0; s < playerCount; s++) {
+            if (s == seat) continue;
+            System.arraycopy(hands, s * HAND_CAPACITY, hidden, count, handSizes[s]);
+            count += handSizes[s];
+        }
+        for (int i = 0; i < drawCount; i++) {
+            hidden[count++] = pile[wrap(drawHead + i)];
+        }
+
+        for (int i = count - 1; i > 0; i--) {
+            int j = generator.nextInt(i + 1);
+            byte card = hidden[i];
+            hidden[i] = hidden[j];
+            hidden[j] = card;
+        }
+
+        count = 0;
+        for (int s = 0; s < playerCount; s++) {
+            if (s == seat) continue;
+            System.arraycopy(hidden, count, hands, s * HAND_CAPACITY, handSizes[s]);
+            count += handSizes[s];
+        }
+        for (int i = 0; i < drawCount; i++) {
+            pile[wrap(drawHead + i)] = hidden[count++];
+        }
+        random.setState(generator.nextLong());
+    }
+
+    /**
+     * Plays a card from the current player's hand, as UnoFlipModel.playCard() does.
+     */
+    private boolean play(int cardIndex, Card.colortype chosenColour) {
+        if (gameOver) return false;
+        int size = handSizes[currentTurn];
+        if (cardIndex < 0 || cardIndex >= size) return false;
+        if (drawnCardIndex >= 0 && cardIndex != drawnCardIndex) return false;
+
+        int start = currentTurn * HAND_CAPACITY;
+        int code = hands[start + cardIndex];
+        Card.cardtype type = Card.fromCode(code).getType();
+        boolean wild = type == Card.cardtype.WILD || type == Card.cardtype.WILDTWO;
+        if (wild ? chosenColour == null || chosenColour == Card.colortype.ALL : !matchesTop(code)) {
+            return false;
+        }
+
+        System.arraycopy(hands, start + cardIndex + 1, hands, start + cardIndex, size - cardIndex - 1);
+        handSizes[currentTurn] = --size;
+        pile[wrap(drawHead + drawCount + discardCount)] = (byte) code;
+        discardCount++;
+        forcedColour = wild ? chosenColour : null;
+        drawnCardIndex = -1;
+
+        if (size == 0) {
+            int roundPoints = 0;
+            for (int seat = 0; seat < playerCount; seat++) {
+                for (int i = seat * HAND_CAPACITY; i < seat * HAND_CAPACITY + handSizes[seat]; i++) {
+                    roundPoints += POINTS[hands[i]];
+                }
+            }
+            scores[currentTurn] += roundPoints;
+            roundOver = true;
+            roundWinner = currentTurn;
+            lastRoundPoints = roundPoints;
+            if (scores[currentTurn] >= TARGET_SCORE) {
+                gameOver = true;
+                winner = currentTurn;
+            }
+            return true;
+        }
+
+        pendingAdvanceSteps = stepsAfter(type, playerCount);
+        if (type == Card.cardtype.REVERSE) {
+            direction = -direction;
+        }
+        int penalty = penaltyCards(type);
+        if (penalty > 0) {
+            int victim = seatAfter(currentTurn, 1, direction, playerCount);
+            for (int i = 0; i < penalty; i++) {
+                // Stops early if the deck runs out
+                if (!drawInto(victim)) break;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Draws a card for the current player, as UnoFlipModel.playerDrawsCard() does.
+     */
+    private boolean draw() {
+        if (roundOver || !drawInto(currentTurn)) return false;
+        drawnCardIndex = handSizes[currentTurn] - 1;
+        return true;
+    }
+
+    /**
+     * Ends the turn, as UnoFlipModel.advanceToNextPlayer() does.
+     */
+    private boolean advance() {
+        if (gameOver) return false;
+        currentTurn = seatAfter(currentTurn, pendingAdvanceSteps, direction, playerCount);
+        pendingAdvanceSteps = 1;
+        drawnCardIndex = -1;
+        return true;
+    }
+
+    /**
+     * Moves the next card of the draw pile into a hand, reshuffling the discards into
+     * the draw pile first if it is empty, as Deck.drawCard() does.
+     *
+     * @return false if every other card is in the players' hands
+     */
+    private boolean drawInto(int seat) {
+        if (drawCount == 0) {
+            if (discardCount <= 1) return false;
+            drawCount = discardCount - 1;
+            discardCount = 1;     // only the top card stays on the discards
+            shuffle();
+        }
+        hands[seat * HAND_CAPACITY + handSizes[seat]++] = pile[drawHead];
+        drawHead = wrap(drawHead + 1);
+        drawCount--;
+        return true;
+    }
+
+    /**
+     * Deals every player a new hand and turns up a NUMBER card, as the model starts a round.
+     */
+    private void deal() {
+        for (int seat = 0; seat < playerCount; seat++) {
+            for (int c = 0; c < CARDS_PER_PLAYER; c++) {
+                drawInto(seat);
+            }
+        }
+        // Start discard pile with a NUMBER card
+        while (true) {
+            byte code = pile[drawHead];
+            drawHead = wrap(drawHead + 1);
+            drawCount--;
+            pile[wrap(drawHead + drawCount + discardCount)] = code;
+            discardCount++;
+            if (Card.fromCode(code).getType() == Card.cardtype.NUMBER) break;
+        }
+        currentTurn = 0;
+        direction = 1;
+        forcedColour = null;
+        roundOver = false;
+        roundWinner = -1;
+        drawnCardIndex = -1;
+    }
+
+    /**
+     * Shuffles the draw pile exactly as Deck.shuffle() does with the same generator.
+     */
+    private void shuffle() {
+        for (int i = drawCount; i > 1; i--) {
+            int a = wrap(drawHead + i - 1);
+            int b = wrap(drawHead + random.nextInt(i));
+            byte tmp = pile[a];
+            pile[a] = pile[b];
+            pile[b] = tmp;
+        }
+    }
+
+    private int wrap(int i) {
+        return i >= pile.length ? i - pile.length : i;
+    }
+
+    /**
+     * Checks a non-wild card code against the top card and forced colour.
+     */
+    private boolean matchesTop(int code) {
+        return (CardMasks.playable(getTopCard(), forcedColour, CardMasks.half(code)) & CardMasks.bit(code)) != 0;
+    }
+
+    /**
+     * Gets the points a card scores for the round winner when left in another player's hand.
+     *
+     * @param code The card's code
+     * @return The card's points
+     */
+    static int points(int code) {
+        return POINTS[code];
+    }
+
+    /**
+     * Gets how many seats the turn moves on after a card is played without winning the round.
+     *
+     * @param type The type of the card played
+     * @param playerCount The number of players
+     * @return 2 to skip the next player, 0 for a two player REVERSE, otherwise 1
+     */
+    static int stepsAfter(Card.cardtype type, int playerCount) {
+        switch (type) {
+            case SKIP:
+            case DRAW_ONE:
+            case WILDTWO:
+                return 2;
+            case REVERSE:
+                return playerCount == 2 ? 0 : 1;
+            default:
+                return 1;
+        }
+    }
+
+    /**
+     * Gets how many cards the next player draws after a card is played.
+     *
+     * @param type The type of the card played
+     * @return The penalty cards, 0 for most cards
+     */
+    static int penaltyCards(Card.cardtype type) {
+        switch (type) {
+            case DRAW_ONE: return 1;
+            case WILDTWO:  return 2;
+            default:       return 0;
+        }
+    }
+
+    /**
+     * Gets the seat a number of steps around the table.
+     *
+     * @param seat The seat to start from
+     * @param steps The number of seats to move
+     * @param direction +1 for clockwise, -1 for counter-clockwise
+     * @param playerCount The number of players
+     * @return The seat reached
+     */
+    static int seatAfter(int seat, int steps, int direction, int playerCount) {
+        return ((seat + steps * direction) % playerCount + playerCount) % playerCount;
+    }
+
+    /**
+     * Marks the card the current player drew this turn, for a state copied from a model mid-turn.
+     *
+     * @param drawnCardIndex The drawn card's index in the hand, or -1 if they have not drawn
+     */
+    void setDrawnCardIndex(int drawnCardIndex) {
+        this.drawnCardIndex = drawnCardIndex;
+    }
+
+    /**
+     * Checks whether the round has ended.
+     *
+     * @return true if the round is over, otherwise false
+     */
+    public boolean isRoundOver() {
+        return roundOver;
+    }
+
+    /**
+     * Checks whether the match has ended.
+     *
+     * @return true if the game is over, otherwise false
+     */
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    /**
+     * Gets the seat of the player who won the round.
+     *
+     * @return The round winner's seat, or -1 if the round is not over
+     */
+    public int getRoundWinnerSeat() {
+        return roundWinner;
+    }
+
+    /**
+     * Gets the seat of the player who won the match.
+     *
+     * @return The winner's seat, or -1 if the game is not over
+     */
+    public int getWinnerSeat() {
+        return winner;
+    }
+
+    /**
+     * Gets the points won in the last round.
+     *
+     * @return The round winner's points
+     */
+    public int getLastRoundPoints() {
+        return lastRoundPoints;
+    }
+
+    /**
+     * Gets a player's score.
+     *
+     * @param seat The player's index in turn order
+     * @return The score
+     */
+    public int getScore(int seat) {
+        return scores[seat];
+    }
+
+    /**
+     * Gets the number of cards left to draw before the discards are reshuffled.
+     *
+     * @return The size of the draw pile
+     */
+    public int getDrawPileSize() {
+        return drawCount;
+    }
+
+    @Override
+    public int getSeat() {
+        return currentTurn;
+    }
+
+    @Override
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    @Override
+    public int getHandSize() {
+        return handSizes[currentTurn];
+    }
+
+    @Override
+    public int getCardCode(int index) {
+        return hands[currentTurn * HAND_CAPACITY + index];
+    }
+
+    /**
+     * Gets the code of a card in any player's hand, which a PlayerView would not show.
+     *
+     * @param seat The player's index in turn order
+     * @param index The card's index in the hand
+     * @return The card's code
+     */
+    int getCardCode(int seat, int index) {
+        return hands[seat * HAND_CAPACITY + index];
+    }
+
+    @Override
+    public int getHandSize(int seat) {
+        return handSizes[seat];
+    }
+
+    @Override
+    public Card getTopCard() {
+        return discardCount == 0 ? null : Card.fromCode(pile[wrap(drawHead + drawCount + discardCount - 1)]);
+    }
+
+    @Override
+    public Card.colortype getForcedColour() {
+        return forcedColour;
+    }
+
+    @Override
+    public int getDirection() {
+        return direction;
+    }
+
+    @Override
+    public int getDrawnCardIndex() {
+        return drawnCardIndex;
+    }
+
+    /**
+     * Checks whether two states are the same game: the same hands, piles (wherever they
+     * sit in the ring), scores, turn, results, drawn card and generator state.
+     *
+     * @param o The object to compare with
+     * @return true if o is an equal GameState, otherwise false
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof GameState)) return false;
+        GameState other = (GameState) o;
+        if (playerCount != other.playerCount || drawCount != other.drawCount
+                || discardCount != other.discardCount || currentTurn != other.currentTurn
+                || direction != other.direction || forcedColour != other.forcedColour
+                || pendingAdvanceSteps != other.pendingAdvanceSteps || roundOver != other.roundOver
+                || roundWinner != other.roundWinner || lastRoundPoints != other.lastRoundPoints
+                || gameOver != other.gameOver || winner != other.winner
+                || drawnCardIndex != other.drawnCardIndex || random.getState() != other.random.getState()
+                || !Arrays.equals(handSizes, other.handSizes) || !Arrays.equals(scores, other.scores)) {
+            return false;
+        }
+        for (int seat = 0; seat < playerCount; seat++) {
+            int from = seat * HAND_CAPACITY;
+            if (!Arrays.equals(hands, from, from + handSizes[seat], other.hands, from, from + handSizes[seat])) {
+                return false;
+            }
+        }
+        for (int i = 0; i < drawCount + discardCount; i++) {
+            if (pile[wrap(drawHead + i)] != other.pile[other.wrap(other.drawHead + i)]) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = Long.hashCode(random.getState());
+        hash = 31 * hash + currentTurn;
+        hash = 31 * hash + Arrays.hashCode(handSizes);
+        hash = 31 * hash + Arrays.hashCode(scores);
+        for (int i = 0; i < drawCount + discardCount; i++) {
+            hash = 31 * hash + pile[wrap(drawHead + i)];
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,199 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Class GameStateCodec - saves and restores a whole UnoFlipModel in a compact binary form.
+ *
+ * This class is part of the UnoFlip game application.
+ *
+ * A snapshot holds everything needed to carry on the game exactly where it
+ * was left: the players with their names, scores and hands, both piles of
+ * the deck in order, whose turn it is, the direction, the chosen wild
+ * colour, the pending turn steps, the round and match results, and the
+ * shuffling generator's state. Every card is one byte, its code (see
+ * Card.getCode()), so a four player table takes under 200 bytes.
+ *
+ * Layout, version 1 (multi-byte values big-endian):
+ * <pre>
+ *  0  'U' 'F'             magic
+ *  2  version             1 byte
+ *  3  flags               1 byte: 1 round over, 2 match over, 4 generator state saved
+ *  4  players             1 byte
+ *  5  current turn        1 byte
+ *  6  direction           1 byte, +1 or -1
+ *  7  forced colour       1 byte, colortype ordinal or -1
+ *  8  pending steps       1 byte
+ *  9  round winner        1 byte, seat or -1
+ * 10  match winner        1 byte, seat or -1
+ * 11  last round points   2 bytes
+ * 13  seed                8 bytes
+ * 21  generator state     8 bytes
+ * 29  each player: name length (1), UTF-8 name, score (2), hand size (1), card codes
+ *     draw pile size (1), card codes, next card first
+ *     discard pile size (1), card codes, top card last
+ * </pre>
+ *
+ * The generator state can only be saved for models built with a seed. A
+ * model given its own generator is restored with a new random one, so its
+ * later shuffles differ from the original's. Views are not saved.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public class GameStateCodec {
+    public static final int VERSION = 1;
+    // Largest possible snapshot: 255 byte names and 255 card hands and piles
+    public static final int MAX_SIZE = 29 + 255 * (1 + 255 + 2 + 1 + 255) + 2 * (1 + 255);
+
+    private static final byte MAGIC_0 = 'U';
+    private static final byte MAGIC_1 = 'F';
+    private static final int ROUND_OVER = 1;
+    private static final int GAME_OVER = 2;
+    private static final int HAS_GENERATOR_STATE = 4;
+    private static final Card.colortype[] COLOURS = Card.colortype.values();
+
+    /**
+     * Writes a snapshot of a model at the buffer's position.
+     *
+     * @param model The model to save
+     * @param out The buffer to write to, with at least MAX_SIZE bytes remaining to be safe
+     * @throws java.nio.BufferOverflowException if the snapshot does not fit
+     * @throws IllegalStateException if a name, hand or pile is too long to save
+     */
+    public static void encode(UnoFlipModel model, ByteBuffer out) {
+        List<Player> players = model.getPlayers();
+        RandomGenerator random = model.getRandom();
+        boolean hasState = random instanceof SplitMix64Random;
+
+        int flags = (model.isRoundOver() ? ROUND_OVER : 0)
+                | (model.isGameOver() ? GAME_OVER : 0)
+                | (hasState ? HAS_GENERATOR_STATE : 0);
+        Card.colortype forced = model.getForcedColour();
+
+        out.put(MAGIC_0).put(MAGIC_1).put((byte) VERSION).put((byte) flags);
+        out.put((byte) players.size());
+        out.put((byte) (players.isEmpty() ? 0 : model.getCurrentTurn()));
+        out.put((byte) model.getDirection());
+        out.put((byte) (forced == null ? -1 : forced.ordinal()));
+        out.put((byte) model.getPendingAdvanceSteps());
+        out.put((byte) players.indexOf(model.getRoundWinner()));
+        out.put((byte) players.indexOf(model.getWinner()));
+        out.putChar((char) model.getLastRoundPoints());
+        out.putLong(model.getSeed());
+        out.putLong(hasState ? ((SplitMix64Random) random).getState() : 0);
+
+        for (int p = 0; p < players.size(); p++) {
+            Player player = players.get(p);
+            byte[] name = player.getName().getBytes(StandardCharsets.UTF_8);
+            PackedCards hand = player.getPackedHand();
+            if (name.length > 0xFF || hand.size() > 0xFF) {
+                throw new IllegalStateException("Player " + p + "'s name or hand is too long to save.");
+            }
+            out.put((byte) name.length).put(name);
+            out.putChar((char) player.getScore());
+            out.put((byte) hand.size());
+            for (int i = 0; i < hand.size(); i++) {
+                out.put(hand.get(i));
+            }
+        }
+        model.getDeck().writePiles(out);
+    }
+
+    /**
+     * Reads a snapshot from the buffer's position and builds a model in the saved state.
+     *
+     * @param in The buffer to read from
+     * @return A new model, identical to the one saved
+     * @throws IllegalArgumentException if the bytes are not a snapshot of a version this codec reads
+     * @throws java.nio.BufferUnderflowException if the snapshot is cut short
+     */
+    public static UnoFlipModel decode(ByteBuffer in) {
+        if (in.get() != MAGIC_0 || in.get() != MAGIC_1) {
+            throw new IllegalArgumentException("Not an UnoFlip game snapshot.");
+        }
+        int version = in.get() & 0xFF;
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported snapshot version " + version + ".");
+        }
+        int flags = in.get();
+        int playerCount = in.get() & 0xFF;
+        int currentTurn = in.get() & 0xFF;
+        int direction = in.get();
+        int forced = in.get();
+        int pendingSteps = in.get();
+        int roundWinner = in.get();
+        int winner = in.get();
+        int lastRoundPoints = in.getChar();
+        long seed = in.getLong();
+        long state = in.getLong();
+
+        RandomGenerator random = (flags & HAS_GENERATOR_STATE) != 0
+                ? new SplitMix64Random(state) : new SplittableRandom();
+        UnoFlipModel model = new UnoFlipModel(random, seed);
+        if (random instanceof SplitMix64Random) {
+            // Building the model shuffled a new deck, wind the generator back to the saved state
+            ((SplitMix64Random) random).setState(state);
+        }
+
+        List<Player> players = new ArrayList<>(playerCount);
+        byte[] name = new byte[0xFF];
+        for (int p = 0; p < playerCount; p++) {
+            int length = in.get() & 0xFF;
+            in.get(name, 0, length);
+            Player player = new Player(new String(name, 0, length, StandardCharsets.UTF_8));
+            player.increaseScore(in.getChar());
+            PackedCards hand = player.getPackedHand();
+            int handSize = in.get() & 0xFF;
+            for (int i = 0; i < handSize; i++) {
+                hand.add(in.get());
+            }
+            players.add(player);
+        }
+        model.getDeck().readPiles(in);
+        model.restoreState(players, currentTurn, direction, forced < 0 ? null : COLOURS[forced], pendingSteps,
+                (flags & ROUND_OVER) != 0, roundWinner, lastRoundPoints, (flags & GAME_OVER) != 0, winner);
+        return model;
+    }
+
+    /**
+     * Writes a snapshot of a model to a file at the channel's position.
+     *
+     * @param model The model to save
+     * @param channel The file to write to
+     * @return The number of bytes written
+     * @throws IOException if the file cannot be written
+     */
+    public static int write(UnoFlipModel model, FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(MAX_SIZE);
+        encode(model, buffer);
+        buffer.flip();
+        int written = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        return written;
+    }
+
+    /**
+     * Reads a snapshot from a file, from the channel's position to its end.
+     *
+     * @param channel The file to read from
+     * @return A new model, identical to the one saved
+     * @throws IOException if the file cannot be read
+     */
+    public static UnoFlipModel read(FileChannel channel) throws IOException {
+        int size = (int) Math.min(MAX_SIZE, channel.size() - channel.position());
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+            // keep reading until the buffer is full or the file ends
+        }
+        buffer.flip();
+        return decode(buffer);
+    }
+}
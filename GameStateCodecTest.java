@@ -0,0 +1,126 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the functionality of the GameStateCodec class.
+ * This test suite makes sure a restored model is identical to the saved one,
+ * and goes on to play exactly the same game.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+class GameStateCodecTest {
+
+    /**
+     * Builds a four player model and plays some turns on it.
+     */
+    private static UnoFlipModel playedModel(int turns) {
+        UnoFlipModel model = new UnoFlipModel(3110L);
+        model.initializeGame(List.of("Ann", "Bo", "Cy", "Dé"));
+        new UnoFlipSimulator(4).playTurns(model, turns);
+        return model;
+    }
+
+    /**
+     * Checks that two models are in the same state.
+     */
+    private static void assertSameState(UnoFlipModel expected, UnoFlipModel actual) {
+        assertEquals(expected.getSeed(), actual.getSeed());
+        assertEquals(expected.getPlayers().size(), actual.getPlayers().size());
+        for (int p = 0; p < expected.getPlayers().size(); p++) {
+            Player e = expected.getPlayers().get(p);
+            Player a = actual.getPlayers().get(p);
+            assertEquals(e.getName(), a.getName());
+            assertEquals(e.getScore(), a.getScore());
+            assertEquals(e.getHand(), a.getHand());
+        }
+        assertEquals(expected.getCurrentTurn(), actual.getCurrentTurn());
+        assertEquals(expected.getDirection(), actual.getDirection());
+        assertEquals(expected.getForcedColour(), actual.getForcedColour());
+        assertEquals(expected.getPendingAdvanceSteps(), actual.getPendingAdvanceSteps());
+        assertEquals(expected.isRoundOver(), actual.isRoundOver());
+        assertEquals(expected.isGameOver(), actual.isGameOver());
+        assertEquals(expected.getLastRoundPoints(), actual.getLastRoundPoints());
+        assertEquals(expected.getTopCard(), actual.getTopCard());
+        assertEquals(expected.getDeck().getDrawPileSize(), actual.getDeck().getDrawPileSize());
+        assertEquals(expected.getDeck().getDiscardPileSize(), actual.getDeck().getDiscardPileSize());
+    }
+
+    /**
+     * A restored model matches the saved one and the snapshot is small.
+     */
+    @Test
+    void roundTripRestoresState() {
+        UnoFlipModel model = playedModel(57);
+        ByteBuffer buffer = ByteBuffer.allocate(GameStateCodec.MAX_SIZE);
+        GameStateCodec.encode(model, buffer);
+        assertTrue(buffer.position() < 300, "Snapshot took " + buffer.position() + " bytes.");
+
+        buffer.flip();
+        UnoFlipModel restored = GameStateCodec.decode(buffer);
+        assertFalse(buffer.hasRemaining());
+        assertSameState(model, restored);
+    }
+
+    /**
+     * The restored model plays on exactly like the original, reshuffles and new rounds included.
+     */
+    @Test
+    void restoredModelPlaysOnIdentically() {
+        UnoFlipModel model = playedModel(200);
+        ByteBuffer buffer = ByteBuffer.allocate(GameStateCodec.MAX_SIZE);
+        GameStateCodec.encode(model, buffer);
+        buffer.flip();
+        UnoFlipModel restored = GameStateCodec.decode(buffer);
+
+        UnoFlipSimulator simulator = new UnoFlipSimulator(4);
+        for (int t = 0; t < 3000 && !model.isGameOver(); t++) {
+            if (model.isRoundOver()) {
+                model.startNewRound();
+                restored.startNewRound();
+            }
+            simulator.playTurn(model);
+            simulator.playTurn(restored);
+            assertEquals(model.getTopCard(), restored.getTopCard());
+        }
+        assertSameState(model, restored);
+    }
+
+    /**
+     * Snapshots can be written to and read back from a file.
+     */
+    @Test
+    void fileRoundTrip(@TempDir Path dir) throws Exception {
+        UnoFlipModel model = playedModel(31);
+        Path file = dir.resolve("table.uno");
+        int written;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            written = GameStateCodec.write(model, channel);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            assertEquals(written, channel.size());
+            assertSameState(model, GameStateCodec.read(channel));
+        }
+    }
+
+    /**
+     * Bytes that are not a snapshot, or are of another version, are rejected.
+     */
+    @Test
+    void rejectsUnknownData() {
+        assertThrows(IllegalArgumentException.class, () -> GameStateCodec.decode(ByteBuffer.wrap(new byte[64])));
+        ByteBuffer buffer = ByteBuffer.allocate(GameStateCodec.MAX_SIZE);
+        GameStateCodec.encode(playedModel(0), buffer);
+        buffer.put(2, (byte) (GameStateCodec.VERSION + 1));
+        buffer.flip();
+        assertThrows(IllegalArgumentException.class, () -> GameStateCodec.decode(buffer));
+    }
+}
@@ -0,0 +1,171 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the functionality of the GameState class.
+ * This test suite makes sure a GameState deals, plays and scores exactly
+ * like an UnoFlipModel given the same seed and moves, that copies are
+ * independent, and that a redeal only moves the cards a player cannot see.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+class GameStateTest {
+    private static final List<String> NAMES = List.of("Ann", "Bo", "Cy", "Dé");
+
+    /**
+     * A new state deals the same game as a model with the same seed.
+     */
+    @Test
+    void dealsLikeTheModel() {
+        for (int players = 2; players <= NAMES.size(); players++) {
+            for (long seed = 0; seed < 20; seed++) {
+                UnoFlipModel model = new UnoFlipModel(seed);
+                model.initializeGame(NAMES.subList(0, players));
+                assertEquals(GameState.of(model), new GameState(players, seed));
+            }
+        }
+    }
+
+    /**
+     * Given the model's moves one by one, the state stays equal to the model over whole matches,
+     * two player REVERSE, penalties, reshuffles and new rounds included.
+     */
+    @Test
+    void followsTheModelMoveByMove() {
+        for (int players = 2; players <= NAMES.size(); players++) {
+            UnoFlipModel model = new UnoFlipModel(40L + players);
+            model.initializeGame(NAMES.subList(0, players));
+            GameState state = new GameState(players, 40L + players);
+            PlayerStrategy bot = new RandomStrategy(new SplittableRandom(players));
+            ModelPlayerView view = model.getPlayerView();
+
+            while (!model.isGameOver()) {
+                if (model.isRoundOver()) {
+                    model.startNewRound();
+                    state.startNewRound();
+                    assertEquals(GameState.of(model), state);
+                }
+                view.setDrawnCardIndex(-1);
+                int move = bot.chooseMove(view);
+                if (move == PlayerMove.DRAW) {
+                    boolean drew = model.playerDrawsCard() != null;
+                    assertEquals(drew, state.apply(PlayerMove.DRAW));
+                    if (drew) view.setDrawnCardIndex(view.getHandSize() - 1);
+                    assertSameGame(model, state);
+                    move = bot.chooseMove(view);
+                }
+                if (PlayerMove.isPlay(move)) {
+                    assertEquals(model.playCard(PlayerMove.cardIndex(move), PlayerMove.colour(move)), state.apply(move));
+                }
+                if (!model.isRoundOver()) {
+                    model.advanceToNextPlayer();
+                    assertTrue(state.apply(PlayerMove.PASS));
+                    view.setDrawnCardIndex(-1);
+                }
+                assertSameGame(model, state);
+            }
+            assertEquals(model.getPlayers().indexOf(model.getWinner()), state.getWinnerSeat());
+        }
+    }
+
+    /**
+     * A turn played on a state matches the simulator's turn on a model.
+     */
+    @Test
+    void playsTurnsLikeTheSimulator() {
+        UnoFlipModel model = new UnoFlipModel(7L);
+        model.initializeGame(NAMES);
+        GameState state = GameState.of(model);
+        PlayerStrategy bot = new GreedyStrategy();
+        UnoFlipSimulator simulator = new UnoFlipSimulator(List.of(bot, bot, bot, bot));
+        while (!model.isGameOver()) {
+            if (model.isRoundOver()) {
+                model.startNewRound();
+                state.startNewRound();
+            }
+            simulator.playTurn(model);
+            state.playTurn(bot);
+            assertEquals(GameState.of(model), state);
+        }
+        for (int seat = 0; seat < NAMES.size(); seat++) {
+            assertEquals(model.getPlayers().get(seat).getScore(), state.getScore(seat));
+        }
+    }
+
+    /**
+     * Playing on a copy leaves the original alone, and copyFrom() makes the states equal again.
+     */
+    @Test
+    void copiesAreIndependent() {
+        GameState original = new GameState(3, 5L);
+        GameState copy = original.copy();
+        assertEquals(original, copy);
+
+        PlayerStrategy bot = new FirstPlayableStrategy();
+        for (int turn = 0; turn < 10 && !copy.isRoundOver(); turn++) {
+            copy.playTurn(bot);
+        }
+        assertNotEquals(original, copy);
+        assertEquals(new GameState(3, 5L), original);
+
+        copy.copyFrom(original);
+        assertEquals(original, copy);
+        assertThrows(IllegalArgumentException.class, () -> copy.copyFrom(new GameState(2, 5L)));
+    }
+
+    /**
+     * A redeal keeps the player's hand, every hand size and the discard pile, and only
+     * moves the hidden cards.
+     */
+    @Test
+    void redealOnlyMovesHiddenCards() {
+        GameState state = new GameState(4, 9L);
+        PlayerStrategy bot = new FirstPlayableStrategy();
+        for (int turn = 0; turn < 12 && !state.isRoundOver(); turn++) {
+            state.playTurn(bot);
+        }
+        GameState dealt = state.copy();
+        dealt.redeal(state.getSeat(), new SplittableRandom(1));
+        assertNotEquals(state, dealt);
+
+        assertEquals(state.getTopCard(), dealt.getTopCard());
+        assertEquals(state.getDrawPileSize(), dealt.getDrawPileSize());
+        for (int i = 0; i < state.getHandSize(); i++) {
+            assertEquals(state.getCardCode(i), dealt.getCardCode(i));
+        }
+        int[] counts = new int[Card.CODE_COUNT];
+        for (int seat = 0; seat < 4; seat++) {
+            assertEquals(state.getHandSize(seat), dealt.getHandSize(seat));
+            for (int i = 0; i < state.getHandSize(seat); i++) {
+                counts[state.getCardCode(seat, i)]++;
+                counts[dealt.getCardCode(seat, i)]--;
+            }
+        }
+        GameState drawState = state.copy();
+        GameState drawDealt = dealt.copy();
+        while (drawState.getDrawPileSize() > 0) {
+            drawState.apply(PlayerMove.DRAW);
+            drawDealt.apply(PlayerMove.DRAW);
+        }
+        // The whole draw pile is now at the end of the current player's hand
+        for (int i = state.getHandSize(); i < drawState.getHandSize(); i++) {
+            counts[drawState.getCardCode(i)]++;
+            counts[drawDealt.getCardCode(i)]--;
+        }
+        assertArrayEquals(new int[Card.CODE_COUNT], counts);
+    }
+
+    /**
+     * Checks that a state is the same game as a model, whose player view marks the drawn card.
+     */
+    private static void assertSameGame(UnoFlipModel model, GameState state) {
+        GameState expected = GameState.of(model);
+        expected.setDrawnCardIndex(model.getPlayerView().getDrawnCardIndex());
+        assertEquals(expected, state);
+    }
+}
@@ -0,0 +1,37 @@
+/**
+ * GreedyStrategy - plays the playable card worth the most points.
+ *
+ * This class is part of the UnoFlip game application.
+ *
+ * Getting rid of the most valuable cards first leaves the fewest points
+ * for an opponent to score if they go out. Ties go to the card earliest
+ * in the hand, and a wild card names the colour held most often.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public class GreedyStrategy implements PlayerStrategy {
+    // Points of every card code, as the model scores them
+    private static final int[] POINTS = new int[Card.CODE_COUNT];
+
+    static {
+        for (int code = 0; code < Card.CODE_COUNT; code++) {
+            POINTS[code] = UnoFlipModel.calculatePoints(Card.fromCode(code));
+        }
+    }
+
+    @Override
+    public int chooseMove(PlayerView view) {
+        int best = -1;
+        for (int i = 0; i < view.getHandSize(); i++) {
+            if (view.isPlayable(i) && (best < 0 || POINTS[view.getCardCode(i)] > POINTS[view.getCardCode(best)])) {
+                best = i;
+            }
+        }
+        if (best < 0) {
+            return PlayerStrategy.nothingToPlay(view);
+        }
+        return PlayerMove.play(best, view.getCard(best).getColor() == Card.colortype.ALL
+                ? view.getMostHeldColour() : null);
+    }
+}
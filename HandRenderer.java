@@ -0,0 +1,243 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * HandRenderer - keeps a panel of card buttons in step with a player's hand.
+ *
+ * Instead of clearing the panel and building a new button for every card
+ * on each update, the renderer compares the new hand with the one on
+ * screen. The cards both hands start and end with are left alone, changed
+ * cards in between are restyled in place, and only the difference in size
+ * is added or removed. Removed buttons go to a pool and are reused for
+ * later cards, so after the first few turns no buttons are created at all.
+ * Each button shows its card's face from a CardFaceCache. When the
+ * buttons are resized, the faces are painted again at the new size.
+ *
+ * Every button shares one ActionListener, added when the button is
+ * created and never removed. Each button carries its index in the hand
+ * as a client property, kept up to date as cards move, and the listener
+ * passes the index of the clicked button on to the card click handler.
+ * So the controller never touches the buttons' listeners.
+ *
+ * @author Eshal Kashif
+ * @version 1
+ */
+public class HandRenderer {
+    // Client property holding a button's index in the hand
+    private static final String CARD_INDEX = "cardIndex";
+
+    private final JPanel panel;
+    private final CardFaceCache faces;
+    private final List<JButton> buttons;   // the buttons on the panel, in hand order
+    private final ArrayDeque<JButton> pool;   // buttons removed from the panel, ready for reuse
+    private byte[] shown;   // code of the card on each button
+    private int buttonsCreated;
+    private final ComponentAdapter resizeListener;   // shared by every button
+    private final ActionListener clickDispatcher;   // shared by every button
+    private IntConsumer cardClickHandler;
+
+    /**
+     * Constructs a renderer that owns the card buttons of a panel.
+     *
+     * @param panel The panel to show the hand on
+     * @param faces The faces to show on the buttons
+     */
+    public HandRenderer(JPanel panel, CardFaceCache faces) {
+        this.panel = panel;
+        this.faces = faces;
+        this.buttons = new ArrayList<>();
+        this.pool = new ArrayDeque<>();
+        this.shown = new byte[16];
+        this.resizeListener = new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                fitFaces((JButton) e.getComponent());
+            }
+        };
+        this.clickDispatcher = this::dispatchClick;
+    }
+
+    /**
+     * Sets what happens when a card button is clicked.
+     *
+     * @param handler Given the index in the hand of the card clicked, or null to ignore clicks
+     */
+    public void setCardClickHandler(IntConsumer handler) {
+        this.cardClickHandler = handler;
+    }
+
+    /**
+     * Passes a click on a card button on to the card click handler.
+     *
+     * @param e The click
+     */
+    private void dispatchClick(ActionEvent e) {
+        int index = cardIndex((JButton) e.getSource());
+        if (index >= 0 && cardClickHandler != null) {
+            cardClickHandler.accept(index);
+        }
+    }
+
+    /**
+     * Gets the index in the hand of the card a button shows.
+     *
+     * @param button A card button
+     * @return The card's index, or -1 if the button is not showing a card
+     */
+    public static int cardIndex(JButton button) {
+        Object index = button.getClientProperty(CARD_INDEX);
+        return index instanceof Integer ? (Integer) index : -1;
+    }
+
+    /**
+     * Updates the panel to show a hand, changing only the buttons that differ.
+     *
+     * @param hand The cards to show, in order
+     */
+    public void render(List<Card> hand) {
+        int oldCount = buttons.size();
+        int newCount = hand.size();
+
+        // Cards at the start and end of the hand that are already on screen
+        int prefix = 0;
+        while (prefix < oldCount && prefix < newCount && shown[prefix] == hand.get(prefix).getCode()) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < oldCount - prefix && suffix < newCount - prefix
+                && shown[oldCount - 1 - suffix] == hand.get(newCount - 1 - suffix).getCode()) {
+            suffix++;
+        }
+        int oldMiddle = oldCount - prefix - suffix;
+        int newMiddle = newCount - prefix - suffix;
+        if (oldMiddle == 0 && newMiddle == 0) {
+            return;   // nothing changed
+        }
+
+        if (shown.length < newCount) {
+            byte[] bigger = new byte[Math.max(newCount, shown.length * 2)];
+            System.arraycopy(shown, 0, bigger, 0, oldCount);
+            shown = bigger;
+        }
+        // Keep the codes of the unchanged cards at the end in line with their new positions
+        System.arraycopy(shown, oldCount - suffix, shown, newCount - suffix, suffix);
+
+        // Restyle the changed buttons both hands have room for
+        int restyled = Math.min(oldMiddle, newMiddle);
+        for (int i = prefix; i < prefix + restyled; i++) {
+            style(buttons.get(i), hand.get(i));
+            shown[i] = hand.get(i).getCode();
+        }
+
+        // Then remove the buttons left over, or add the ones missing
+        int at = prefix + restyled;
+        for (int i = oldMiddle; i > newMiddle; i--) {
+            JButton button = buttons.remove(at);
+            panel.remove(button);
+            button.putClientProperty(CARD_INDEX, null);
+            pool.push(button);
+        }
+        for (int i = oldMiddle; i < newMiddle; i++) {
+            Card card = hand.get(at);
+            JButton button = pool.isEmpty() ? createButton() : pool.pop();
+            style(button, card);
+            buttons.add(at, button);
+            panel.add(button, at);
+            shown[at] = card.getCode();
+            at++;
+        }
+
+        // Buttons after the first change may have moved
+        for (int i = prefix; i < newCount; i++) {
+            buttons.get(i).putClientProperty(CARD_INDEX, i);
+        }
+        panel.revalidate();
+        panel.repaint();
+    }
+
+    /**
+     * Shows the faces again on every button, after the face cache was cleared.
+     */
+    public void refreshFaces() {
+        for (int i = 0; i < buttons.size(); i++) {
+            buttons.get(i).setIcon(faces.getFace(Card.fromCode(shown[i]), null));
+        }
+    }
+
+    /**
+     * Resizes the faces to fill a button. All buttons share one size,
+     * so only the first button resized to a new size repaints the faces.
+     *
+     * @param button A button that changed size
+     */
+    private void fitFaces(JButton button) {
+        Insets insets = button.getInsets();
+        if (faces.setSize(button.getWidth() - insets.left - insets.right,
+                button.getHeight() - insets.top - insets.bottom)) {
+            refreshFaces();
+        }
+    }
+
+    /**
+     * Gets the number of cards shown.
+     *
+     * @return The number of card buttons on the panel
+     */
+    public int getButtonCount() {
+        return buttons.size();
+    }
+
+    /**
+     * Gets the button showing a card of the hand.
+     *
+     * @param index The card's index in the hand
+     * @return The card's button
+     */
+    public JButton getButton(int index) {
+        return buttons.get(index);
+    }
+
+    /**
+     * Gets the number of buttons this renderer has ever created.
+     *
+     * @return The number of buttons created, including those in the pool
+     */
+    public int getButtonsCreated() {
+        return buttonsCreated;
+    }
+
+    /**
+     * Creates a blank card button.
+     *
+     * @return The new button
+     */
+    private JButton createButton() {
+        buttonsCreated++;
+        JButton button = new JButton();
+        button.setPreferredSize(new Dimension(UnoFlipFrame.CARD_WIDTH, UnoFlipFrame.CARD_HEIGHT));
+        button.setBorder(BorderFactory.createLineBorder(Color.BLACK, 2));
+        button.addComponentListener(resizeListener);
+        button.addActionListener(clickDispatcher);
+        return button;
+    }
+
+    /**
+     * Makes a button show a card.
+     *
+     * @param button The button to change
+     * @param card The card to show
+     */
+    private void style(JButton button, Card card) {
+        button.setBackground(UnoFlipFrame.getColorForCard(card, null));
+        button.setIcon(faces.getFace(card, null));
+        button.setToolTipText(card.getDescription());
+    }
+}
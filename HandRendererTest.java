@@ -0,0 +1,138 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the functionality of the HandRenderer class.
+ * This test suite makes sure the hand panel always matches the hand
+ * and that buttons are reused rather than created on every update.
+ *
+ * @author Eshal Kashif
+ * @version 1
+ */
+class HandRendererTest {
+
+    JPanel panel;
+    CardFaceCache faces;
+    HandRenderer renderer;
+    List<Card> hand;
+
+    @BeforeEach
+    public void setUp() {
+        panel = new JPanel();
+        faces = new CardFaceCache(100, 140);
+        renderer = new HandRenderer(panel, faces);
+        hand = new ArrayList<>();
+        for (int rank = 1; rank <= 7; rank++) {
+            hand.add(Card.of(Card.colortype.RED.ordinal(), Card.cardtype.NUMBER.ordinal(), rank));
+        }
+        renderer.render(hand);
+    }
+
+    /**
+     * Checks that the panel shows the hand, one indexed button per card in order.
+     */
+    private void assertShows(List<Card> expected) {
+        assertEquals(expected.size(), panel.getComponentCount());
+        for (int i = 0; i < expected.size(); i++) {
+            JButton button = (JButton) panel.getComponent(i);
+            assertSame(renderer.getButton(i), button);
+            assertEquals(i, HandRenderer.cardIndex(button));
+            assertSame(faces.getFace(expected.get(i), null), button.getIcon());
+        }
+    }
+
+    /**
+     * The first render creates one button per card.
+     */
+    @Test
+    void firstRenderCreatesOneButtonPerCard() {
+        assertShows(hand);
+        assertEquals(7, renderer.getButtonsCreated());
+    }
+
+    /**
+     * Playing a card removes only its button, the others keep their place.
+     */
+    @Test
+    void playingCardRemovesOnlyItsButton() {
+        JButton last = renderer.getButton(6);
+        hand.remove(2);
+        renderer.render(hand);
+
+        assertShows(hand);
+        assertSame(last, renderer.getButton(5));
+        assertEquals(7, renderer.getButtonsCreated());
+    }
+
+    /**
+     * Drawing a card after playing one reuses the pooled button.
+     */
+    @Test
+    void drawingReusesPooledButton() {
+        JButton played = renderer.getButton(3);
+        hand.remove(3);
+        renderer.render(hand);
+        hand.add(Card.of(Card.colortype.BLUE.ordinal(), Card.cardtype.SKIP.ordinal(), 0));
+        renderer.render(hand);
+
+        assertShows(hand);
+        assertSame(played, renderer.getButton(6));
+        assertEquals(7, renderer.getButtonsCreated());
+    }
+
+    /**
+     * Switching to another player's hand restyles the buttons in place,
+     * and creates buttons only for cards beyond the largest hand seen so far.
+     */
+    @Test
+    void switchingHandsCreatesNoButtons() {
+        List<Card> other = new ArrayList<>();
+        for (int rank = 1; rank <= 9; rank++) {
+            other.add(Card.of(Card.colortype.GREEN.ordinal(), Card.cardtype.NUMBER.ordinal(), rank));
+        }
+        renderer.render(other);
+        assertShows(other);
+        assertEquals(9, renderer.getButtonsCreated());
+
+        // Play a whole match's worth of hand changes without creating another button
+        for (int turn = 0; turn < 100; turn++) {
+            List<Card> shown = turn % 2 == 0 ? hand : other;
+            renderer.render(shown);
+            assertShows(shown);
+        }
+        assertEquals(9, renderer.getButtonsCreated());
+
+        renderer.render(List.of());
+        assertEquals(0, panel.getComponentCount());
+        renderer.render(other);
+        assertShows(other);
+        assertEquals(9, renderer.getButtonsCreated());
+    }
+
+    /**
+     * Clicks reach the handler with the card's current index, through the one
+     * listener each button got when it was created.
+     */
+    @Test
+    void clickDispatchedWithCurrentIndex() {
+        List<Integer> clicked = new ArrayList<>();
+        renderer.setCardClickHandler(clicked::add);
+        JButton last = renderer.getButton(6);
+
+        hand.remove(0);
+        renderer.render(hand);
+        last.doClick();
+        renderer.getButton(0).doClick();
+
+        assertEquals(List.of(5, 0), clicked);
+        for (int i = 0; i < hand.size(); i++) {
+            assertEquals(1, renderer.getButton(i).getActionListeners().length);
+        }
+    }
+}
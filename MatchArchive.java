@@ -0,0 +1,526 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * MatchArchive - stores finished matches on disk in memory-mapped files, with indexes for queries.
+ *
+ * Each match is appended as one record to the current segment file,
+ * segment-N.dat, which is mapped into memory whole. When a record does
+ * not fit in the rest of a segment the next segment is started. A record
+ * is laid out as (big-endian):
+ * <pre>
+ *  seed (8), players (1), rounds (2), final score per seat (2 each),
+ *  per round: winner seat (1), points (2), turns (2)
+ * </pre>
+ * so a typical four player match takes under 100 bytes.
+ *
+ * Records are numbered from 0 in the order they were added. The summary
+ * file, summary.idx, holds a 16 byte entry per record: its address in the
+ * segments, winner seat, player count, rounds and score margin (winner's
+ * score less the best other score). A query only reads these entries,
+ * never the records themselves.
+ *
+ * Secondary indexes list the numbers of the records with a given key, in
+ * the order they were added:
+ * <pre>
+ *  winner-S.idx   matches won by seat S
+ *  rounds-R.idx   matches that took R rounds (R above 255 share rounds-255)
+ *  margin-B.idx   matches won by B * MARGIN_BUCKET to (B + 1) * MARGIN_BUCKET - 1 points
+ * </pre>
+ * find() reads the smallest index that applies and checks the other
+ * conditions against the summary, so asking for the matches seat 0 won in
+ * under 5 rounds touches only those candidates, not the whole archive.
+ *
+ * Counts are written last, after the record and its index entries, so an
+ * archive that was not closed cleanly reopens with every fully added
+ * match. The archive is not thread safe: one thread should add to it.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public class MatchArchive implements Closeable {
+    public static final int DEFAULT_SEGMENT_SIZE = 256 << 20;
+    public static final int MARGIN_BUCKET = 25;
+    // Matches whose seat, rounds or margin may be anything
+    public static final int ANY = -1;
+
+    private static final int MAGIC = 0x55464D41; // "UFMA"
+    private static final int VERSION = 1;
+    private static final int INDEX_REGION = 16 << 20;
+    private static final int MAX_KEY = 255;
+
+    // Summary file: header, then one entry per record
+    private static final int HEADER_SIZE = 32;
+    private static final int HEADER_SEGMENT_SIZE = 8;
+    private static final int HEADER_COUNT = 16;
+    private static final int HEADER_DATA_END = 24;
+    private static final int ENTRY_SIZE = 16;
+    private static final int ENTRY_WINNER = 8;
+    private static final int ENTRY_PLAYERS = 9;
+    private static final int ENTRY_ROUNDS = 10;
+    private static final int ENTRY_MARGIN = 12;
+
+    // Index files: count, then one int record number per match
+    private static final int POSTINGS_HEADER = 8;
+    private static final int WINNER = 0;
+    private static final int ROUNDS = 1;
+    private static final int MARGIN = 2;
+    private static final String[] INDEX_NAMES = {"winner-", "rounds-", "margin-"};
+
+    private final Path directory;
+    private final int segmentSize;
+    private final List<MappedByteBuffer> segments;
+    private final MappedFile summary;
+    // Open index files by kind and key
+    private final MappedFile[][] indexes;
+    private long count;
+    private long dataEnd;
+
+    /**
+     * Opens the archive in a directory with the default segment size, creating it if needed.
+     *
+     * @param directory The directory holding the archive's files
+     * @throws IOException if the files cannot be opened or are not an archive
+     */
+    public MatchArchive(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Opens the archive in a directory, creating it if needed. An existing
+     * archive keeps the segment size it was created with.
+     *
+     * @param directory The directory holding the archive's files
+     * @param segmentSize The size of each segment file in bytes, for a new archive
+     * @throws IOException if the files cannot be opened or are not an archive
+     */
+    public MatchArchive(Path directory, int segmentSize) throws IOException {
+        Files.createDirectories(directory);
+        this.directory = directory;
+        this.segments = new ArrayList<>();
+        this.indexes = new MappedFile[INDEX_NAMES.length][MAX_KEY + 1];
+        boolean created = !Files.exists(directory.resolve("summary.idx"));
+        this.summary = new MappedFile(directory.resolve("summary.idx"), INDEX_REGION);
+
+        if (created) {
+            summary.putInt(0, MAGIC);
+            summary.putInt(4, VERSION);
+            summary.putInt(HEADER_SEGMENT_SIZE, segmentSize);
+            this.segmentSize = segmentSize;
+        } else {
+            if (summary.getInt(0) != MAGIC || summary.getInt(4) != VERSION) {
+                summary.close();
+                throw new IOException(directory + " is not a match archive of version " + VERSION + ".");
+            }
+            this.segmentSize = summary.getInt(HEADER_SEGMENT_SIZE);
+            this.count = summary.getLong(HEADER_COUNT);
+            this.dataEnd = summary.getLong(HEADER_DATA_END);
+        }
+    }
+
+    /**
+     * Adds a finished match to the end of the archive and its indexes.
+     *
+     * @param seed The seed the match was played with
+     * @param result The result of the match
+     * @return The new record's number
+     * @throws IOException if a file cannot be extended
+     * @throws IllegalArgumentException if the record is larger than a segment
+     */
+    public long append(long seed, MatchResult result) throws IOException {
+        if (count == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Match archive is full.");
+        }
+        int players = result.getPlayerCount();
+        int rounds = result.getRounds();
+        int length = recordLength(players, rounds);
+        if (length > segmentSize) {
+            throw new IllegalArgumentException("A match of " + rounds + " rounds does not fit in a segment.");
+        }
+
+        // Start a new segment if the record would run past the end of this one
+        long offset = dataEnd % segmentSize;
+        if (offset + length > segmentSize) {
+            dataEnd += segmentSize - offset;
+        }
+        ByteBuffer out = segment((int) (dataEnd / segmentSize)).duplicate();
+        out.position((int) (dataEnd % segmentSize));
+        out.putLong(seed).put((byte) players).putChar((char) rounds);
+        for (int seat = 0; seat < players; seat++) {
+            out.putChar((char) result.getFinalScore(seat));
+        }
+        for (int r = 0; r < rounds; r++) {
+            out.put((byte) result.getRoundWinnerSeat(r));
+            out.putChar((char) result.getRoundPoints(r));
+            out.putChar((char) result.getRoundTurns(r));
+        }
+
+        int winner = result.getWinnerSeat();
+        int margin = margin(result);
+        long entry = HEADER_SIZE + count * ENTRY_SIZE;
+        summary.putLong(entry, dataEnd);
+        summary.putByte(entry + ENTRY_WINNER, winner);
+        summary.putByte(entry + ENTRY_PLAYERS, players);
+        summary.putChar(entry + ENTRY_ROUNDS, rounds);
+        summary.putChar(entry + ENTRY_MARGIN, margin);
+
+        addPosting(WINNER, winner, (int) count);
+        addPosting(ROUNDS, Math.min(rounds, MAX_KEY), (int) count);
+        addPosting(MARGIN, Math.min(margin / MARGIN_BUCKET, MAX_KEY), (int) count);
+
+        dataEnd += length;
+        summary.putLong(HEADER_DATA_END, dataEnd);
+        summary.putLong(HEADER_COUNT, count + 1);
+        return count++;
+    }
+
+    /**
+     * Gets the number of matches in the archive.
+     *
+     * @return The number of records
+     */
+    public long size() {
+        return count;
+    }
+
+    /**
+     * Gets the seed a stored match was played with.
+     *
+     * @param record The record's number
+     * @return The seed
+     * @throws IOException if the segment cannot be mapped
+     */
+    public long getSeed(long record) throws IOException {
+        long address = summary.getLong(entry(record));
+        return segment((int) (address / segmentSize)).getLong((int) (address % segmentSize));
+    }
+
+    /**
+     * Reads a stored match.
+     *
+     * @param record The record's number
+     * @return The match's result
+     * @throws IOException if the segment cannot be mapped
+     */
+    public MatchResult get(long record) throws IOException {
+        long address = summary.getLong(entry(record));
+        ByteBuffer in = segment((int) (address / segmentSize)).duplicate();
+        in.position((int) (address % segmentSize) + 8);
+        int players = in.get() & 0xFF;
+        int rounds = in.getChar();
+        int[] scores = new int[players];
+        for (int seat = 0; seat < players; seat++) {
+            scores[seat] = in.getChar();
+        }
+        int[] roundWinners = new int[rounds];
+        int[] roundPoints = new int[rounds];
+        int[] roundTurns = new int[rounds];
+        for (int r = 0; r < rounds; r++) {
+            roundWinners[r] = in.get();
+            roundPoints[r] = in.getChar();
+            roundTurns[r] = in.getChar();
+        }
+        return new MatchResult(summary.getByte(entry(record) + ENTRY_WINNER), scores, rounds,
+                roundWinners, roundPoints, roundTurns);
+    }
+
+    /**
+     * Finds the matches meeting every given condition. Pass ANY for a condition that does not matter.
+     *
+     * @param winnerSeat The seat that won the match, or ANY
+     * @param minRounds The fewest rounds, or ANY
+     * @param maxRounds The most rounds, or ANY
+     * @param minMargin The smallest winning margin in points, or ANY
+     * @param maxMargin The largest winning margin in points, or ANY
+     * @return The numbers of the matching records, in the order they were added
+     * @throws IOException if an index cannot be read
+     */
+    public long[] find(int winnerSeat, int minRounds, int maxRounds, int minMargin, int maxMargin) throws IOException {
+        int roundsLow = minRounds == ANY ? 0 : minRounds;
+        int roundsHigh = maxRounds == ANY ? Integer.MAX_VALUE : maxRounds;
+        int marginLow = minMargin == ANY ? 0 : minMargin;
+        int marginHigh = maxMargin == ANY ? Integer.MAX_VALUE : maxMargin;
+
+        // Pick the index with the fewest candidates
+        List<MappedFile> best = null;
+        long bestSize = count;
+        if (winnerSeat != ANY) {
+            List<MappedFile> lists = postings(WINNER, winnerSeat, winnerSeat);
+            long size = total(lists);
+            if (size <= bestSize) {
+                best = lists;
+                bestSize = size;
+            }
+        }
+        if (minRounds != ANY || maxRounds != ANY) {
+            List<MappedFile> lists = postings(ROUNDS, Math.min(roundsLow, MAX_KEY), Math.min(roundsHigh, MAX_KEY));
+            long size = total(lists);
+            if (size <= bestSize) {
+                best = lists;
+                bestSize = size;
+            }
+        }
+        if (minMargin != ANY || maxMargin != ANY) {
+            List<MappedFile> lists = postings(MARGIN, Math.min(marginLow / MARGIN_BUCKET, MAX_KEY),
+                    Math.min(marginHigh / MARGIN_BUCKET, MAX_KEY));
+            long size = total(lists);
+            if (size <= bestSize) {
+                best = lists;
+            }
+        }
+
+        long[] found = new long[16];
+        int n = 0;
+        if (best == null) {
+            // Nothing narrows the search, check every summary entry
+            for (long record = 0; record < count; record++) {
+                if (matches(record, winnerSeat, roundsLow, roundsHigh, marginLow, marginHigh)) {
+                    if (n == found.length) found = Arrays.copyOf(found, n * 2);
+                    found[n++] = record;
+                }
+            }
+            return Arrays.copyOf(found, n);
+        }
+        for (MappedFile list : best) {
+            long size = list.getLong(0);
+            for (long i = 0; i < size; i++) {
+                long record = list.getInt(POSTINGS_HEADER + i * 4);
+                // Entries past the count were written by an append that did not finish
+                if (record < count && matches(record, winnerSeat, roundsLow, roundsHigh, marginLow, marginHigh)) {
+                    if (n == found.length) found = Arrays.copyOf(found, n * 2);
+                    found[n++] = record;
+                }
+            }
+        }
+        found = Arrays.copyOf(found, n);
+        if (best.size() > 1) {
+            Arrays.sort(found);
+        }
+        return found;
+    }
+
+    /**
+     * Checks a record's summary entry against the query.
+     */
+    private boolean matches(long record, int winnerSeat, int roundsLow, int roundsHigh, int marginLow, int marginHigh)
+            throws IOException {
+        long entry = entry(record);
+        int rounds = summary.getChar(entry + ENTRY_ROUNDS);
+        int margin = summary.getChar(entry + ENTRY_MARGIN);
+        return (winnerSeat == ANY || summary.getByte(entry + ENTRY_WINNER) == winnerSeat)
+                && rounds >= roundsLow && rounds <= roundsHigh
+                && margin >= marginLow && margin <= marginHigh;
+    }
+
+    /**
+     * Flushes every change to disk.
+     */
+    public void flush() {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+        for (MappedFile[] kind : indexes) {
+            for (MappedFile index : kind) {
+                if (index != null) index.force();
+            }
+        }
+        summary.force();
+    }
+
+    /**
+     * Flushes every change to disk and closes the files.
+     *
+     * @throws IOException if a file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+        for (MappedFile[] kind : indexes) {
+            for (int key = 0; key < kind.length; key++) {
+                if (kind[key] != null) kind[key].close();
+                kind[key] = null;
+            }
+        }
+        summary.close();
+        segments.clear();
+    }
+
+    /**
+     * Gets the summary entry's position for a record, checking the record number.
+     */
+    private long entry(long record) {
+        if (record < 0 || record >= count) {
+            throw new IndexOutOfBoundsException("Record " + record + " out of " + count);
+        }
+        return HEADER_SIZE + record * ENTRY_SIZE;
+    }
+
+    /**
+     * Gets the number of bytes a record takes.
+     */
+    private static int recordLength(int players, int rounds) {
+        return 8 + 1 + 2 + 2 * players + 5 * rounds;
+    }
+
+    /**
+     * Gets the winner's lead over the best other player.
+     */
+    private static int margin(MatchResult result) {
+        int winner = result.getWinnerSeat();
+        int runnerUp = 0;
+        for (int seat = 0; seat < result.getPlayerCount(); seat++) {
+            if (seat != winner) {
+                runnerUp = Math.max(runnerUp, result.getFinalScore(seat));
+            }
+        }
+        return Math.max(0, result.getFinalScore(winner) - runnerUp);
+    }
+
+    /**
+     * Gets a segment, mapping it and any segments before it first.
+     */
+    private MappedByteBuffer segment(int index) throws IOException {
+        while (segments.size() <= index) {
+            Path path = directory.resolve(String.format("segment-%05d.dat", segments.size()));
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // The mapping stays valid after the channel is closed
+                segments.add(channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+            }
+        }
+        return segments.get(index);
+    }
+
+    /**
+     * Adds a record number to the end of an index file.
+     */
+    private void addPosting(int kind, int key, int record) throws IOException {
+        MappedFile index = index(kind, key, true);
+        long size = index.getLong(0);
+        // Drop any entries left by an append that did not finish
+        while (size > 0 && index.getInt(POSTINGS_HEADER + (size - 1) * 4) >= record) {
+            size--;
+        }
+        index.putInt(POSTINGS_HEADER + size * 4, record);
+        index.putLong(0, size + 1);
+    }
+
+    /**
+     * Gets the index files for keys low to high that exist.
+     */
+    private List<MappedFile> postings(int kind, int low, int high) throws IOException {
+        List<MappedFile> lists = new ArrayList<>();
+        for (int key = Math.max(0, low); key <= high; key++) {
+            MappedFile index = index(kind, key, false);
+            if (index != null) lists.add(index);
+        }
+        return lists;
+    }
+
+    /**
+     * Counts the record numbers in some index files.
+     */
+    private static long total(List<MappedFile> lists) throws IOException {
+        long total = 0;
+        for (MappedFile list : lists) {
+            total += list.getLong(0);
+        }
+        return total;
+    }
+
+    /**
+     * Opens an index file.
+     *
+     * @param create Whether to create the file if it does not exist
+     * @return The open file, or null if it does not exist and create is false
+     */
+    private MappedFile index(int kind, int key, boolean create) throws IOException {
+        MappedFile index = indexes[kind][key];
+        if (index == null) {
+            Path path = directory.resolve(INDEX_NAMES[kind] + key + ".idx");
+            if (!create && !Files.exists(path)) return null;
+            index = new MappedFile(path, INDEX_REGION);
+            indexes[kind][key] = index;
+        }
+        return index;
+    }
+
+    /**
+     * A file mapped into memory one region at a time, extended as values are written past its end.
+     * Values are aligned to their size and regions are a power of two, so none spans two regions.
+     */
+    private static class MappedFile {
+        private final FileChannel channel;
+        private final int regionSize;
+        private final List<MappedByteBuffer> regions;
+
+        MappedFile(Path path, int regionSize) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.regionSize = regionSize;
+            this.regions = new ArrayList<>();
+        }
+
+        /**
+         * Gets the region holding a position, mapping it and the regions before it first.
+         */
+        private MappedByteBuffer region(long position) throws IOException {
+            int index = (int) (position / regionSize);
+            while (regions.size() <= index) {
+                regions.add(channel.map(FileChannel.MapMode.READ_WRITE, (long) regions.size() * regionSize, regionSize));
+            }
+            return regions.get(index);
+        }
+
+        long getLong(long position) throws IOException {
+            return region(position).getLong((int) (position % regionSize));
+        }
+
+        void putLong(long position, long value) throws IOException {
+            region(position).putLong((int) (position % regionSize), value);
+        }
+
+        int getInt(long position) throws IOException {
+            return region(position).getInt((int) (position % regionSize));
+        }
+
+        void putInt(long position, int value) throws IOException {
+            region(position).putInt((int) (position % regionSize), value);
+        }
+
+        int getChar(long position) throws IOException {
+            return region(position).getChar((int) (position % regionSize));
+        }
+
+        void putChar(long position, int value) throws IOException {
+            region(position).putChar((int) (position % regionSize), (char) value);
+        }
+
+        int getByte(long position) throws IOException {
+            return region(position).get((int) (position % regionSize));
+        }
+
+        void putByte(long position, int value) throws IOException {
+            region(position).put((int) (position % regionSize), (byte) value);
+        }
+
+        void force() {
+            for (MappedByteBuffer region : regions) {
+                region.force();
+            }
+        }
+
+        void close() throws IOException {
+            channel.close();
+        }
+    }
+}
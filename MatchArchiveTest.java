@@ -0,0 +1,140 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the functionality of the MatchArchive class.
+ * This test suite makes sure stored matches read back unchanged, survive
+ * reopening the archive, and are found by the indexes exactly as a full
+ * scan would find them.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+class MatchArchiveTest {
+    private static final int MATCHES = 300;
+    // Small enough that the matches fill several segments
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path dir;
+
+    /**
+     * Plays the test matches, each with seed equal to its number.
+     */
+    private static MatchResult[] playMatches() {
+        UnoFlipSimulator simulator = new UnoFlipSimulator(3);
+        MatchResult[] results = new MatchResult[MATCHES];
+        for (int i = 0; i < MATCHES; i++) {
+            results[i] = simulator.playMatch(new SplittableRandom(i));
+        }
+        return results;
+    }
+
+    /**
+     * Checks that two results describe the same match.
+     */
+    private static void assertSameResult(MatchResult expected, MatchResult actual) {
+        assertEquals(expected.getWinnerSeat(), actual.getWinnerSeat());
+        assertEquals(expected.getPlayerCount(), actual.getPlayerCount());
+        assertEquals(expected.getRounds(), actual.getRounds());
+        assertEquals(expected.getTurns(), actual.getTurns());
+        for (int seat = 0; seat < expected.getPlayerCount(); seat++) {
+            assertEquals(expected.getFinalScore(seat), actual.getFinalScore(seat));
+        }
+        for (int r = 0; r < expected.getRounds(); r++) {
+            assertEquals(expected.getRoundWinnerSeat(r), actual.getRoundWinnerSeat(r));
+            assertEquals(expected.getRoundPoints(r), actual.getRoundPoints(r));
+            assertEquals(expected.getRoundTurns(r), actual.getRoundTurns(r));
+        }
+    }
+
+    /**
+     * Gets the winner's lead over the best other player.
+     */
+    private static int margin(MatchResult result) {
+        int runnerUp = 0;
+        for (int seat = 0; seat < result.getPlayerCount(); seat++) {
+            if (seat != result.getWinnerSeat()) runnerUp = Math.max(runnerUp, result.getFinalScore(seat));
+        }
+        return result.getFinalScore(result.getWinnerSeat()) - runnerUp;
+    }
+
+    /**
+     * Stored matches read back unchanged, across several segments and after reopening.
+     */
+    @Test
+    void recordsSurviveReopening() throws Exception {
+        MatchResult[] results = playMatches();
+        try (MatchArchive archive = new MatchArchive(dir, SEGMENT_SIZE)) {
+            for (int i = 0; i < MATCHES; i++) {
+                assertEquals(i, archive.append(i, results[i]));
+            }
+            assertSameResult(results[17], archive.get(17));
+        }
+        assertTrue(Files.exists(dir.resolve("segment-00002.dat")));
+
+        try (MatchArchive archive = new MatchArchive(dir)) {
+            assertEquals(MATCHES, archive.size());
+            for (int i = 0; i < MATCHES; i++) {
+                assertEquals(i, archive.getSeed(i));
+                assertSameResult(results[i], archive.get(i));
+            }
+            // Appending carries on after the last record
+            assertEquals(MATCHES, archive.append(-1, results[0]));
+            assertSameResult(results[0], archive.get(MATCHES));
+        }
+    }
+
+    /**
+     * Indexed queries find exactly the matches a full scan finds.
+     */
+    @Test
+    void findMatchesFullScan() throws Exception {
+        MatchResult[] results = playMatches();
+        try (MatchArchive archive = new MatchArchive(dir, SEGMENT_SIZE)) {
+            for (int i = 0; i < MATCHES; i++) {
+                archive.append(i, results[i]);
+            }
+
+            int[][] queries = {
+                    {0, MatchArchive.ANY, 4, MatchArchive.ANY, MatchArchive.ANY},
+                    {1, MatchArchive.ANY, MatchArchive.ANY, MatchArchive.ANY, MatchArchive.ANY},
+                    {MatchArchive.ANY, 3, 5, MatchArchive.ANY, MatchArchive.ANY},
+                    {2, MatchArchive.ANY, MatchArchive.ANY, 30, 140},
+                    {MatchArchive.ANY, MatchArchive.ANY, MatchArchive.ANY, MatchArchive.ANY, MatchArchive.ANY},
+            };
+            for (int[] q : queries) {
+                long[] expected = new long[MATCHES];
+                int n = 0;
+                for (int i = 0; i < MATCHES; i++) {
+                    MatchResult r = results[i];
+                    if ((q[0] == MatchArchive.ANY || r.getWinnerSeat() == q[0])
+                            && (q[1] == MatchArchive.ANY || r.getRounds() >= q[1])
+                            && (q[2] == MatchArchive.ANY || r.getRounds() <= q[2])
+                            && (q[3] == MatchArchive.ANY || margin(r) >= q[3])
+                            && (q[4] == MatchArchive.ANY || margin(r) <= q[4])) {
+                        expected[n++] = i;
+                    }
+                }
+                assertArrayEquals(Arrays.copyOf(expected, n), archive.find(q[0], q[1], q[2], q[3], q[4]),
+                        Arrays.toString(q));
+            }
+        }
+    }
+
+    /**
+     * A directory holding other files is not taken for an archive.
+     */
+    @Test
+    void rejectsOtherFiles() throws Exception {
+        Files.write(dir.resolve("summary.idx"), new byte[64]);
+        assertThrows(java.io.IOException.class, () -> new MatchArchive(dir));
+    }
+}
@@ -0,0 +1,124 @@
+import java.util.Arrays;
+
+/**
+ * MatchResult - summary of one full match played by the UnoFlipSimulator.
+ *
+ * A match is a sequence of rounds that ends when one player reaches
+ * the target score. The result keeps the seat of the match winner,
+ * every player's final score, and for each round who won it, the
+ * points they scored and how many turns it took.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public class MatchResult {
+    private final int winnerSeat;
+    private final int rounds;
+    private final int turns;
+    private final int[] finalScores;
+    private final int[] roundWinners;
+    private final int[] roundPoints;
+    private final int[] roundTurns;
+
+    /**
+     * Constructs a MatchResult. The per-round arrays may be longer than the
+     * number of rounds, only the first rounds entries are kept.
+     *
+     * @param winnerSeat index of the winning player in turn order
+     * @param finalScores each player's score at the end of the match, in seat order
+     * @param rounds number of rounds played in the match
+     * @param roundWinners seat of the winner of each round
+     * @param roundPoints points scored by the winner of each round
+     * @param roundTurns number of turns taken in each round
+     */
+    public MatchResult(int winnerSeat, int[] finalScores, int rounds,
+                       int[] roundWinners, int[] roundPoints, int[] roundTurns) {
+        this.winnerSeat = winnerSeat;
+        this.finalScores = finalScores.clone();
+        this.rounds = rounds;
+        this.roundWinners = Arrays.copyOf(roundWinners, rounds);
+        this.roundPoints = Arrays.copyOf(roundPoints, rounds);
+        this.roundTurns = Arrays.copyOf(roundTurns, rounds);
+        int total = 0;
+        for (int t : this.roundTurns) {
+            total += t;
+        }
+        this.turns = total;
+    }
+
+    /**
+     * Gets the seat of the player who won the match.
+     *
+     * @return The winner's index in turn order
+     */
+    public int getWinnerSeat() {
+        return winnerSeat;
+    }
+
+    /**
+     * Gets the number of rounds played.
+     *
+     * @return The number of rounds in the match
+     */
+    public int getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Gets the number of turns taken over the whole match.
+     *
+     * @return The total number of turns
+     */
+    public int getTurns() {
+        return turns;
+    }
+
+    /**
+     * Gets a player's final score.
+     *
+     * @param seat The player's index in turn order
+     * @return The player's score at the end of the match
+     */
+    public int getFinalScore(int seat) {
+        return finalScores[seat];
+    }
+
+    /**
+     * Gets the number of players in the match.
+     *
+     * @return The number of seats
+     */
+    public int getPlayerCount() {
+        return finalScores.length;
+    }
+
+    /**
+     * Gets the seat of the player who won a round.
+     *
+     * @param round The round, starting at 0
+     * @return The round winner's index in turn order
+     */
+    public int getRoundWinnerSeat(int round) {
+        return roundWinners[round];
+    }
+
+    /**
+     * Gets the points scored by the winner of a round.
+     *
+     * @param round The round, starting at 0
+     * @return The points won that round
+     */
+    public int getRoundPoints(int round) {
+        return roundPoints[round];
+    }
+
+    /**
+     * Gets the number of turns a round took.
+     *
+     * @param round The round, starting at 0
+     * @return The number of turns in that round
+     */
+    public int getRoundTurns(int round) {
+        return roundTurns[round];
+    }
+}
@@ -0,0 +1,229 @@
+/**
+ * MatchStatistics - running totals over many simulated matches.
+ *
+ * Each worker of the ParallelMatchRunner keeps its own MatchStatistics
+ * and adds its matches to it without any locking. The workers' totals
+ * are combined with merge() at the end. Every total is a plain sum, so
+ * the merged result does not depend on how the matches were split up.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public class MatchStatistics {
+    // Round lengths are counted in buckets of this many turns
+    public static final int ROUND_LENGTH_BUCKET = 10;
+    private static final int ROUND_LENGTH_BUCKETS = 50;
+
+    private final int numPlayers;
+    private long matches;
+    private long rounds;
+    private long turns;
+    private long totalPoints;
+    private long totalMargin;
+    private final long[] matchWinsBySeat;
+    private final long[] roundWinsBySeat;
+    private final long[] pointsBySeat;
+    private final long[] roundLengths;   // histogram of turns per round
+    private int longestRound;
+
+    /**
+     * Constructs empty statistics for matches with the given number of players.
+     *
+     * @param numPlayers The number of seats at the table
+     */
+    public MatchStatistics(int numPlayers) {
+        this.numPlayers = numPlayers;
+        matchWinsBySeat = new long[numPlayers];
+        roundWinsBySeat = new long[numPlayers];
+        pointsBySeat = new long[numPlayers];
+        roundLengths = new long[ROUND_LENGTH_BUCKETS];
+    }
+
+    /**
+     * Adds one finished match to the totals.
+     *
+     * @param result The result of the match
+     */
+    public void add(MatchResult result) {
+        matches++;
+        matchWinsBySeat[result.getWinnerSeat()]++;
+        rounds += result.getRounds();
+        turns += result.getTurns();
+
+        int winnerScore = result.getFinalScore(result.getWinnerSeat());
+        int runnerUp = 0;
+        for (int seat = 0; seat < numPlayers; seat++) {
+            if (seat != result.getWinnerSeat()) {
+                runnerUp = Math.max(runnerUp, result.getFinalScore(seat));
+            }
+        }
+        totalMargin += winnerScore - runnerUp;
+
+        for (int r = 0; r < result.getRounds(); r++) {
+            int seat = result.getRoundWinnerSeat(r);
+            int length = result.getRoundTurns(r);
+            roundWinsBySeat[seat]++;
+            pointsBySeat[seat] += result.getRoundPoints(r);
+            totalPoints += result.getRoundPoints(r);
+            roundLengths[Math.min(length / ROUND_LENGTH_BUCKET, ROUND_LENGTH_BUCKETS - 1)]++;
+            longestRound = Math.max(longestRound, length);
+        }
+    }
+
+    /**
+     * Adds another worker's totals to these.
+     *
+     * @param other The statistics to merge in
+     */
+    public void merge(MatchStatistics other) {
+        matches += other.matches;
+        rounds += other.rounds;
+        turns += other.turns;
+        totalPoints += other.totalPoints;
+        totalMargin += other.totalMargin;
+        for (int seat = 0; seat < numPlayers; seat++) {
+            matchWinsBySeat[seat] += other.matchWinsBySeat[seat];
+            roundWinsBySeat[seat] += other.roundWinsBySeat[seat];
+            pointsBySeat[seat] += other.pointsBySeat[seat];
+        }
+        for (int b = 0; b < ROUND_LENGTH_BUCKETS; b++) {
+            roundLengths[b] += other.roundLengths[b];
+        }
+        longestRound = Math.max(longestRound, other.longestRound);
+    }
+
+    /**
+     * Gets the number of matches added.
+     *
+     * @return The number of matches
+     */
+    public long getMatches() {
+        return matches;
+    }
+
+    /**
+     * Gets the number of rounds over all matches.
+     *
+     * @return The number of rounds
+     */
+    public long getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Gets the number of turns over all matches.
+     *
+     * @return The number of turns
+     */
+    public long getTurns() {
+        return turns;
+    }
+
+    /**
+     * Gets the fraction of matches won by a seat.
+     *
+     * @param seat The player's index in turn order
+     * @return The win rate, between 0 and 1
+     */
+    public double getWinRate(int seat) {
+        return matches == 0 ? 0 : (double) matchWinsBySeat[seat] / matches;
+    }
+
+    /**
+     * Gets the number of matches won by a seat.
+     *
+     * @param seat The player's index in turn order
+     * @return The number of match wins
+     */
+    public long getMatchWins(int seat) {
+        return matchWinsBySeat[seat];
+    }
+
+    /**
+     * Gets the number of rounds won by a seat.
+     *
+     * @param seat The player's index in turn order
+     * @return The number of round wins
+     */
+    public long getRoundWins(int seat) {
+        return roundWinsBySeat[seat];
+    }
+
+    /**
+     * Gets the total points won by a seat.
+     *
+     * @param seat The player's index in turn order
+     * @return The points won over all rounds
+     */
+    public long getPoints(int seat) {
+        return pointsBySeat[seat];
+    }
+
+    /**
+     * Gets the average number of turns per round.
+     *
+     * @return The mean round length in turns
+     */
+    public double getAverageRoundLength() {
+        return rounds == 0 ? 0 : (double) turns / rounds;
+    }
+
+    /**
+     * Gets the average points won per round.
+     *
+     * @return The mean points per round
+     */
+    public double getAverageRoundPoints() {
+        return rounds == 0 ? 0 : (double) totalPoints / rounds;
+    }
+
+    /**
+     * Gets the average lead of the match winner over the next best player.
+     *
+     * @return The mean winning margin in points
+     */
+    public double getAverageMargin() {
+        return matches == 0 ? 0 : (double) totalMargin / matches;
+    }
+
+    /**
+     * Gets the number of rounds whose length falls in a bucket of ROUND_LENGTH_BUCKET turns.
+     * The last bucket also counts every longer round.
+     *
+     * @param bucket The bucket, round lengths from bucket * ROUND_LENGTH_BUCKET turns
+     * @return The number of rounds in the bucket
+     */
+    public long getRoundLengthCount(int bucket) {
+        return roundLengths[bucket];
+    }
+
+    /**
+     * Gets the number of turns in the longest round.
+     *
+     * @return The longest round length
+     */
+    public int getLongestRound() {
+        return longestRound;
+    }
+
+    /**
+     * Describes the statistics, one line per item.
+     *
+     * @return The description as a String
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Matches: %d  Rounds: %d  Turns: %d%n", matches, rounds, turns));
+        sb.append(String.format("Average rounds per match: %.2f%n", matches == 0 ? 0 : (double) rounds / matches));
+        sb.append(String.format("Average turns per round: %.2f  Longest round: %d%n",
+                getAverageRoundLength(), longestRound));
+        sb.append(String.format("Average points per round: %.2f  Average winning margin: %.2f%n",
+                getAverageRoundPoints(), getAverageMargin()));
+        for (int seat = 0; seat < numPlayers; seat++) {
+            sb.append(String.format("Seat %d: match wins %d (%.2f%%)  round wins %d  points %d%n", seat,
+                    matchWinsBySeat[seat], 100 * getWinRate(seat), roundWinsBySeat[seat], pointsBySeat[seat]));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,358 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * MctsStrategy - a strong bot that searches ahead with Monte Carlo Tree Search.
+ *
+ * The bot cannot see the other players' hands or the order of the draw
+ * pile, so every search iteration starts from a determinization: a
+ * GameState copy of the game in which the hidden cards have been dealt
+ * out again at random (see GameState.redeal()). The bot's own hand, the
+ * discard pile, the scores and everyone's hand sizes are kept, so each
+ * copy is a game the bot could be in given what it has seen. GameState
+ * follows the model's rules, so SKIP, REVERSE, DRAW_ONE and WILDTWO, the
+ * two player REVERSE and the reshuffling of the discard pile all play
+ * out as they would in the game, and copying it is a few array copies.
+ *
+ * From the copy, the tree is walked with UCB1, choosing among the moves
+ * that are legal in this determinization, a new move is added, and the
+ * round is played out with FirstPlayableStrategy for every seat. Each
+ * move in the tree is rewarded when the player who made it wins the round.
+ * Tree moves are PlayerMoves holding a card code instead of a hand index,
+ * so the same move means the same card in every determinization.
+ *
+ * The search runs on a ForkJoinPool, one tree per thread, with no
+ * sharing between the threads (root parallelization). When the budget of
+ * iterations or time is used up, the visits of each first move are added
+ * up over the trees and the most visited move is played. With an
+ * iteration budget and a fixed seed the bot always chooses the same move.
+ *
+ * Unlike the baseline bots, a decision takes milliseconds and allocates,
+ * and the bot keeps state, so it must be used by one thread at a time.
+ * It needs the view the simulator or the controller passes, which reads
+ * an UnoFlipModel, or a GameState.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public class MctsStrategy implements PlayerStrategy, AutoCloseable {
+    // UCB1 exploration constant
+    private static final double EXPLORATION = 0.7;
+    // Turns a playout may take before it is given up as a draw for everyone
+    private static final int MAX_PLAYOUT_TURNS = 1000;
+    // At most every distinct card code in four colours, and DRAW
+    private static final int MAX_ACTIONS = 4 * Card.CODE_COUNT + 1;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final int threads;
+    private final int iterations;
+    private final long millis;
+    private final long seed;
+    private final ForkJoinPool pool;
+    private long decisions;
+    private long lastIterations;
+    private long lastNanos;
+
+    /**
+     * Constructs a bot searching on the given number of threads until either budget is used up.
+     *
+     * @param threads The number of search threads
+     * @param iterations The number of iterations per decision over all threads, 0 for no limit
+     * @param millis The time per decision in milliseconds, 0 for no limit
+     * @param seed The seed for the determinizations
+     */
+    public MctsStrategy(int threads, int iterations, long millis, long seed) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one search thread is needed.");
+        }
+        if (iterations <= 0 && millis <= 0) {
+            throw new IllegalArgumentException("An iteration or time budget is needed.");
+        }
+        this.threads = threads;
+        this.iterations = iterations;
+        this.millis = millis;
+        this.seed = seed;
+        this.pool = new ForkJoinPool(threads);
+    }
+
+    @Override
+    public int chooseMove(PlayerView view) {
+        GameState root;
+        if (view instanceof GameState) {
+            root = ((GameState) view).copy();
+        } else if (view instanceof ModelPlayerView) {
+            root = GameState.of(((ModelPlayerView) view).getModel());
+            root.setDrawnCardIndex(view.getDrawnCardIndex());
+        } else {
+            throw new IllegalArgumentException("MctsStrategy needs the view of an UnoFlipModel or a GameState.");
+        }
+        int drawn = view.getDrawnCardIndex();
+
+        long start = System.nanoTime();
+        long deadline = millis > 0 ? start + millis * 1_000_000L : Long.MAX_VALUE;
+        long decision = decisions++;
+        List<Callable<Node>> searches = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            int budget = iterations <= 0 ? Integer.MAX_VALUE
+                    : iterations / threads + (t < iterations % threads ? 1 : 0);
+            long searchSeed = seed + (decision * threads + t + 1) * GOLDEN_GAMMA;
+            searches.add(new Search(root, budget, deadline, searchSeed));
+        }
+
+        // Add up the visits of each first move over every tree
+        int[] moves = new int[MAX_ACTIONS + 1];
+        long[] visits = new long[MAX_ACTIONS + 1];
+        int moveCount = 0;
+        long total = 0;
+        try {
+            for (Future<Node> result : pool.invokeAll(searches)) {
+                Node tree = result.get();
+                total += tree.visits;
+                for (int c = 0; c < tree.childCount; c++) {
+                    Node child = tree.children[c];
+                    int m = 0;
+                    while (m < moveCount && moves[m] != child.action) m++;
+                    if (m == moveCount) moves[moveCount++] = child.action;
+                    visits[m] += child.visits;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Search was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search failed.", e.getCause());
+        }
+        lastIterations = total;
+        lastNanos = System.nanoTime() - start;
+
+        int best = 0;
+        for (int m = 1; m < moveCount; m++) {
+            if (visits[m] > visits[best]) best = m;
+        }
+        return toPlayerMove(view, moveCount == 0 ? (drawn >= 0 ? PlayerMove.PASS : PlayerMove.DRAW) : moves[best]);
+    }
+
+    /**
+     * Turns a tree move, which names a card code, into a move on the view's hand.
+     */
+    private static int toPlayerMove(PlayerView view, int action) {
+        if (!PlayerMove.isPlay(action)) return action;
+        int code = PlayerMove.cardIndex(action);
+        int index = view.getDrawnCardIndex();
+        for (int i = 0; index < 0 && i < view.getHandSize(); i++) {
+            if (view.getCardCode(i) == code) index = i;
+        }
+        return PlayerMove.play(index, PlayerMove.colour(action));
+    }
+
+    /**
+     * Gets the number of search iterations, each ending in one playout, of the last decision.
+     *
+     * @return The iterations over all threads
+     */
+    public long getLastIterations() {
+        return lastIterations;
+    }
+
+    /**
+     * Gets how long the last decision took.
+     *
+     * @return The time in nanoseconds
+     */
+    public long getLastNanos() {
+        return lastNanos;
+    }
+
+    /**
+     * Stops the search threads.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * A move in one thread's tree, with the playouts through it.
+     */
+    private static final class Node {
+        private final int action;
+        private int visits;
+        private double wins;
+        private Node[] children;
+        private int childCount;
+
+        Node(int action) {
+            this.action = action;
+            this.children = new Node[4];
+        }
+
+        Node child(int action) {
+            for (int c = 0; c < childCount; c++) {
+                if (children[c].action == action) return children[c];
+            }
+            return null;
+        }
+
+        Node add(int action) {
+            if (childCount == children.length) {
+                Node[] grown = new Node[childCount * 2];
+                System.arraycopy(children, 0, grown, 0, childCount);
+                children = grown;
+            }
+            Node child = new Node(action);
+            children[childCount++] = child;
+            return child;
+        }
+    }
+
+    /**
+     * One thread's search: its own tree, generator and copy of the game.
+     */
+    private static final class Search implements Callable<Node> {
+        private final GameState root;
+        private final GameState game;
+        private final int seat;
+        private final int budget;
+        private final long deadline;
+        private final SplitMix64Random random;
+        private final int[] actions;
+        private final Node[] path;
+        // The seat that made each move on the path in this determinization, whose wins it counts
+        private final int[] movers;
+        // Plays every seat's playouts, and the drawn card after a DRAW
+        private final PlayerStrategy policy;
+
+        Search(GameState root, int budget, long deadline, long seed) {
+            this.root = root;
+            this.game = root.copy();
+            this.seat = root.getSeat();
+            this.budget = budget;
+            this.deadline = deadline;
+            this.random = new SplitMix64Random(seed);
+            this.actions = new int[MAX_ACTIONS];
+            this.path = new Node[MAX_PLAYOUT_TURNS + 1];
+            this.movers = new int[MAX_PLAYOUT_TURNS + 1];
+            this.policy = new FirstPlayableStrategy();
+        }
+
+        @Override
+        public Node call() {
+            Node tree = new Node(PlayerMove.PASS);
+            for (int i = 0; i < budget && System.nanoTime() < deadline; i++) {
+                iterate(tree);
+            }
+            return tree;
+        }
+
+        /**
+         * Runs one determinization down the tree and plays it out.
+         */
+        private void iterate(Node tree) {
+            game.copyFrom(root);
+            game.redeal(seat, random);
+            Node node = tree;
+            int depth = 0;
+            boolean expanded = false;
+            while (!expanded && !game.isRoundOver() && depth < MAX_PLAYOUT_TURNS) {
+                int count = legalActions();
+                Node next = null;
+                for (int a = 0; a < count && next == null; a++) {
+                    if (node.child(actions[a]) == null) {
+                        next = node.add(actions[a]);
+                        expanded = true;
+                    }
+                }
+                if (next == null) {
+                    next = select(node, count);
+                }
+                // Below a DRAW the seat to move can differ between determinizations
+                movers[depth] = game.getSeat();
+                apply(next.action);
+                path[depth++] = next;
+                node = next;
+            }
+
+            for (int turn = 0; turn < MAX_PLAYOUT_TURNS && !game.isRoundOver(); turn++) {
+                game.playTurn(policy);
+            }
+            int winner = game.getRoundWinnerSeat();
+
+            tree.visits++;
+            for (int d = 0; d < depth; d++) {
+                path[d].visits++;
+                if (movers[d] == winner) path[d].wins++;
+            }
+        }
+
+        /**
+         * Picks the legal child with the best UCB1 score.
+         */
+        private Node select(Node node, int count) {
+            Node best = null;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            double logVisits = Math.log(Math.max(1, node.visits));
+            for (int a = 0; a < count; a++) {
+                Node child = node.child(actions[a]);
+                double score = child.wins / child.visits + EXPLORATION * Math.sqrt(logVisits / child.visits);
+                if (score > bestScore) {
+                    best = child;
+                    bestScore = score;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Lists the current player's moves into actions: each playable card code,
+         * in every colour for a wild card, and DRAW, or after drawing the drawn card and PASS.
+         *
+         * @return The number of moves
+         */
+        private int legalActions() {
+            int count = 0;
+            for (int i = 0; i < game.getHandSize(); i++) {
+                if (!game.isPlayable(i)) continue;
+                int code = game.getCardCode(i);
+                boolean seen = false;
+                for (int j = 0; j < i && !seen; j++) {
+                    seen = game.getCardCode(j) == code;
+                }
+                if (seen) continue;
+                if (Card.fromCode(code).getColor() == Card.colortype.ALL) {
+                    for (Card.colortype colour : PlayerMove.COLOURS) {
+                        actions[count++] = PlayerMove.play(code, colour);
+                    }
+                } else {
+                    actions[count++] = PlayerMove.play(code, null);
+                }
+            }
+            actions[count++] = game.getDrawnCardIndex() >= 0 ? PlayerMove.PASS : PlayerMove.DRAW;
+            return count;
+        }
+
+        /**
+         * Plays a tree move for the current player and ends their turn.
+         * After a DRAW the drawn card is played if it can be, as FirstPlayableStrategy would.
+         */
+        private void apply(int action) {
+            if (PlayerMove.isPlay(action)) {
+                int code = PlayerMove.cardIndex(action);
+                int index = Math.max(0, game.getDrawnCardIndex());
+                while (game.getCardCode(index) != code) index++;
+                game.apply(PlayerMove.play(index, PlayerMove.colour(action)));
+            } else if (action == PlayerMove.DRAW && game.apply(PlayerMove.DRAW)) {
+                int move = policy.chooseMove(game);
+                if (PlayerMove.isPlay(move)) {
+                    game.apply(move);
+                }
+            }
+            if (!game.isRoundOver()) {
+                game.apply(PlayerMove.PASS);
+            }
+        }
+    }
+}
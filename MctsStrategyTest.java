@@ -0,0 +1,88 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the functionality of the MctsStrategy class.
+ * This test suite checks that the search bot only chooses legal moves,
+ * that a fixed seed and iteration budget always give the same moves, and
+ * that it takes a winning play when it has one.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+class MctsStrategyTest {
+    private static final List<String> NAMES = List.of("Ann", "Bo", "Cy");
+
+    /**
+     * Over a round of searching on two threads, every move the bot chooses is legal.
+     */
+    @Test
+    void choosesLegalMoves() {
+        try (MctsStrategy bot = new MctsStrategy(2, 40, 0, 1L)) {
+            UnoFlipModel model = new UnoFlipModel(21L);
+            model.initializeGame(NAMES);
+            ModelPlayerView view = model.getPlayerView();
+            for (int turn = 0; turn < 60 && !model.isRoundOver(); turn++) {
+                view.setDrawnCardIndex(-1);
+                int move = bot.chooseMove(view);
+                assertEquals(40, bot.getLastIterations());
+                if (move == PlayerMove.DRAW) {
+                    if (model.playerDrawsCard() == null) break;
+                    view.setDrawnCardIndex(view.getHandSize() - 1);
+                    move = bot.chooseMove(view);
+                    if (move != PlayerMove.PASS) {
+                        assertEquals(view.getDrawnCardIndex(), PlayerMove.cardIndex(move));
+                    }
+                }
+                if (PlayerMove.isPlay(move)) {
+                    assertTrue(model.playCard(PlayerMove.cardIndex(move), PlayerMove.colour(move)));
+                }
+                if (!model.isRoundOver()) {
+                    model.advanceToNextPlayer();
+                }
+            }
+        }
+    }
+
+    /**
+     * Two bots with the same seed and iteration budget make the same decisions.
+     */
+    @Test
+    void sameSeedSameMoves() {
+        try (MctsStrategy first = new MctsStrategy(2, 60, 0, 9L); MctsStrategy second = new MctsStrategy(2, 60, 0, 9L)) {
+            UnoFlipModel model = new UnoFlipModel(8L);
+            model.initializeGame(NAMES);
+            UnoFlipSimulator simulator = new UnoFlipSimulator(NAMES.size());
+            for (int turn = 0; turn < 20 && !model.isRoundOver(); turn++) {
+                assertEquals(first.chooseMove(model.getPlayerView()), second.chooseMove(model.getPlayerView()));
+                simulator.playTurn(model);
+            }
+        }
+    }
+
+    /**
+     * With one playable card left, the bot plays it and wins the round.
+     */
+    @Test
+    void takesTheWinningPlay() {
+        UnoFlipSimulator simulator = new UnoFlipSimulator(NAMES.size());
+        UnoFlipModel model = null;
+        for (long seed = 0; model == null; seed++) {
+            UnoFlipModel game = new UnoFlipModel(seed);
+            game.initializeGame(NAMES);
+            while (!game.isRoundOver() && !(game.getCurrentPlayer().getHand().size() == 1 && game.isPlayable(0))) {
+                simulator.playTurn(game);
+            }
+            if (!game.isRoundOver()) model = game;
+        }
+
+        try (MctsStrategy bot = new MctsStrategy(1, 100, 0, 4L)) {
+            int move = bot.chooseMove(model.getPlayerView());
+            assertTrue(PlayerMove.isPlay(move));
+            assertEquals(0, PlayerMove.cardIndex(move));
+        }
+    }
+}
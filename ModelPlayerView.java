@@ -0,0 +1,88 @@
+/**
+ * ModelPlayerView - the PlayerView of an UnoFlipModel's current player.
+ *
+ * Every answer is read straight from the model, so one view per model
+ * is enough and asking it allocates nothing. The model does not know
+ * whether the current player has drawn this turn, that is kept here by
+ * whoever drives the turn (the simulator or the controller).
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+final class ModelPlayerView implements PlayerView {
+    private final UnoFlipModel model;
+    private int drawnCardIndex;
+
+    /**
+     * Constructs the view of a model.
+     *
+     * @param model The model to read
+     */
+    ModelPlayerView(UnoFlipModel model) {
+        this.model = model;
+        this.drawnCardIndex = -1;
+    }
+
+    /**
+     * Sets the card the current player drew this turn.
+     *
+     * @param drawnCardIndex The drawn card's index in the hand, or -1 at the start of a turn
+     */
+    void setDrawnCardIndex(int drawnCardIndex) {
+        this.drawnCardIndex = drawnCardIndex;
+    }
+
+    /**
+     * Gets the model the view reads, for strategies that search ahead on copies of it.
+     *
+     * @return The model
+     */
+    UnoFlipModel getModel() {
+        return model;
+    }
+
+    @Override
+    public int getSeat() {
+        return model.getCurrentTurn();
+    }
+
+    @Override
+    public int getPlayerCount() {
+        return model.getPlayerCount();
+    }
+
+    @Override
+    public int getHandSize() {
+        return model.getCurrentPlayer().getPackedHand().size();
+    }
+
+    @Override
+    public int getCardCode(int index) {
+        return model.getCurrentPlayer().getPackedHand().get(index);
+    }
+
+    @Override
+    public int getHandSize(int seat) {
+        return model.getPlayer(seat).getPackedHand().size();
+    }
+
+    @Override
+    public Card getTopCard() {
+        return model.getTopCard();
+    }
+
+    @Override
+    public Card.colortype getForcedColour() {
+        return model.getForcedColour();
+    }
+
+    @Override
+    public int getDirection() {
+        return model.getDirection();
+    }
+
+    @Override
+    public int getDrawnCardIndex() {
+        return drawnCardIndex;
+    }
+}
@@ -0,0 +1,336 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Class MoveLog - an append-only record of every move made on an UnoFlipModel.
+ *
+ * This class is part of the UnoFlip game application.
+ *
+ * A model given a log with setMoveLog() appends one record for each call
+ * that changes its state: initializeGame, playCard, playerDrawsCard,
+ * advanceToNextPlayer and startNewRound. Calls that are refused, such as
+ * an illegal card, change nothing and are not recorded. Every record is a
+ * single int:
+ * <pre>
+ *  bits 24-31  operation (see Op)
+ *  bits  8-23  card index for PLAY, player list index for INIT, otherwise 0
+ *  bits  0-7   chosen colour ordinal + 1 for PLAY, 0 for none
+ * </pre>
+ * The seed the model was built with is kept once for the whole log, and
+ * the player names passed to initializeGame are kept in a separate list.
+ *
+ * Since a seeded model shuffles the same way every time, replaying the
+ * records on new UnoFlipModel(seed) rebuilds the exact state the game was
+ * in after any move, without storing the game itself. Only models built
+ * with a seed can be replayed, and the log must be given to the model
+ * before its first move.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public class MoveLog {
+
+    /**
+     * The model operations a record can hold.
+     */
+    public enum Op {
+        /** initializeGame(playerNames) */
+        INIT,
+        /** playCard(cardIndex, chosenColour) */
+        PLAY,
+        /** playerDrawsCard() */
+        DRAW,
+        /** advanceToNextPlayer() */
+        ADVANCE,
+        /** startNewRound() */
+        NEW_ROUND
+    }
+
+    private static final Op[] OPS = Op.values();
+    private static final Card.colortype[] COLOURS = Card.colortype.values();
+    private static final int INITIAL_CAPACITY = 256;
+    private static final byte MAGIC_0 = 'U';
+    private static final byte MAGIC_1 = 'L';
+    public static final int VERSION = 1;
+
+    private final long seed;
+    private int[] records;
+    private int size;
+    // Player names for each INIT record, in the order they were recorded
+    private final List<List<String>> rosters;
+
+    /**
+     * Constructs an empty log for a model built with new UnoFlipModel(seed).
+     *
+     * @param seed The model's seed
+     */
+    public MoveLog(long seed) {
+        this.seed = seed;
+        this.records = new int[INITIAL_CAPACITY];
+        this.size = 0;
+        this.rosters = new ArrayList<>();
+    }
+
+    /**
+     * Gets the seed of the model the moves were made on.
+     *
+     * @return The seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the number of moves recorded.
+     *
+     * @return The number of records
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the operation of a recorded move.
+     *
+     * @param move The index of the move, from 0
+     * @return The operation
+     */
+    public Op getOp(int move) {
+        return OPS[record(move) >>> 24];
+    }
+
+    /**
+     * Gets the card index of a recorded PLAY move.
+     *
+     * @param move The index of the move, from 0
+     * @return The index of the card played in the player's hand, 0 for other moves
+     */
+    public int getCardIndex(int move) {
+        int record = record(move);
+        return (record >>> 24) == Op.PLAY.ordinal() ? (record >>> 8) & 0xFFFF : 0;
+    }
+
+    /**
+     * Gets the colour chosen in a recorded PLAY move.
+     *
+     * @param move The index of the move, from 0
+     * @return The colour chosen for a wild card, otherwise null
+     */
+    public Card.colortype getChosenColour(int move) {
+        int colour = record(move) & 0xFF;
+        return colour == 0 ? null : COLOURS[colour - 1];
+    }
+
+    /**
+     * Gets the player names of a recorded INIT move.
+     *
+     * @param move The index of the move, from 0
+     * @return The names passed to initializeGame, or null for other moves
+     */
+    public List<String> getPlayerNames(int move) {
+        int record = record(move);
+        return (record >>> 24) == Op.INIT.ordinal() ? rosters.get((record >>> 8) & 0xFFFF) : null;
+    }
+
+    /**
+     * Gets a record, checking the move index.
+     */
+    private int record(int move) {
+        if (move < 0 || move >= size) {
+            throw new IndexOutOfBoundsException("Move " + move + " out of " + size);
+        }
+        return records[move];
+    }
+
+    /**
+     * Records a call to initializeGame.
+     *
+     * @param playerNames The names of the players
+     */
+    void recordInit(List<String> playerNames) {
+        append(Op.INIT, rosters.size(), null);
+        rosters.add(List.copyOf(playerNames));
+    }
+
+    /**
+     * Records a card played.
+     *
+     * @param cardIndex The index of the card in the player's hand
+     * @param chosenColour The colour chosen for a wild card, otherwise null
+     */
+    void recordPlay(int cardIndex, Card.colortype chosenColour) {
+        append(Op.PLAY, cardIndex, chosenColour);
+    }
+
+    /**
+     * Records a move with no arguments: DRAW, ADVANCE or NEW_ROUND.
+     *
+     * @param op The operation
+     */
+    void record(Op op) {
+        append(op, 0, null);
+    }
+
+    /**
+     * Appends one record, growing the array when full.
+     */
+    private void append(Op op, int argument, Card.colortype colour) {
+        if (size == records.length) {
+            records = Arrays.copyOf(records, size * 2);
+        }
+        records[size++] = op.ordinal() << 24 | (argument & 0xFFFF) << 8 | (colour == null ? 0 : colour.ordinal() + 1);
+    }
+
+    /**
+     * Rebuilds the game as it was after every recorded move.
+     *
+     * @return A new model in the final recorded state
+     * @throws IllegalStateException if a recorded move is refused, so the log does not match its seed
+     */
+    public UnoFlipModel replay() {
+        return replay(size);
+    }
+
+    /**
+     * Rebuilds the game as it was after the given number of moves.
+     * The model has no views, and is not given a log of its own.
+     *
+     * @param moves The number of moves to replay, from the first
+     * @return A new model in the state after that many moves
+     * @throws IllegalStateException if a recorded move is refused, so the log does not match its seed
+     */
+    public UnoFlipModel replay(int moves) {
+        if (moves < 0 || moves > size) {
+            throw new IndexOutOfBoundsException("Move count " + moves + " out of " + size);
+        }
+        UnoFlipModel model = new UnoFlipModel(seed);
+        for (int i = 0; i < moves; i++) {
+            int record = records[i];
+            int argument = (record >>> 8) & 0xFFFF;
+            boolean ok = true;
+            switch (OPS[record >>> 24]) {
+                case INIT:
+                    model.initializeGame(rosters.get(argument));
+                    break;
+                case PLAY:
+                    int colour = record & 0xFF;
+                    ok = model.playCard(argument, colour == 0 ? null : COLOURS[colour - 1]);
+                    break;
+                case DRAW:
+                    ok = model.playerDrawsCard() != null;
+                    break;
+                case ADVANCE:
+                    model.advanceToNextPlayer();
+                    break;
+                default:
+                    model.startNewRound();
+                    break;
+            }
+            if (!ok) {
+                throw new IllegalStateException("Move " + i + " (" + getOp(i) + ") was refused on replay.");
+            }
+        }
+        return model;
+    }
+
+    /**
+     * Writes the whole log to a file at the channel's position.
+     * Layout (big-endian): 'U' 'L', version (1), seed (8), roster count (2),
+     * each roster: name count (1), each name: length (1) and UTF-8 bytes,
+     * then record count (4) and the records (4 each).
+     *
+     * @param channel The file to write to
+     * @return The number of bytes written
+     * @throws IOException if the file cannot be written
+     * @throws IllegalStateException if a player name is too long to save
+     */
+    public int write(FileChannel channel) throws IOException {
+        List<byte[]> names = new ArrayList<>();
+        int rosterBytes = 0;
+        for (List<String> roster : rosters) {
+            for (String name : roster) {
+                byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+                if (bytes.length > 0xFF) {
+                    throw new IllegalStateException("Player name " + name + " is too long to save.");
+                }
+                names.add(bytes);
+                rosterBytes += 1 + bytes.length;
+            }
+            rosterBytes++;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(3 + 8 + 2 + rosterBytes + 4 + 4 * size);
+        buffer.put(MAGIC_0).put(MAGIC_1).put((byte) VERSION);
+        buffer.putLong(seed);
+        buffer.putChar((char) rosters.size());
+        int n = 0;
+        for (List<String> roster : rosters) {
+            buffer.put((byte) roster.size());
+            for (int i = 0; i < roster.size(); i++) {
+                byte[] bytes = names.get(n++);
+                buffer.put((byte) bytes.length).put(bytes);
+            }
+        }
+        buffer.putInt(size);
+        buffer.asIntBuffer().put(records, 0, size);
+        buffer.position(buffer.capacity());
+
+        buffer.flip();
+        int written = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        return written;
+    }
+
+    /**
+     * Reads a log from a file, from the channel's position to its end.
+     *
+     * @param channel The file to read from
+     * @return The log, which can be replayed or appended to
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the file is not a move log of a version this class reads
+     */
+    public static MoveLog read(FileChannel channel) throws IOException {
+        long remaining = channel.size() - channel.position();
+        if (remaining > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Move log too large.");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) remaining);
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+            // keep reading until the buffer is full or the file ends
+        }
+        buffer.flip();
+
+        if (buffer.remaining() < 3 || buffer.get() != MAGIC_0 || buffer.get() != MAGIC_1) {
+            throw new IllegalArgumentException("Not an UnoFlip move log.");
+        }
+        int version = buffer.get() & 0xFF;
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported move log version " + version + ".");
+        }
+        MoveLog log = new MoveLog(buffer.getLong());
+        int rosterCount = buffer.getChar();
+        byte[] name = new byte[0xFF];
+        for (int r = 0; r < rosterCount; r++) {
+            int count = buffer.get() & 0xFF;
+            List<String> roster = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int length = buffer.get() & 0xFF;
+                buffer.get(name, 0, length);
+                roster.add(new String(name, 0, length, StandardCharsets.UTF_8));
+            }
+            log.rosters.add(List.copyOf(roster));
+        }
+        int size = buffer.getInt();
+        log.records = new int[Math.max(INITIAL_CAPACITY, size)];
+        buffer.asIntBuffer().get(log.records, 0, size);
+        log.size = size;
+        return log;
+    }
+}
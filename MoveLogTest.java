@@ -0,0 +1,124 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the functionality of the MoveLog class.
+ * This test suite makes sure the model records each move it makes, and that
+ * replaying the log rebuilds the game exactly as it was.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+class MoveLogTest {
+    private static final long SEED = 2024L;
+    private static final List<String> NAMES = List.of("Ann", "Bo", "Cy");
+
+    /**
+     * Builds a recording model and plays a whole match on it.
+     */
+    private static UnoFlipModel playedMatch() {
+        UnoFlipModel model = new UnoFlipModel(SEED);
+        model.setMoveLog(new MoveLog(SEED));
+        model.initializeGame(NAMES);
+        new UnoFlipSimulator(NAMES.size()).playTurns(model, Integer.MAX_VALUE);
+        return model;
+    }
+
+    /**
+     * Replaying a whole match ends in the same state as the match itself.
+     */
+    @Test
+    void replayRebuildsFinalState() {
+        UnoFlipModel model = playedMatch();
+        MoveLog log = model.getMoveLog();
+        assertEquals(MoveLog.Op.INIT, log.getOp(0));
+        assertEquals(NAMES, log.getPlayerNames(0));
+        assertTrue(log.size() > 100);
+
+        UnoFlipModel replayed = log.replay();
+        assertEquals(GameState.of(model), GameState.of(replayed));
+        assertEquals(NAMES, replayed.getPlayers().stream().map(Player::getName).toList());
+    }
+
+    /**
+     * Replaying part of the log rebuilds the state after that many moves.
+     */
+    @Test
+    void replayStopsAfterAnyMove() {
+        UnoFlipModel model = new UnoFlipModel(SEED);
+        MoveLog log = new MoveLog(SEED);
+        model.setMoveLog(log);
+        model.initializeGame(NAMES);
+        UnoFlipSimulator simulator = new UnoFlipSimulator(NAMES.size());
+        for (int turn = 0; turn < 40 && !model.isRoundOver(); turn++) {
+            simulator.playTurn(model);
+            assertEquals(GameState.of(model), GameState.of(log.replay(log.size())));
+        }
+    }
+
+    /**
+     * Refused moves change nothing, so they are not recorded.
+     */
+    @Test
+    void refusedMovesAreNotRecorded() {
+        UnoFlipModel model = new UnoFlipModel(SEED);
+        model.setMoveLog(new MoveLog(SEED));
+        model.initializeGame(NAMES);
+        int size = model.getMoveLog().size();
+
+        assertFalse(model.playCard(99, null));
+        assertEquals(size, model.getMoveLog().size());
+
+        model.playerDrawsCard();
+        model.advanceToNextPlayer();
+        assertEquals(MoveLog.Op.DRAW, model.getMoveLog().getOp(size));
+        assertEquals(MoveLog.Op.ADVANCE, model.getMoveLog().getOp(size + 1));
+    }
+
+    /**
+     * A log replayed with the wrong seed is detected as soon as a move is refused.
+     */
+    @Test
+    void replayWithWrongSeedFails() {
+        MoveLog log = playedMatch().getMoveLog();
+        MoveLog wrong = new MoveLog(SEED + 1);
+        for (int i = 0; i < log.size(); i++) {
+            switch (log.getOp(i)) {
+                case INIT: wrong.recordInit(log.getPlayerNames(i)); break;
+                case PLAY: wrong.recordPlay(log.getCardIndex(i), log.getChosenColour(i)); break;
+                default: wrong.record(log.getOp(i)); break;
+            }
+        }
+        assertThrows(IllegalStateException.class, wrong::replay);
+    }
+
+    /**
+     * A log can be written to and read back from a file, then replayed.
+     */
+    @Test
+    void fileRoundTrip(@TempDir Path dir) throws Exception {
+        UnoFlipModel model = playedMatch();
+        MoveLog log = model.getMoveLog();
+        Path file = dir.resolve("match.log");
+        int written;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            written = log.write(channel);
+        }
+        assertTrue(written < 64 + 4 * log.size());
+
+        MoveLog read;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            read = MoveLog.read(channel);
+        }
+        assertEquals(log.getSeed(), read.getSeed());
+        assertEquals(log.size(), read.size());
+        assertEquals(GameState.of(model), GameState.of(read.replay()));
+    }
+}
@@ -0,0 +1,240 @@
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Class PackedCards - a growable list of cards stored as one byte codes.
+ *
+ * This class is part of the UnoFlip game application.
+ *
+ * Player hands and the discard pile hold their cards as card codes
+ * (see Card.getCode()) in a contiguous byte array, instead of a list of
+ * Card references. Cards are turned back into their shared Card
+ * instances only when read through getCard() or the asList() view.
+ *
+ * The list can also be used as a stack, with the top at the end.
+ *
+ * The list also keeps a bitmask of which card codes it holds, updated
+ * as cards are added and removed, so it can be matched against the
+ * colour, rank and type masks in CardMasks.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public class PackedCards {
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private byte[] codes;
+    private int size;
+    private long presentLow;   // bit per card code held, see CardMasks
+    private long presentHigh;
+    private final List<Card> view;
+
+    /**
+     * Creates an empty list of cards.
+     */
+    public PackedCards() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty list of cards with room for the given number of cards.
+     *
+     * @param capacity The number of cards to make room for
+     */
+    public PackedCards(int capacity) {
+        codes = new byte[Math.max(1, capacity)];
+        size = 0;
+        view = new CardListView();
+    }
+
+    /**
+     * Gets the number of cards in the list.
+     *
+     * @return The number of cards
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the list holds no cards.
+     *
+     * @return true if the list is empty, otherwise false
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the code of the card at an index.
+     *
+     * @param i The index of the card (0 based)
+     * @return The card's code
+     */
+    public byte get(int i) {
+        checkIndex(i);
+        return codes[i];
+    }
+
+    /**
+     * Gets the card at an index.
+     *
+     * @param i The index of the card (0 based)
+     * @return The shared Card for that code
+     */
+    public Card getCard(int i) {
+        return Card.fromCode(get(i));
+    }
+
+    /**
+     * Adds a card code to the end of the list.
+     *
+     * @param code The card's code
+     */
+    public void add(byte code) {
+        if (size == codes.length) {
+            codes = Arrays.copyOf(codes, size * 2);
+        }
+        codes[size++] = code;
+        if (CardMasks.half(code) == 0) {
+            presentLow |= CardMasks.bit(code);
+        } else {
+            presentHigh |= CardMasks.bit(code);
+        }
+    }
+
+    /**
+     * Adds a card to the end of the list.
+     *
+     * @param card The card to add
+     */
+    public void add(Card card) {
+        add(card.getCode());
+    }
+
+    /**
+     * Removes the card at an index, shifting the later cards down by one.
+     *
+     * @param i The index of the card (0 based)
+     * @return The removed card's code
+     */
+    public byte remove(int i) {
+        checkIndex(i);
+        byte code = codes[i];
+        System.arraycopy(codes, i + 1, codes, i, size - i - 1);
+        size--;
+        if (indexOf(code) < 0) {
+            // no other copy of the card left
+            if (CardMasks.half(code) == 0) {
+                presentLow &= ~CardMasks.bit(code);
+            } else {
+                presentHigh &= ~CardMasks.bit(code);
+            }
+        }
+        return code;
+    }
+
+    /**
+     * Removes every card from the list, keeping the backing array.
+     */
+    public void clear() {
+        size = 0;
+        presentLow = 0;
+        presentHigh = 0;
+    }
+
+    /**
+     * Finds the first index of a card code in the list.
+     *
+     * @param code The card code to look for
+     * @return The index of the first card with that code, or -1 if there is none
+     */
+    public int indexOf(byte code) {
+        for (int i = 0; i < size; i++) {
+            if (codes[i] == code) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Gets half of the bitmask of card codes held in the list.
+     *
+     * @param half Which half of the mask to return, see CardMasks.half()
+     * @return That half of the mask
+     */
+    public long codeMask(int half) {
+        return half == 0 ? presentLow : presentHigh;
+    }
+
+    /**
+     * Checks whether the list holds any card from a card code mask.
+     *
+     * @param maskLow The first half of the mask
+     * @param maskHigh The second half of the mask
+     * @return true if any card in the list is in the mask
+     */
+    public boolean containsAny(long maskLow, long maskHigh) {
+        return ((presentLow & maskLow) | (presentHigh & maskHigh)) != 0;
+    }
+
+    /**
+     * Adds a card code to the top of the stack (the end of the list).
+     *
+     * @param code The card's code
+     */
+    public void push(byte code) {
+        add(code);
+    }
+
+    /**
+     * Removes the card code on the top of the stack (the end of the list).
+     *
+     * @return The removed card's code
+     */
+    public byte pop() {
+        return remove(size - 1);
+    }
+
+    /**
+     * Gets the card code on the top of the stack (the end of the list) without removing it.
+     *
+     * @return The top card's code
+     */
+    public byte peek() {
+        return get(size - 1);
+    }
+
+    /**
+     * Gets a read-only List view of the cards. The view reflects later changes to this list.
+     *
+     * @return An unmodifiable List of the shared Card instances
+     */
+    public List<Card> asList() {
+        return view;
+    }
+
+    /**
+     * Makes sure an index refers to a card in the list.
+     */
+    private void checkIndex(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Index " + i + " out of bounds for size " + size);
+        }
+    }
+
+    /**
+     * Read-only List view that decodes cards on access.
+     */
+    private class CardListView extends AbstractList<Card> {
+        @Override
+        public Card get(int i) {
+            return getCard(i);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
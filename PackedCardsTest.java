@@ -0,0 +1,69 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the functionality of the PackedCards class.
+ * This test suite makes sure cards stored as codes read back
+ * as the same cards, as a list and as a stack.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+class PackedCardsTest {
+
+    /**
+     * Every distinct card survives being stored as a code.
+     */
+    @Test
+    void codesRoundTrip() {
+        PackedCards cards = new PackedCards(1);
+        for (int code = 0; code < Card.CODE_COUNT; code++) {
+            cards.add((byte) code);
+        }
+        assertEquals(Card.CODE_COUNT, cards.size());
+        for (int code = 0; code < Card.CODE_COUNT; code++) {
+            Card c = cards.getCard(code);
+            assertEquals(code, c.getCode());
+            assertSame(c, Card.of(c.getColor().ordinal(), c.getType().ordinal(), c.getRank()));
+        }
+    }
+
+    /**
+     * Removing a card shifts the later cards down, and the List view follows the changes.
+     */
+    @Test
+    void removeAndListView() {
+        PackedCards cards = new PackedCards();
+        List<Card> view = cards.asList();
+        Card red5 = Card.of(0, Deck.NUMBER_TYPE, 5);
+        Card blueSkip = Card.of(1, Deck.SKIP_TYPE, Deck.NO_RANK);
+        Card wild = Card.of(Deck.ALL_TYPE, Deck.WILD_TYPE, Deck.NO_RANK);
+        cards.add(red5);
+        cards.add(blueSkip);
+        cards.add(wild);
+
+        assertEquals(blueSkip.getCode(), cards.remove(1));
+        assertEquals(List.of(red5, wild), view);
+        assertThrows(UnsupportedOperationException.class, () -> view.add(red5));
+        assertThrows(IndexOutOfBoundsException.class, () -> cards.get(2));
+
+        cards.clear();
+        assertTrue(view.isEmpty());
+    }
+
+    /**
+     * Used as a stack, the last card pushed is on top.
+     */
+    @Test
+    void stackIsLifo() {
+        PackedCards stack = new PackedCards();
+        stack.push((byte) 3);
+        stack.push((byte) 90);
+        assertEquals(90, stack.peek());
+        assertEquals(90, stack.pop());
+        assertEquals(3, stack.peek());
+    }
+}
@@ -0,0 +1,131 @@
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * ParallelMatchRunner - plays many independent matches across all cores.
+ *
+ * The matches are split over a ForkJoinPool. Each match gets its own
+ * SplittableRandom, seeded from the master seed and the match's number
+ * only, so a match plays out the same whichever thread runs it. Each
+ * task collects its own MatchStatistics, and the halves are merged when
+ * the tasks join, so the workers never share state or take a lock.
+ *
+ * The merged statistics for a given master seed are therefore identical
+ * for any number of threads.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public class ParallelMatchRunner {
+    // Matches played by a task without splitting it further
+    private static final int MATCHES_PER_TASK = 64;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final UnoFlipSimulator simulator;
+    private final int numPlayers;
+
+    /**
+     * Constructs a runner for matches between the given number of players.
+     *
+     * @param numPlayers The number of players at the table (2-4)
+     */
+    public ParallelMatchRunner(int numPlayers) {
+        this.simulator = new UnoFlipSimulator(numPlayers);
+        this.numPlayers = numPlayers;
+    }
+
+    /**
+     * Plays a batch of matches on the given number of threads.
+     *
+     * @param matches The number of matches to play
+     * @param threads The number of worker threads
+     * @param masterSeed The seed every match's shuffles are derived from
+     * @return The merged statistics of every match
+     */
+    public MatchStatistics run(long matches, int threads, long masterSeed) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return pool.invoke(new MatchTask(0, matches, masterSeed));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Gets the seed for one match. Depends only on the master seed and the match number.
+     *
+     * @param masterSeed The seed for the whole batch
+     * @param match The match number, starting at 0
+     * @return The match's seed
+     */
+    static long matchSeed(long masterSeed, long match) {
+        // SplitMix64 finalizer over the match's position in the sequence
+        long z = masterSeed + (match + 1) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Plays a range of matches, splitting it in half until it is small enough.
+     */
+    private class MatchTask extends RecursiveTask<MatchStatistics> {
+        private static final long serialVersionUID = 1L;
+
+        private final long from;
+        private final long to;
+        private final long masterSeed;
+
+        MatchTask(long from, long to, long masterSeed) {
+            this.from = from;
+            this.to = to;
+            this.masterSeed = masterSeed;
+        }
+
+        @Override
+        protected MatchStatistics compute() {
+            if (to - from <= MATCHES_PER_TASK) {
+                MatchStatistics stats = new MatchStatistics(numPlayers);
+                for (long m = from; m < to; m++) {
+                    stats.add(simulator.playMatch(new SplittableRandom(matchSeed(masterSeed, m))));
+                }
+                return stats;
+            }
+            long mid = (from + to) >>> 1;
+            MatchTask left = new MatchTask(from, mid, masterSeed);
+            MatchTask right = new MatchTask(mid, to, masterSeed);
+            left.fork();
+            MatchStatistics stats = right.compute();
+            stats.merge(left.join());
+            return stats;
+        }
+    }
+
+    /**
+     * Runs a batch of matches and reports throughput, optionally for 1 up to N threads.
+     *
+     * @param args Optional number of matches, players, threads and master seed,
+     *             then "scaling" to repeat the run for every thread count up to threads
+     */
+    public static void main(String[] args) {
+        long matches = args.length > 0 ? Long.parseLong(args[0]) : 10_000;
+        int numPlayers = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 3110L;
+        boolean scaling = args.length > 4 && args[4].equals("scaling");
+
+        ParallelMatchRunner runner = new ParallelMatchRunner(numPlayers);
+        MatchStatistics stats = null;
+        double singleThread = 0;
+        for (int t = scaling ? 1 : threads; t <= threads; t++) {
+            long start = System.nanoTime();
+            stats = runner.run(matches, t, seed);
+            double perSecond = matches / ((System.nanoTime() - start) / 1e9);
+            if (t == 1) singleThread = perSecond;
+            System.out.printf("Threads: %2d  Matches per second: %10.1f%s%n", t, perSecond,
+                    singleThread > 0 ? String.format("  Speedup: %.2fx", perSecond / singleThread) : "");
+        }
+        System.out.print(stats);
+    }
+}
@@ -0,0 +1,42 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the functionality of the ParallelMatchRunner class.
+ * This test suite makes sure the merged statistics depend only
+ * on the master seed, not on the number of threads.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+class ParallelMatchRunnerTest {
+
+    /**
+     * The same master seed gives identical statistics on 1 and 4 threads.
+     */
+    @Test
+    void resultsIndependentOfThreadCount() {
+        ParallelMatchRunner runner = new ParallelMatchRunner(3);
+        MatchStatistics single = runner.run(300, 1, 42L);
+        MatchStatistics parallel = runner.run(300, 4, 42L);
+
+        assertEquals(300, single.getMatches());
+        assertEquals(single.getRounds(), parallel.getRounds());
+        assertEquals(single.getTurns(), parallel.getTurns());
+        for (int seat = 0; seat < 3; seat++) {
+            assertEquals(single.getMatchWins(seat), parallel.getMatchWins(seat));
+            assertEquals(single.getPoints(seat), parallel.getPoints(seat));
+        }
+        assertEquals(single.toString(), parallel.toString());
+    }
+
+    /**
+     * Different master seeds play different matches.
+     */
+    @Test
+    void differentSeedsDiffer() {
+        ParallelMatchRunner runner = new ParallelMatchRunner(2);
+        assertNotEquals(runner.run(50, 2, 1L).getTurns(), runner.run(50, 2, 2L).getTurns());
+    }
+}
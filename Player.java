@@ -1,5 +1,3 @@
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 
@@ -19,11 +17,11 @@ public class Player {
 
     private String name;
     private int score;
-    private List<Card> hand;
+    private PackedCards hand;
 
     /**
      * Create a Player with a name. Initialize their score to 0
-     * and create an empty ArrayList for their hand.
+     * and create an empty hand.
      * @param name The player's name
      */
     public Player(String name){
@@ -33,7 +31,7 @@ public class Player {
         }
         this.name = name;
         score = 0;
-        hand = new ArrayList<Card>();
+        hand = new PackedCards();
     }
 
     /**
@@ -62,7 +60,16 @@ public class Player {
      * @return The list of cards the player has
      */
     public List<Card> getHand(){
-        return Collections.unmodifiableList(hand);
+        return hand.asList();
+    }
+
+    /**
+     * Get the player's hand as card codes, for the model's hot paths.
+     * Callers must not modify the returned hand.
+     * @return The player's live hand
+     */
+    PackedCards getPackedHand(){
+        return hand;
     }
 
     /**
@@ -83,11 +90,11 @@ public class Player {
 
     /**
      * Remove a card from the player's hand
-     * @param i The index of the card to be removed in the ArrayList
+     * @param i The index of the card to be removed (1 based)
      * @return The card that was removed
      */
     public Card removeCard(int i){
-        return hand.remove(i-1);
+        return Card.fromCode(hand.remove(i-1));
     }
 
     /**
@@ -99,7 +106,7 @@ public class Player {
         sb.append(name).append("'s cards: ").append("\n");
         if(hand.isEmpty()) return name + "'s hand is empty";
         for(int i=1; i<=hand.size(); i++){
-            sb.append(i).append(": ").append(hand.get(i-1).getDescription()).append("\n");
+            sb.append(i).append(": ").append(hand.getCard(i-1).getDescription()).append("\n");
         }
         return sb.toString();
     }
@@ -0,0 +1,72 @@
+/**
+ * PlayerMove - the moves a PlayerStrategy can choose, packed into an int.
+ *
+ * This class is part of the UnoFlip game application.
+ *
+ * A move is DRAW, PASS, or a play of one card from the hand with the
+ * colour named for a wild card. Plays are the card's index shifted left
+ * by three bits, with the colour's ordinal plus one, or 0 for no colour,
+ * in the low bits, so every play is zero or more and choosing a move
+ * never creates an object.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public final class PlayerMove {
+    /** Draw a card, only allowed before playing or drawing this turn. */
+    public static final int DRAW = -1;
+    /** End the turn without playing, only allowed after drawing. */
+    public static final int PASS = -2;
+
+    // The colours that can be named for a wild card, in ordinal order
+    static final Card.colortype[] COLOURS = {
+            Card.colortype.RED, Card.colortype.BLUE, Card.colortype.GREEN, Card.colortype.YELLOW};
+
+    private static final int COLOUR_BITS = 3;
+    private static final int COLOUR_MASK = (1 << COLOUR_BITS) - 1;
+
+    private PlayerMove() {
+    }
+
+    /**
+     * Packs a play of a card.
+     *
+     * @param cardIndex The index of the card in the hand
+     * @param chosenColour The colour for a wild card, otherwise null
+     * @return The move
+     */
+    public static int play(int cardIndex, Card.colortype chosenColour) {
+        return cardIndex << COLOUR_BITS | (chosenColour == null ? 0 : chosenColour.ordinal() + 1);
+    }
+
+    /**
+     * Checks whether a move plays a card.
+     *
+     * @param move The move
+     * @return true for a play, false for DRAW or PASS
+     */
+    public static boolean isPlay(int move) {
+        return move >= 0;
+    }
+
+    /**
+     * Gets the card a play plays.
+     *
+     * @param move A play
+     * @return The index of the card in the hand
+     */
+    public static int cardIndex(int move) {
+        return move >>> COLOUR_BITS;
+    }
+
+    /**
+     * Gets the colour a play names.
+     *
+     * @param move A play
+     * @return The colour for a wild card, otherwise null
+     */
+    public static Card.colortype colour(int move) {
+        int colour = move & COLOUR_MASK;
+        return colour == 0 ? null : COLOURS[colour - 1];
+    }
+}
@@ -0,0 +1,42 @@
+/**
+ * PlayerStrategy - decides the moves of a computer-controlled seat.
+ *
+ * This class is part of the UnoFlip game application.
+ *
+ * A turn asks the strategy for a move up to twice. First it may play a
+ * playable card or DRAW. If it drew, it is asked again with the drawn
+ * card's index in the view, and may play only that card or PASS. A move
+ * that is not allowed is taken as DRAW the first time and PASS the
+ * second. The seat then ends its turn, unless the round is over.
+ *
+ * Moves are ints built with PlayerMove, and a strategy should decide
+ * without allocating, so that bots are never what slows a simulation
+ * down. A strategy with state, such as a random generator, must only be
+ * used by one thread at a time, one without state can serve any number of
+ * seats and threads.
+ *
+ * The simple bots draw only when they have nothing to play (see
+ * nothingToPlay()), and then play the drawn card if they can.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public interface PlayerStrategy {
+    /**
+     * Chooses the next move of the player whose turn it is.
+     *
+     * @param view The player's view of the game, only valid during this call
+     * @return A play built with PlayerMove.play(), PlayerMove.DRAW or PlayerMove.PASS
+     */
+    int chooseMove(PlayerView view);
+
+    /**
+     * Gets the move of a player with nothing to play: DRAW, or PASS once they have drawn.
+     *
+     * @param view The player's view of the game
+     * @return PlayerMove.DRAW or PlayerMove.PASS
+     */
+    static int nothingToPlay(PlayerView view) {
+        return view.getDrawnCardIndex() < 0 ? PlayerMove.DRAW : PlayerMove.PASS;
+    }
+}
@@ -0,0 +1,112 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the functionality of the PlayerStrategy bots and PlayerMove.
+ * This test suite checks that every bot only chooses legal moves over
+ * whole matches, and that each bot prefers the cards it is meant to.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+class PlayerStrategyTest {
+    private static final List<String> NAMES = List.of("Ann", "Bo", "Cy");
+
+    /**
+     * Moves keep their card index and colour when packed.
+     */
+    @Test
+    void movesPackAndUnpack() {
+        int move = PlayerMove.play(12, Card.colortype.YELLOW);
+        assertTrue(PlayerMove.isPlay(move));
+        assertEquals(12, PlayerMove.cardIndex(move));
+        assertEquals(Card.colortype.YELLOW, PlayerMove.colour(move));
+        assertNull(PlayerMove.colour(PlayerMove.play(0, null)));
+        assertFalse(PlayerMove.isPlay(PlayerMove.DRAW));
+        assertFalse(PlayerMove.isPlay(PlayerMove.PASS));
+    }
+
+    /**
+     * Every bot only plays legal cards, draws only when it has nothing to play, and only passes after drawing.
+     */
+    @Test
+    void botsChooseLegalMoves() {
+        List<PlayerStrategy> bots = List.of(new FirstPlayableStrategy(), new RandomStrategy(new SplittableRandom(3)),
+                new GreedyStrategy(), new ColourHoardingStrategy());
+        for (PlayerStrategy bot : bots) {
+            UnoFlipModel model = new UnoFlipModel(11L);
+            model.initializeGame(NAMES);
+            ModelPlayerView view = model.getPlayerView();
+            for (int turn = 0; turn < 300 && !model.isGameOver(); turn++) {
+                if (model.isRoundOver()) {
+                    model.startNewRound();
+                }
+                view.setDrawnCardIndex(-1);
+                int move = bot.chooseMove(view);
+                if (move == PlayerMove.DRAW) {
+                    assertFalse(model.hasLegalPlay(), bot.getClass().getName());
+                    if (model.playerDrawsCard() == null) break;
+                    view.setDrawnCardIndex(view.getHandSize() - 1);
+                    move = bot.chooseMove(view);
+                    if (move == PlayerMove.PASS) {
+                        assertFalse(model.isPlayable(view.getDrawnCardIndex()));
+                    } else {
+                        assertEquals(view.getDrawnCardIndex(), PlayerMove.cardIndex(move));
+                    }
+                }
+                if (PlayerMove.isPlay(move)) {
+                    assertTrue(model.playCard(PlayerMove.cardIndex(move), PlayerMove.colour(move)), bot.getClass().getName());
+                }
+                if (!model.isRoundOver()) {
+                    model.advanceToNextPlayer();
+                }
+            }
+        }
+    }
+
+    /**
+     * The greedy bot plays its most valuable playable card, and the hoarding bot saves its most held colour.
+     */
+    @Test
+    void botsPreferTheirCards() {
+        UnoFlipModel model = new UnoFlipModel(11L);
+        model.initializeGame(NAMES);
+        ModelPlayerView view = model.getPlayerView();
+        for (int turn = 0; turn < 300 && !model.isGameOver(); turn++) {
+            if (model.isRoundOver()) {
+                model.startNewRound();
+            }
+            int greedy = new GreedyStrategy().chooseMove(view);
+            int hoarding = new ColourHoardingStrategy().chooseMove(view);
+            Card.colortype hoarded = view.getMostHeldColour();
+            for (int i = 0; i < view.getHandSize(); i++) {
+                if (!view.isPlayable(i)) continue;
+                assertTrue(UnoFlipModel.calculatePoints(view.getCard(PlayerMove.cardIndex(greedy)))
+                        >= UnoFlipModel.calculatePoints(view.getCard(i)));
+                Card.colortype colour = view.getCard(i).getColor();
+                if (colour != hoarded && colour != Card.colortype.ALL) {
+                    Card.colortype chosen = view.getCard(PlayerMove.cardIndex(hoarding)).getColor();
+                    assertNotEquals(hoarded, chosen);
+                    assertNotEquals(Card.colortype.ALL, chosen);
+                }
+            }
+            new UnoFlipSimulator(NAMES.size()).playTurn(model);
+        }
+    }
+
+    /**
+     * A simulator seating different bots plays a match to the end.
+     */
+    @Test
+    void mixedBotsFinishAMatch() {
+        UnoFlipSimulator simulator = new UnoFlipSimulator(List.of(new RandomStrategy(new SplittableRandom(5)),
+                new GreedyStrategy(), new ColourHoardingStrategy()));
+        MatchResult result = simulator.playMatch(new SplittableRandom(5));
+        assertEquals(3, result.getPlayerCount());
+        assertTrue(result.getFinalScore(result.getWinnerSeat()) >= 500);
+    }
+}
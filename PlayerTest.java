@@ -43,7 +43,7 @@ class PlayerTest {
         Card c = new Card(0, Deck.NUMBER_TYPE, 7);
         p.addCard(c);
         assertEquals(1, p.getHand().size());
-        assertSame(c, p.getHand().get(0)); // identity check; Card has no equals()
+        assertEquals(c, p.getHand().get(0)); // hands store card codes, so compare by value
     }
 
     /**
@@ -57,7 +57,7 @@ class PlayerTest {
         assertEquals(1, p.getHand().size());
 
         Card removed = p.removeCard(1); // 1-based index per your API
-        assertSame(c, removed);
+        assertEquals(c, removed);
         assertEquals(0, p.getHand().size());
     }
 
@@ -0,0 +1,126 @@
+/**
+ * PlayerView - what a PlayerStrategy may see of the game on its turn.
+ *
+ * This class is part of the UnoFlip game application.
+ *
+ * The view is read-only and describes the current player's turn: their
+ * own hand as card codes (see Card.getCode()), the top card and forced
+ * colour, the direction of play and how many cards everyone holds.
+ * Nothing is copied to build it, so asking it questions allocates
+ * nothing and a strategy can decide in well under a microsecond.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public interface PlayerView {
+    /**
+     * Gets the seat of the player deciding.
+     *
+     * @return The current player's index in turn order
+     */
+    int getSeat();
+
+    /**
+     * Gets the number of players.
+     *
+     * @return The number of seats
+     */
+    int getPlayerCount();
+
+    /**
+     * Gets the number of cards in the deciding player's hand.
+     *
+     * @return The hand size
+     */
+    int getHandSize();
+
+    /**
+     * Gets the code of a card in the deciding player's hand.
+     *
+     * @param index The card's index in the hand
+     * @return The card code
+     */
+    int getCardCode(int index);
+
+    /**
+     * Gets the number of cards a player holds.
+     *
+     * @param seat The player's seat
+     * @return The hand size
+     */
+    int getHandSize(int seat);
+
+    /**
+     * Gets the top card of the discard pile.
+     *
+     * @return The top Card
+     */
+    Card getTopCard();
+
+    /**
+     * Gets the colour chosen for the wild card on top of the discard pile.
+     *
+     * @return The forced colour if a wild effect is active, otherwise null
+     */
+    Card.colortype getForcedColour();
+
+    /**
+     * Gets the direction of play.
+     *
+     * @return +1 for clockwise, -1 for counter-clockwise
+     */
+    int getDirection();
+
+    /**
+     * Gets the card drawn this turn, which is then the only card that may be played.
+     *
+     * @return The drawn card's index in the hand, or -1 if the player has not drawn
+     */
+    int getDrawnCardIndex();
+
+    /**
+     * Gets a card in the deciding player's hand.
+     *
+     * @param index The card's index in the hand
+     * @return The shared Card for its code
+     */
+    default Card getCard(int index) {
+        return Card.fromCode(getCardCode(index));
+    }
+
+    /**
+     * Checks whether a card in the hand may be played now, following the draw rule.
+     * Wild cards always count as playable, the colour is chosen when they are played.
+     *
+     * @param index The card's index in the hand
+     * @return true if the card is a legal play, otherwise false
+     */
+    default boolean isPlayable(int index) {
+        int drawn = getDrawnCardIndex();
+        if (drawn >= 0 && index != drawn) return false;
+        int code = getCardCode(index);
+        return (CardMasks.playable(getTopCard(), getForcedColour(), CardMasks.half(code)) & CardMasks.bit(code)) != 0;
+    }
+
+    /**
+     * Picks the colour held most often in the hand, for naming with a wild card.
+     *
+     * @return The most held colour, the earliest on a tie and RED if the hand has only wild cards
+     */
+    default Card.colortype getMostHeldColour() {
+        int best = 0;
+        int bestCount = 0;
+        // One pass per colour, so no array of counts is needed
+        for (int colour = 0; colour < PlayerMove.COLOURS.length; colour++) {
+            int count = 0;
+            for (int i = 0; i < getHandSize(); i++) {
+                if (getCard(i).getColor() == PlayerMove.COLOURS[colour]) count++;
+            }
+            if (count > bestCount) {
+                best = colour;
+                bestCount = count;
+            }
+        }
+        return PlayerMove.COLOURS[best];
+    }
+}
@@ -0,0 +1,49 @@
+import java.util.random.RandomGenerator;
+
+/**
+ * RandomStrategy - plays a random playable card.
+ *
+ * This class is part of the UnoFlip game application.
+ *
+ * Every playable card is equally likely, and a wild card names a random
+ * colour. The bot is a baseline that any better strategy should beat.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public class RandomStrategy implements PlayerStrategy {
+    private final RandomGenerator random;
+
+    /**
+     * Constructs a bot choosing with the given generator.
+     *
+     * @param random The generator, seeded for repeatable games
+     */
+    public RandomStrategy(RandomGenerator random) {
+        this.random = random;
+    }
+
+    @Override
+    public int chooseMove(PlayerView view) {
+        int playable = 0;
+        for (int i = 0; i < view.getHandSize(); i++) {
+            if (view.isPlayable(i)) playable++;
+        }
+        if (playable == 0) {
+            return PlayerStrategy.nothingToPlay(view);
+        }
+
+        // Count the playable cards again up to the chosen one, so no list of them is needed
+        int chosen = random.nextInt(playable);
+        int index = 0;
+        for (int i = 0; i < view.getHandSize(); i++) {
+            if (view.isPlayable(i) && chosen-- == 0) {
+                index = i;
+                break;
+            }
+        }
+        Card.colortype colour = view.getCard(index).getColor() == Card.colortype.ALL
+                ? PlayerMove.COLOURS[random.nextInt(PlayerMove.COLOURS.length)] : null;
+        return PlayerMove.play(index, colour);
+    }
+}
@@ -0,0 +1,60 @@
+import java.util.random.RandomGenerator;
+
+/**
+ * SplitMix64Random - a seeded generator whose whole state is one long.
+ *
+ * It produces exactly the same numbers as new SplittableRandom(seed), but
+ * unlike SplittableRandom its state can be read and restored, so a saved
+ * game goes on shuffling the same way after it is loaded.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public class SplitMix64Random implements RandomGenerator {
+    // Increment used by SplittableRandom(long seed)
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long state;
+
+    /**
+     * Constructs a generator with the given seed or saved state.
+     *
+     * @param seed The seed, or a value returned by getState()
+     */
+    public SplitMix64Random(long seed) {
+        this.state = seed;
+    }
+
+    /**
+     * Gets the generator's state, which new SplitMix64Random(state) continues from.
+     *
+     * @return The state
+     */
+    public long getState() {
+        return state;
+    }
+
+    /**
+     * Moves the generator to a saved state.
+     *
+     * @param state A value returned by getState()
+     */
+    public void setState(long state) {
+        this.state = state;
+    }
+
+    @Override
+    public long nextLong() {
+        long z = (state += GOLDEN_GAMMA);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public int nextInt() {
+        long z = (state += GOLDEN_GAMMA);
+        z = (z ^ (z >>> 33)) * 0x62A9D9ED799705F5L;
+        return (int) (((z ^ (z >>> 28)) * 0xCB24D0A5C88C35B3L) >>> 32);
+    }
+}
@@ -0,0 +1,402 @@
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * UnoFlipClient - a headless remote player for an UnoFlipServer.
+ *
+ * The client sends one command at a time over a blocking socket and
+ * waits for its answer (see UnoFlipProtocol). Every UPDATE that arrives
+ * on the way is kept, so after a command the getters describe the game
+ * as the server left it. awaitTurn() waits for other players' moves.
+ *
+ * A client is used by one thread at a time.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public class UnoFlipClient implements AutoCloseable {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final SocketChannel channel;
+    private final ByteBuffer in;
+    private final ByteBuffer out;
+
+    // The game as of the last UPDATE
+    private int gameId = UnoFlipProtocol.NO_GAME;
+    private int seat;
+    private int flags;
+    private int currentSeat;
+    private Card topCard;
+    private Card.colortype forcedColour;
+    private int[] scores = new int[0];
+    private int[] handSizes = new int[0];
+    private final PackedCards hand;
+    private String lastMessage;
+    private String lastError;
+
+    // Answer to the last command
+    private boolean resultOk;
+    private int resultValue;
+
+    /**
+     * Connects to a server.
+     *
+     * @param address The server's address
+     * @throws IOException if the server cannot be reached
+     */
+    public UnoFlipClient(InetSocketAddress address) throws IOException {
+        this.channel = SocketChannel.open(address);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        this.in = ByteBuffer.allocate(BUFFER_SIZE);
+        this.in.flip();
+        this.out = ByteBuffer.allocate(BUFFER_SIZE);
+        this.hand = new PackedCards();
+    }
+
+    /**
+     * Creates a game and takes every seat in it until other players join.
+     *
+     * @param name The creator's name
+     * @param seats The number of players (2-4)
+     * @param seed The seed for shuffling
+     * @return The game's id, or NO_GAME if it was refused
+     * @throws IOException if the connection fails
+     */
+    public int create(String name, int seats, long seed) throws IOException {
+        int start = UnoFlipProtocol.beginFrame(out, UnoFlipProtocol.CREATE);
+        out.put((byte) seats).putLong(seed);
+        UnoFlipProtocol.putString(out, name);
+        UnoFlipProtocol.endFrame(out, start);
+        return send(UnoFlipProtocol.GAME) ? gameId : UnoFlipProtocol.NO_GAME;
+    }
+
+    /**
+     * Joins a game that has not started, taking its next free seat.
+     *
+     * @param game The game's id
+     * @param name The player's name
+     * @return The seat taken, or -1 if the game could not be joined
+     * @throws IOException if the connection fails
+     */
+    public int join(int game, String name) throws IOException {
+        int start = UnoFlipProtocol.beginFrame(out, UnoFlipProtocol.JOIN);
+        out.putInt(game);
+        UnoFlipProtocol.putString(out, name);
+        UnoFlipProtocol.endFrame(out, start);
+        return send(UnoFlipProtocol.GAME) ? seat : -1;
+    }
+
+    /**
+     * Deals the cards of the game this client created.
+     *
+     * @return true if the game started
+     * @throws IOException if the connection fails
+     */
+    public boolean start() throws IOException {
+        return command(UnoFlipProtocol.START);
+    }
+
+    /**
+     * Plays a card from the current hand.
+     *
+     * @param cardIndex The index of the card in getHand()
+     * @param chosenColour The colour for a wild card, otherwise null
+     * @return true if the card was played
+     * @throws IOException if the connection fails
+     */
+    public boolean playCard(int cardIndex, Card.colortype chosenColour) throws IOException {
+        int start = UnoFlipProtocol.beginFrame(out, UnoFlipProtocol.PLAY);
+        out.put((byte) cardIndex).put((byte) UnoFlipProtocol.colourCode(chosenColour));
+        UnoFlipProtocol.endFrame(out, start);
+        return send(UnoFlipProtocol.RESULT);
+    }
+
+    /**
+     * Draws a card.
+     *
+     * @return The card drawn, or null if drawing was refused or no cards were left to draw,
+     *         in which case the turn can only be ended
+     * @throws IOException if the connection fails
+     */
+    public Card drawCard() throws IOException {
+        return command(UnoFlipProtocol.DRAW) ? Card.fromCode(resultValue) : null;
+    }
+
+    /**
+     * Ends the turn.
+     *
+     * @return true if play moved on to the next player
+     * @throws IOException if the connection fails
+     */
+    public boolean nextPlayer() throws IOException {
+        return command(UnoFlipProtocol.NEXT);
+    }
+
+    /**
+     * Deals the next round once a round is over.
+     *
+     * @return true if the round started
+     * @throws IOException if the connection fails
+     */
+    public boolean startNewRound() throws IOException {
+        return command(UnoFlipProtocol.NEW_ROUND);
+    }
+
+    /**
+     * Waits for other players' moves until it is this client's turn, the round is over, or the game ends.
+     *
+     * @return true if it is this client's turn
+     * @throws IOException if the connection fails
+     */
+    public boolean awaitTurn() throws IOException {
+        while (gameId != UnoFlipProtocol.NO_GAME && !isRoundOver() && !isMyTurn()) {
+            readFrame();
+        }
+        return gameId != UnoFlipProtocol.NO_GAME && !isRoundOver() && isMyTurn();
+    }
+
+    /**
+     * Sends a command with no arguments and waits for its answer.
+     */
+    private boolean command(byte type) throws IOException {
+        UnoFlipProtocol.endFrame(out, UnoFlipProtocol.beginFrame(out, type));
+        return send(UnoFlipProtocol.RESULT);
+    }
+
+    /**
+     * Sends the command in the output buffer and reads until its answer arrives.
+     *
+     * @param answer GAME for CREATE and JOIN, otherwise RESULT
+     * @return true if the command succeeded
+     */
+    private boolean send(byte answer) throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+        while (true) {
+            byte type = readFrame();
+            // A refused CREATE or JOIN is answered with a RESULT
+            if (type == UnoFlipProtocol.RESULT) return resultOk;
+            if (type == answer) return gameId != UnoFlipProtocol.NO_GAME;
+        }
+    }
+
+    /**
+     * Reads and handles one frame, blocking until it has all arrived.
+     *
+     * @return The frame's type
+     */
+    private byte readFrame() throws IOException {
+        int size;
+        while ((size = UnoFlipProtocol.frameSize(in)) == 0 || in.remaining() < size) {
+            in.compact();
+            int n = channel.read(in);
+            in.flip();
+            if (n < 0) throw new EOFException("Server closed the connection.");
+        }
+        int end = in.position() + size;
+        in.position(in.position() + 2);
+        byte type = in.get();
+        switch (type) {
+            case UnoFlipProtocol.GAME:
+                gameId = in.getInt();
+                seat = in.get() & 0xFF;
+                break;
+            case UnoFlipProtocol.RESULT:
+                resultOk = in.get() != 0;
+                resultValue = in.get() & 0xFF;
+                break;
+            case UnoFlipProtocol.UPDATE:
+                readUpdate();
+                break;
+            case UnoFlipProtocol.MESSAGE:
+                lastMessage = UnoFlipProtocol.getString(in);
+                break;
+            case UnoFlipProtocol.ERROR:
+                lastError = UnoFlipProtocol.getString(in);
+                break;
+            default:
+                break;
+        }
+        in.position(end);
+        return type;
+    }
+
+    /**
+     * Keeps the game state from an UPDATE frame.
+     */
+    private void readUpdate() {
+        flags = in.get() & 0xFF;
+        currentSeat = in.get() & 0xFF;
+        int top = in.get() & 0xFF;
+        topCard = top == UnoFlipProtocol.NONE ? null : Card.fromCode(top);
+        forcedColour = UnoFlipProtocol.colour(in.get() & 0xFF);
+        int players = in.get() & 0xFF;
+        if (scores.length != players) {
+            scores = new int[players];
+            handSizes = new int[players];
+        }
+        for (int i = 0; i < players; i++) {
+            scores[i] = in.getShort() & 0xFFFF;
+            handSizes[i] = in.get() & 0xFF;
+        }
+        hand.clear();
+        int cards = in.get() & 0xFF;
+        for (int i = 0; i < cards; i++) {
+            hand.add(in.get());
+        }
+    }
+
+    /**
+     * Gets the game this client plays in.
+     *
+     * @return The game's id, or NO_GAME if not in a game
+     */
+    public int getGameId() {
+        return gameId;
+    }
+
+    /**
+     * Gets the seat this client took when it created or joined its game.
+     *
+     * @return The seat, 0 for the creator
+     */
+    public int getSeat() {
+        return seat;
+    }
+
+    /**
+     * Checks whether the client holds the current seat.
+     *
+     * @return true if it is this client's turn
+     */
+    public boolean isMyTurn() {
+        return (flags & UnoFlipProtocol.MY_TURN) != 0;
+    }
+
+    /**
+     * Checks whether the round is over.
+     *
+     * @return true if the round is over
+     */
+    public boolean isRoundOver() {
+        return (flags & UnoFlipProtocol.ROUND_OVER) != 0;
+    }
+
+    /**
+     * Checks whether the game has ended.
+     *
+     * @return true if the game is over
+     */
+    public boolean isGameOver() {
+        return (flags & UnoFlipProtocol.GAME_OVER) != 0;
+    }
+
+    /**
+     * Gets the seat whose turn it is.
+     *
+     * @return The current seat
+     */
+    public int getCurrentSeat() {
+        return currentSeat;
+    }
+
+    /**
+     * Gets the top card of the discard pile.
+     *
+     * @return The top card, or null before the game starts
+     */
+    public Card getTopCard() {
+        return topCard;
+    }
+
+    /**
+     * Gets the colour chosen for a wild top card.
+     *
+     * @return The forced colour, otherwise null
+     */
+    public Card.colortype getForcedColour() {
+        return forcedColour;
+    }
+
+    /**
+     * Gets a player's score.
+     *
+     * @param seat The player's seat
+     * @return The score
+     */
+    public int getScore(int seat) {
+        return scores[seat];
+    }
+
+    /**
+     * Gets the number of cards a player holds.
+     *
+     * @param seat The player's seat
+     * @return The hand size
+     */
+    public int getHandSize(int seat) {
+        return handSizes[seat];
+    }
+
+    /**
+     * Gets the hand of the current seat if this client holds it, otherwise of the client's own seat.
+     * The hand is reused by later updates.
+     *
+     * @return The hand's card codes
+     */
+    public PackedCards getHand() {
+        return hand;
+    }
+
+    /**
+     * Finds the first card in the hand that could be played on the top card.
+     * Wild cards always count as playable, the colour is chosen when they are played.
+     *
+     * @return The card's index in getHand(), or -1 if none can be played
+     */
+    public int findPlayableCard() {
+        if (topCard == null) return -1;
+        long low = CardMasks.playable(topCard, forcedColour, 0);
+        long high = CardMasks.playable(topCard, forcedColour, 1);
+        for (int i = 0; i < hand.size(); i++) {
+            int code = hand.get(i);
+            if (((CardMasks.half(code) == 0 ? low : high) & CardMasks.bit(code)) != 0) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the last message the server sent.
+     *
+     * @return The message, or null if none
+     */
+    public String getLastMessage() {
+        return lastMessage;
+    }
+
+    /**
+     * Gets the last error the server sent, such as why a move was refused.
+     *
+     * @return The error, or null if none
+     */
+    public String getLastError() {
+        return lastError;
+    }
+
+    /**
+     * Closes the connection, which ends the client's game.
+     *
+     * @throws IOException if the socket cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
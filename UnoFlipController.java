@@ -1,7 +1,4 @@
 import javax.swing.*;
-import java.awt.*;
-import java.awt.event.*;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -9,25 +6,40 @@ import java.util.List;
  * Handles user input from View and updates Model
  * Has references to both Model and View
  *
+ * Seats can be played by a PlayerStrategy instead of a person. The game
+ * setup asks who plays each seat, a seat given to the computer gets a
+ * GreedyStrategy, and setStrategy() can change any seat. A bot's turn is
+ * played after a short pause so the moves can be followed, with the hand,
+ * Draw and Next Player disabled so nobody can move for it. Its moves are
+ * checked without any dialogs, an illegal choice counts as nothing to
+ * play, and a bot that cannot draw simply ends its turn.
+ *
  * @author Eshal Kashif
  * @version 2.0
  */
 
 public class UnoFlipController {
     private UnoFlipModel model;
-    private UnoFlipFrame view;
+    private UnoFlipControllerView view;
     private boolean actionTakenThisTurn; // (played one card OR drawn one card) this turn
     private boolean drewCardThisTurn;   // track if player drew a card
     private int drawnCardIndexThisTurn = -1;
+
+    private static final int BOT_DELAY_MS = 700;
+    private final PlayerStrategy[] strategies = new PlayerStrategy[4]; // null for a person
+    private final Timer botTimer;
+
     /**
      * Constructor for UnoFlipController
      *
      * @param model The game model
      * @param view  The game view
      */
-    public UnoFlipController(UnoFlipModel model, UnoFlipFrame view) {
+    public UnoFlipController(UnoFlipModel model, UnoFlipControllerView view) {
         this.model = model;
         this.view = view;
+        this.botTimer = new Timer(BOT_DELAY_MS, e -> playBotTurn());
+        botTimer.setRepeats(false);
 
         // Set up event listeners
         initController();
@@ -44,6 +56,12 @@ public class UnoFlipController {
         // Next player button listener
         view.getNextPlayerButton().addActionListener(e -> handleNextPlayer());
 
+        // One handler for every card button, the view tells it which card was clicked
+        view.setCardClickHandler(this::handleCardClick);
+
+        // The view redraws the hand when the model says it or the top card changed, then the playable cards are enabled
+        view.setAfterHandRendered(this::updateCardButtons);
+
         actionTakenThisTurn = false;
         drewCardThisTurn = false;
     }
@@ -53,49 +71,31 @@ public class UnoFlipController {
      * @param enabled True if the buttons should be enabled, false if they should be disabled
      */
     private void setHandButtonsEnabled(boolean enabled) {
-        JPanel handPanel = view.getPlayerHandPanel();
-        Component[] components = handPanel.getComponents();
-
-        for (Component comp : components) {
-            if (comp instanceof JButton) {
-                comp.setEnabled(enabled);
-            }
+        for (int i = 0; i < view.getCardButtonCount(); i++) {
+            view.getCardButton(i).setEnabled(enabled);
         }
     }
 
     /**
-     * Sets up listeners for card buttons in the player's hand
-     * Called after hand is updated
+     * Enables the card buttons that may be clicked now
+     * Called after the hand, the top card or the turn state changes
      */
-    public void setupCardListeners() {
-        JPanel handPanel = view.getPlayerHandPanel();
-        Component[] components = handPanel.getComponents();
-
-        for (Component comp : components) {
-            if (comp instanceof JButton) {
-                JButton cardButton = (JButton) comp;
-                // Remove old listeners
-                for (ActionListener al : cardButton.getActionListeners()) {
-                    cardButton.removeActionListener(al);
-                }
-
-                // Add new listener
-                String buttonName = cardButton.getName();
-                if (buttonName != null && buttonName.startsWith("card_")) {
-                    int cardIndex = Integer.parseInt(buttonName.substring(5));
-                    cardButton.addActionListener(e -> handleCardClick(cardIndex));
-
-                    boolean enable;
-                    if (drewCardThisTurn && drawnCardIndexThisTurn >= 0) {
-                        // after drawing, only the drawn card may be played
-                        enable = (cardIndex == drawnCardIndexThisTurn);
-                    } else {
-                        // Normal rule - enabled if you haven't taken an action yet
-                        enable = !actionTakenThisTurn;
-                    }
-                    cardButton.setEnabled(enable);
-                }
+    private void updateCardButtons() {
+        boolean botTurn = isBotTurn();
+        for (int cardIndex = 0; cardIndex < view.getCardButtonCount(); cardIndex++) {
+            boolean enable;
+            if (botTurn) {
+                // the bot plays its own cards
+                enable = false;
+            } else if (drewCardThisTurn) {
+                // after drawing, only the drawn card may be played, none if there was nothing to draw
+                enable = (cardIndex == drawnCardIndexThisTurn);
+            } else {
+                // Normal rule - enabled if you haven't taken an action yet
+                enable = !actionTakenThisTurn;
             }
+            // only cards that match the top card can be clicked
+            view.getCardButton(cardIndex).setEnabled(enable && model.isPlayable(cardIndex));
         }
     }
 
@@ -108,6 +108,10 @@ public class UnoFlipController {
             view.displayError("Game is over!");
             return;
         }
+        if (isBotTurn()) {
+            view.displayError("It is the computer's turn.");
+            return;
+        }
         // don't allow playing a second card in the same turn
         if (actionTakenThisTurn) {
             view.displayError("You already played or drew this turn.");
@@ -141,7 +145,11 @@ public class UnoFlipController {
         }
 
         // Attempt to play the card through the model
-        boolean success = model.playCard(cardIndex, chosenColour);
+        // Other threads may change the model too, they all hold its lock while they do
+        boolean success;
+        synchronized (model) {
+            success = model.playCard(cardIndex, chosenColour);
+        }
 
         if (success) {
             if (model.isRoundOver()) {
@@ -149,31 +157,7 @@ public class UnoFlipController {
                 handleEndOfRoundOrGame();  // handle both round and match end
                 return;
             } else {
-                String msg;
-
-                // SPECIAL MESSAGES FOR DRAW_ONE AND WILDTWO
-                if (cardToPlay.getType() == Card.cardtype.DRAW_ONE) {
-                    Player victim = model.getNextPlayer();
-                    if (victim != null) {
-                        msg = currentPlayer.getName() + " played DRAW ONE, "
-                                + victim.getName() + " picked up one card.";
-                    } else {
-                        msg = currentPlayer.getName() + " played DRAW ONE.";
-                    }
-                } else if (cardToPlay.getType() == Card.cardtype.WILDTWO) {
-                    Player victim = model.getNextPlayer();
-                    if (victim != null) {
-                        msg = currentPlayer.getName() + " played WILD +2, "
-                                + victim.getName() + " picked up two cards.";
-                    } else {
-                        msg = currentPlayer.getName() + " played WILD +2.";
-                    }
-                } else {
-                    // default message for all other cards (unchanged)
-                    msg = currentPlayer.getName() + " played " + cardToPlay.getDescription();
-                }
-
-                view.displayMessage(msg);
+                announcePlay(currentPlayer, cardToPlay);
             }
 
             // ONLY on success should this turn be considered "used"
@@ -204,8 +188,41 @@ public class UnoFlipController {
                 view.getNextPlayerButton().setEnabled(false);
             }
         }
-        // Update card listeners for new hand
-        setupCardListeners();
+        // Enable the cards that can be played now
+        updateCardButtons();
+    }
+
+    /**
+     * Tells the players which card was played, and who picked up cards because of it
+     * @param currentPlayer the player who played the card
+     * @param cardToPlay the card played
+     */
+    private void announcePlay(Player currentPlayer, Card cardToPlay) {
+        String msg;
+
+        // SPECIAL MESSAGES FOR DRAW_ONE AND WILDTWO
+        if (cardToPlay.getType() == Card.cardtype.DRAW_ONE) {
+            Player victim = model.getNextPlayer();
+            if (victim != null) {
+                msg = currentPlayer.getName() + " played DRAW ONE, "
+                        + victim.getName() + " picked up one card.";
+            } else {
+                msg = currentPlayer.getName() + " played DRAW ONE.";
+            }
+        } else if (cardToPlay.getType() == Card.cardtype.WILDTWO) {
+            Player victim = model.getNextPlayer();
+            if (victim != null) {
+                msg = currentPlayer.getName() + " played WILD +2, "
+                        + victim.getName() + " picked up two cards.";
+            } else {
+                msg = currentPlayer.getName() + " played WILD +2.";
+            }
+        } else {
+            // default message for all other cards (unchanged)
+            msg = currentPlayer.getName() + " played " + cardToPlay.getDescription();
+        }
+
+        view.displayMessage(msg);
     }
 
     /**
@@ -216,6 +233,10 @@ public class UnoFlipController {
             view.displayError("Game is over!");
             return;
         }
+        if (isBotTurn()) {
+            view.displayError("It is the computer's turn.");
+            return;
+        }
 
         // don't allow drawing more than once per turn,
         // or drawing after already playing.
@@ -228,9 +249,18 @@ public class UnoFlipController {
         String playerName = currentPlayer.getName();
 
         //Draw one card and add it to the hand
-        Card drawn = model.playerDrawsCard();
+        Card drawn;
+        synchronized (model) {
+            drawn = model.playerDrawsCard();
+        }
         if (drawn == null) {
-            view.displayError("Cannot draw right now.");
+            // Every card is in the players' hands, trying to draw is the turn's action
+            view.displayMessage(playerName + " could not draw, no cards are left.");
+            drewCardThisTurn = true;
+            drawnCardIndexThisTurn = -1;
+            setHandButtonsEnabled(false);
+            view.getDrawCardButton().setEnabled(false);
+            view.getNextPlayerButton().setEnabled(true);
             return;
         }
         view.displayMessage(playerName + " drew a card.");
@@ -251,8 +281,8 @@ public class UnoFlipController {
         view.getDrawCardButton().setEnabled(false);
         view.getNextPlayerButton().setEnabled(true);
 
-        // Update card listeners for new hand
-        setupCardListeners();
+        // Enable the cards that can be played now
+        updateCardButtons();
     }
 
     /**
@@ -260,19 +290,9 @@ public class UnoFlipController {
      * Called after drawing or when re-enforcing the draw-only rule.
      */
     private void enableOnlyDrawnCardButton() {
-        JPanel handPanel = view.getPlayerHandPanel();
-        for (Component comp : handPanel.getComponents()) {
-            if (comp instanceof JButton) {
-                JButton b = (JButton) comp;
-                String name = b.getName();
-                if (name != null && name.startsWith("card_")) {
-                    try {
-                        int index = Integer.parseInt(name.substring(5));
-                        // Only the drawn card remains enabled
-                        b.setEnabled(index == drawnCardIndexThisTurn);
-                    } catch (NumberFormatException ignore) {}
-                }
-            }
+        for (int index = 0; index < view.getCardButtonCount(); index++) {
+            // Only the drawn card remains enabled, if it can be played
+            view.getCardButton(index).setEnabled(index == drawnCardIndexThisTurn && model.isPlayable(index));
         }
     }
 
@@ -291,7 +311,9 @@ public class UnoFlipController {
             return;
         }
 
-        model.advanceToNextPlayer();
+        synchronized (model) {
+            model.advanceToNextPlayer();
+        }
 
         // new player's turn starts, so they haven't taken an action yet
         actionTakenThisTurn = false;
@@ -304,21 +326,140 @@ public class UnoFlipController {
         view.getDrawCardButton().setEnabled(true);
         view.getNextPlayerButton().setEnabled(false);
         setHandButtonsEnabled(true);
-        setupCardListeners();
+        updateCardButtons();
 
         Player current = model.getCurrentPlayer();
         if (current != null) {
             view.displayMessage(current.getName() + "'s turn.");
         }
+        scheduleBotTurn();
+    }
+
+    /**
+     * Sets who plays a seat
+     * @param seat the player's index in turn order
+     * @param strategy the bot playing the seat, or null for a person
+     */
+    public void setStrategy(int seat, PlayerStrategy strategy) {
+        strategies[seat] = strategy;
+        if (strategy == null && botTimer.isRunning() && seat == model.getCurrentTurn()) {
+            // A person takes over the turn before the bot played it
+            botTimer.stop();
+            view.getDrawCardButton().setEnabled(true);
+            updateCardButtons();
+        }
+        scheduleBotTurn();
+    }
+
+    /**
+     * Checks whether a bot holds the current seat
+     * @return true if the current player is played by a PlayerStrategy
+     */
+    private boolean isBotTurn() {
+        return !model.getPlayers().isEmpty() && strategies[model.getCurrentTurn()] != null;
     }
 
     /**
-     * Starts a new game with specified player names
+     * Starts the pause before a bot's turn, if a bot holds the current seat.
+     * The hand, Draw and Next Player stay disabled until the bot has played
+     */
+    private void scheduleBotTurn() {
+        if (model.isRoundOver() || !isBotTurn()) {
+            return;
+        }
+        setHandButtonsEnabled(false);
+        view.getDrawCardButton().setEnabled(false);
+        view.getNextPlayerButton().setEnabled(false);
+        botTimer.restart();
+    }
+
+    /**
+     * Plays the current seat's bot turn: play a card, or draw and maybe play the drawn card,
+     * then Next Player. Bot moves are checked here without dialogs, an illegal choice counts
+     * as nothing to play, and a bot that cannot draw ends its turn
+     */
+    private void playBotTurn() {
+        // Nothing to do if the round ended, or the turn was already played
+        if (model.isGameOver() || model.isRoundOver() || actionTakenThisTurn || drewCardThisTurn) {
+            return;
+        }
+        PlayerStrategy strategy = strategies[model.getCurrentTurn()];
+        if (strategy == null) {
+            return;
+        }
+        Player bot = model.getCurrentPlayer();
+        ModelPlayerView botView = model.getPlayerView();
+        botView.setDrawnCardIndex(-1);
+        int move = strategy.chooseMove(botView);
+        if (!playBotCard(bot, move, -1)) {
+            // Nothing played, draw and let the bot decide on the drawn card
+            Card drawn;
+            synchronized (model) {
+                drawn = model.playerDrawsCard();
+            }
+            if (drawn != null) {
+                view.displayMessage(bot.getName() + " drew a card.");
+                int drawnIndex = botView.getHandSize() - 1;
+                botView.setDrawnCardIndex(drawnIndex);
+                move = strategy.chooseMove(botView);
+                botView.setDrawnCardIndex(-1);
+                playBotCard(bot, move, drawnIndex);
+            }
+        }
+
+        if (model.isRoundOver()) {
+            handleEndOfRoundOrGame();
+            return;
+        }
+        // Whether the bot played, drew or could do neither, its turn is over
+        actionTakenThisTurn = true;
+        handleNextPlayer();
+    }
+
+    /**
+     * Plays a bot's chosen card if it is a legal play
+     * @param bot the player the bot plays for
+     * @param move the bot's PlayerMove
+     * @param drawnIndex the card drawn this turn, the only one that may be played, or -1
+     * @return true if the card was played
+     */
+    private boolean playBotCard(Player bot, int move, int drawnIndex) {
+        if (!PlayerMove.isPlay(move)) {
+            return false;
+        }
+        int cardIndex = PlayerMove.cardIndex(move);
+        if (cardIndex >= bot.getHand().size() || (drawnIndex >= 0 && cardIndex != drawnIndex)) {
+            return false;
+        }
+        Card cardToPlay = bot.getHand().get(cardIndex);
+        boolean success;
+        synchronized (model) {
+            success = model.playCard(cardIndex, PlayerMove.colour(move));
+        }
+        if (success && !model.isRoundOver()) {
+            announcePlay(bot, cardToPlay);
+        }
+        return success;
+    }
+
+    /**
+     * Starts a new game with specified player names, every seat played by a person
      *
      * @param playerNames List of player names
      * @return true if game started successfully
      */
     public boolean startNewGame(List<String> playerNames) {
+        return startNewGame(playerNames, new boolean[0]);
+    }
+
+    /**
+     * Starts a new game with specified player names, some seats played by the computer
+     *
+     * @param playerNames List of player names
+     * @param botSeats true for each seat the computer plays, seats past its end are people
+     * @return true if game started successfully
+     */
+    public boolean startNewGame(List<String> playerNames, boolean[] botSeats) {
         if (playerNames == null || playerNames.size() < 2 || playerNames.size() > 4) {
             return false;
         }
@@ -330,15 +471,26 @@ public class UnoFlipController {
             }
         }
 
-        model.initializeGame(playerNames);
+        synchronized (model) {
+            model.initializeGame(playerNames);
+        }
+
+        // The seats chosen in the setup are played by the computer
+        for (int seat = 0; seat < strategies.length; seat++) {
+            strategies[seat] = seat < playerNames.size() && seat < botSeats.length && botSeats[seat]
+                    ? new GreedyStrategy() : null;
+        }
 
         // first player's turn, no action taken yet
         actionTakenThisTurn = false;
+        drewCardThisTurn = false;
+        drawnCardIndexThisTurn = -1;
         view.getDrawCardButton().setEnabled(true);
         view.getNextPlayerButton().setEnabled(false);
 
-        // Set up card listeners after initial deal
-        setupCardListeners();
+        // Enable the cards that can be played after the initial deal
+        updateCardButtons();
+        scheduleBotTurn();
 
         return true;
     }
@@ -372,7 +524,7 @@ public class UnoFlipController {
                 return; // user cancelled
             }
 
-            boolean success = startNewGame(playerNames);
+            boolean success = startNewGame(playerNames, view.getBotSeats());
             if (success) {
                 view.displayMessage("New game started! " +
                         model.getCurrentPlayer().getName() + "'s turn.");
@@ -392,7 +544,9 @@ public class UnoFlipController {
         }
 
         // Start next round (keep scores)
-        model.startNewRound();
+        synchronized (model) {
+            model.startNewRound();
+        }
 
         // Reset controller turn state
         actionTakenThisTurn = false;
@@ -401,12 +555,13 @@ public class UnoFlipController {
         view.getNextPlayerButton().setEnabled(false);
         setHandButtonsEnabled(true);
 
-        setupCardListeners();
+        updateCardButtons();
 
         Player current = model.getCurrentPlayer();
         if (current != null) {
             view.displayMessage("New round! " + current.getName() + "'s turn.");
         }
+        scheduleBotTurn();
     }
 
 
@@ -433,7 +588,7 @@ public class UnoFlipController {
 
             if (playerNames != null) {
                 // Controller handles starting the game (logic responsibility)
-                boolean success = controller.startNewGame(playerNames);
+                boolean success = controller.startNewGame(playerNames, view.getBotSeats());
 
                 if (success) {
                     view.displayMessage("Game started! " + model.getCurrentPlayer().getName() + "'s turn.");
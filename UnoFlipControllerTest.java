@@ -0,0 +1,214 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the functionality of the UnoFlipController class.
+ * This test suite clicks the controller's buttons on a view without a
+ * window, and makes sure each seat gets exactly one move per turn.
+ * Everything runs on the event dispatch thread, where the bot timer fires.
+ *
+ * @author Eshal Kashif
+ * @version 1
+ */
+class UnoFlipControllerTest {
+
+    UnoFlipModel model;
+    TestView view;
+    UnoFlipController controller;
+
+    /**
+     * A view without a window: the hand is drawn as soon as the model changes, and
+     * messages are recorded instead of shown.
+     */
+    static class TestView implements UnoFlipControllerView {
+        final UnoFlipModel model;
+        final JButton drawCardButton = new JButton();
+        final JButton nextPlayerButton = new JButton();
+        final HandRenderer handRenderer = new HandRenderer(new JPanel(), new CardFaceCache(20, 28));
+        final List<String> errors = new ArrayList<>();
+        Runnable afterHandRendered;
+
+        TestView(UnoFlipModel model) {
+            this.model = model;
+            model.addView(this);
+        }
+
+        @Override
+        public void update(UnoFlipEvent event) {
+            handRenderer.render(model.getCurrentPlayer().getHand());
+            if (afterHandRendered != null) {
+                afterHandRendered.run();
+            }
+        }
+
+        @Override
+        public void displayMessage(String message) {
+        }
+
+        @Override
+        public void displayError(String message) {
+            errors.add(message);
+        }
+
+        @Override
+        public JButton getDrawCardButton() {
+            return drawCardButton;
+        }
+
+        @Override
+        public JButton getNextPlayerButton() {
+            return nextPlayerButton;
+        }
+
+        @Override
+        public void setCardClickHandler(IntConsumer handler) {
+            handRenderer.setCardClickHandler(handler);
+        }
+
+        @Override
+        public void setAfterHandRendered(Runnable afterHandRendered) {
+            this.afterHandRendered = afterHandRendered;
+        }
+
+        @Override
+        public int getCardButtonCount() {
+            return handRenderer.getButtonCount();
+        }
+
+        @Override
+        public JButton getCardButton(int index) {
+            return handRenderer.getButton(index);
+        }
+
+        @Override
+        public List<String> promptForGameSetup() {
+            return null;
+        }
+
+        @Override
+        public boolean[] getBotSeats() {
+            return new boolean[0];
+        }
+
+        @Override
+        public Card.colortype promptForColour() {
+            return Card.colortype.RED;
+        }
+
+        @Override
+        public boolean promptNextRound(Player roundWinner) {
+            return false;
+        }
+
+        @Override
+        public boolean promptNewMatch(Player matchWinner) {
+            return false;
+        }
+    }
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        onEdt(() -> {
+            model = new UnoFlipModel(11L);
+            view = new TestView(model);
+            controller = new UnoFlipController(model, view);
+            assertTrue(controller.startNewGame(List.of("Ann", "Bo")));
+            assertEquals(0, model.getCurrentTurn());
+        });
+    }
+
+    /**
+     * Runs part of a test on the event dispatch thread, like the clicks it stands for.
+     */
+    private static void onEdt(Runnable step) throws Exception {
+        SwingUtilities.invokeAndWait(step);
+    }
+
+    /**
+     * Waits until it is the given seat's turn.
+     */
+    private void awaitTurn(int seat) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        AtomicInteger turn = new AtomicInteger();
+        do {
+            Thread.sleep(20);
+            onEdt(() -> turn.set(model.getCurrentTurn()));
+        } while (turn.get() != seat && System.currentTimeMillis() < deadline);
+        assertEquals(seat, turn.get(), "The turn should have passed to seat " + seat + ".");
+    }
+
+    /**
+     * During the pause before a bot's turn nothing can be clicked, and a click that gets
+     * through anyway changes nothing, so the bot still makes exactly one move.
+     */
+    @Test
+    void clickingDrawDuringBotPauseDoesNothing() throws Exception {
+        AtomicInteger botMoves = new AtomicInteger();
+        int[] botHand = new int[1];
+        onEdt(() -> {
+            // Bo always draws, and keeps the drawn card
+            controller.setStrategy(1, v -> {
+                botMoves.incrementAndGet();
+                return PlayerStrategy.nothingToPlay(v);
+            });
+            view.getDrawCardButton().doClick();
+            view.getNextPlayerButton().doClick();
+            assertEquals(1, model.getCurrentTurn());
+
+            botHand[0] = model.getCurrentPlayer().getHand().size();
+            assertFalse(view.getDrawCardButton().isEnabled());
+            assertFalse(view.getNextPlayerButton().isEnabled());
+            for (int i = 0; i < view.getCardButtonCount(); i++) {
+                assertFalse(view.getCardButton(i).isEnabled());
+            }
+
+            view.getDrawCardButton().doClick();
+            // A button left enabled by mistake is still refused
+            view.getDrawCardButton().setEnabled(true);
+            view.getDrawCardButton().doClick();
+            view.getCardButton(0).setEnabled(true);
+            view.getCardButton(0).doClick();
+            assertEquals(botHand[0], model.getCurrentPlayer().getHand().size());
+            assertEquals(2, view.errors.size());
+        });
+
+        awaitTurn(0);
+        onEdt(() -> {
+            assertEquals(botHand[0] + 1, model.getPlayers().get(1).getHand().size());
+            assertEquals(2, botMoves.get());
+            assertTrue(view.getDrawCardButton().isEnabled());
+        });
+    }
+
+    /**
+     * With every card in the players' hands, pressing Draw still counts as the turn's
+     * action, so the player can end their turn.
+     */
+    @Test
+    void drawingFromExhaustedDeckEndsTurn() throws Exception {
+        onEdt(() -> {
+            while (model.playerDrawsCard() != null) {
+                // give Ann the whole draw pile
+            }
+            view.getDrawCardButton().doClick();
+            assertTrue(view.errors.isEmpty(), view.errors.toString());
+            assertFalse(view.getDrawCardButton().isEnabled());
+            assertTrue(view.getNextPlayerButton().isEnabled());
+            for (int i = 0; i < view.getCardButtonCount(); i++) {
+                assertFalse(view.getCardButton(i).isEnabled());
+            }
+
+            view.getNextPlayerButton().doClick();
+            assertTrue(view.errors.isEmpty(), view.errors.toString());
+            assertEquals(1, model.getCurrentTurn());
+        });
+    }
+}
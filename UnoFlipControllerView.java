@@ -0,0 +1,92 @@
+import javax.swing.*;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * UnoFlipControllerView Interface
+ * Defines what the UnoFlipController needs from its view: the buttons it
+ * enables and listens to, and the questions it asks the players.
+ * UnoFlipFrame is the real one, tests can give the controller a view
+ * without a window.
+ *
+ * @author Eshal Kashif
+ * @version 1
+ */
+public interface UnoFlipControllerView extends UnoFlipView {
+
+    /**
+     * Gets the draw card button (for controller to add listener)
+     *
+     * @return The draw card JButton
+     */
+    JButton getDrawCardButton();
+
+    /**
+     * Gets the next player button (for controller to add listener)
+     *
+     * @return The next player JButton
+     */
+    JButton getNextPlayerButton();
+
+    /**
+     * Sets what happens when a card in the hand is clicked (for controller to install once)
+     *
+     * @param handler Given the index in the hand of the card clicked
+     */
+    void setCardClickHandler(IntConsumer handler);
+
+    /**
+     * Sets what to run each time the hand has been redrawn (for controller to enable the playable cards)
+     *
+     * @param afterHandRendered Run on the event dispatch thread after the hand or top card is redrawn
+     */
+    void setAfterHandRendered(Runnable afterHandRendered);
+
+    /**
+     * Gets the number of card buttons in the hand panel
+     *
+     * @return The number of cards shown
+     */
+    int getCardButtonCount();
+
+    /**
+     * Gets the button of a card in the hand (for controller to enable or disable)
+     *
+     * @param index The card's index in the hand
+     * @return The card's JButton
+     */
+    JButton getCardButton(int index);
+
+    /**
+     * Prompts user for game setup and returns player names
+     * @return List of player names, or null if cancelled
+     */
+    List<String> promptForGameSetup();
+
+    /**
+     * Gets which seats the last game setup gave to the computer
+     *
+     * @return true for each seat played by the computer, in turn order
+     */
+    boolean[] getBotSeats();
+
+    /**
+     * Prompts user to select a colour for wild cards
+     * @return The colour chosen, or null if cancelled
+     */
+    Card.colortype promptForColour();
+
+    /**
+     * Show who won the round and ask if we should continue to the next round.
+     * @param roundWinner the player who won the round
+     * @return true if user wants to continue, false to stop
+     */
+    boolean promptNextRound(Player roundWinner);
+
+    /**
+     * Show final match winner and ask if we should start a new game.
+     * @param matchWinner the overall winner (500+ points)
+     * @return true if user wants to start a brand new game
+     */
+    boolean promptNewMatch(Player matchWinner);
+}
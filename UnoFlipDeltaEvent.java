@@ -0,0 +1,127 @@
+import java.util.EventObject;
+
+/**
+ * UnoFlipDeltaEvent - describes one small change to the UnoFlipModel.
+ *
+ * Unlike UnoFlipEvent, which carries a snapshot of the whole game after
+ * every change, a delta event says only what happened, so a view can
+ * update just the part of its display that changed. Views subscribe to
+ * the kinds they care about with UnoFlipModel.addDeltaListener(), and
+ * the model builds no event for a kind nobody subscribed to.
+ *
+ * The meaning of the seat, hand index and value depends on the kind,
+ * see the documentation of each Kind.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public class UnoFlipDeltaEvent extends EventObject {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The kinds of change a delta event can describe.
+     */
+    public enum Kind {
+        /** A new round was dealt. Seat is the first player, card is the top card. Everything may have changed. */
+        ROUND_STARTED,
+        /** A card was played. Seat is the player, card is the card, hand index is where it was removed from. */
+        CARD_PLAYED,
+        /** The current player drew a card. Seat is the player, card is the card, hand index is where it was added. */
+        CARD_DRAWN,
+        /** A player picked up penalty cards. Seat is the victim, hand index is the first new card, value is the count. */
+        PENALTY_DRAWN,
+        /** The turn passed on. Seat is the new current player, value is the number of seats moved. */
+        TURN_ADVANCED,
+        /** The direction of play changed. Value is the new direction, +1 or -1. */
+        DIRECTION_REVERSED,
+        /** A player emptied their hand. Seat is the round winner, value is the points they won. */
+        ROUND_ENDED,
+        /** A player's score changed. Seat is the player, value is the new score. */
+        SCORE_CHANGED
+    }
+
+    private final Kind kind;
+    private final int seat;
+    private final Card card;
+    private final int handIndex;
+    private final int value;
+
+    /**
+     * Constructs a UnoFlipDeltaEvent.
+     *
+     * @param source the UnoFlipModel that fired this event
+     * @param kind what kind of change happened
+     * @param seat the index in turn order of the player concerned, -1 if none
+     * @param card the card concerned, or null if none
+     * @param handIndex the position in the player's hand concerned, -1 if none
+     * @param value the count, direction, points or score, 0 if none
+     */
+    public UnoFlipDeltaEvent(UnoFlipModel source, Kind kind, int seat, Card card, int handIndex, int value) {
+        super(source);
+        this.kind = kind;
+        this.seat = seat;
+        this.card = card;
+        this.handIndex = handIndex;
+        this.value = value;
+    }
+
+    public UnoFlipModel getModel() {
+        return (UnoFlipModel) getSource();
+    }
+
+    /**
+     * Gets the kind of change.
+     *
+     * @return The kind of this event
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Gets the index in turn order of the player concerned.
+     *
+     * @return The player's seat, or -1 if the change concerns no player
+     */
+    public int getSeat() {
+        return seat;
+    }
+
+    /**
+     * Gets the card played, drawn or turned up.
+     *
+     * @return The card, or null if the change concerns no single card
+     */
+    public Card getCard() {
+        return card;
+    }
+
+    /**
+     * Gets the position in the player's hand that changed.
+     *
+     * @return The hand index, or -1 if no hand changed
+     */
+    public int getHandIndex() {
+        return handIndex;
+    }
+
+    /**
+     * Gets the count, direction, points or score carried by the event.
+     *
+     * @return The value, as described by the event's kind
+     */
+    public int getValue() {
+        return value;
+    }
+
+    /**
+     * Describes the event for logging.
+     *
+     * @return The kind followed by the event's details
+     */
+    @Override
+    public String toString() {
+        return kind + "[seat=" + seat + ", card=" + (card == null ? "none" : card.getDescription())
+                + ", handIndex=" + handIndex + ", value=" + value + "]";
+    }
+}
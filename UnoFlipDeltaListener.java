@@ -0,0 +1,20 @@
+import java.util.EventListener;
+
+/**
+ * UnoFlipDeltaListener Interface
+ * Defines the contract for views that follow the UnoFlipModel change by change
+ * instead of redrawing the whole game on every UnoFlipView.update().
+ *
+ * @author Eshal Kashif
+ * @version 1
+ */
+public interface UnoFlipDeltaListener extends EventListener {
+
+    /**
+     * Called when a change of a kind this listener subscribed to happens.
+     * Views should update only the part of their display the change affects.
+     *
+     * @param event the UnoFlipDeltaEvent describing the change
+     */
+    void deltaOccurred(UnoFlipDeltaEvent event);
+}
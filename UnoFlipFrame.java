@@ -2,16 +2,26 @@ import javax.swing.*;
 import java.awt.*;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
 
 /**
  * UnoFlipFrame - Main GUI window for the Uno Flip game
  * Implements the View component of MVC architecture
  *
+ * Model changes only mark parts of the window as out of date. The parts are
+ * redrawn at most once per frame however many changes came in, from any
+ * thread, so a move that plays a card, deals a penalty and passes the turn
+ * is drawn once, and never half applied.
+ * Redrawing reads the model while holding its lock, so threads other than
+ * the event dispatch thread must change the model inside synchronized (model).
+ *
  * @author Eshal Kashif
  * @version 2.1
  */
 
-public class UnoFlipFrame extends JFrame implements UnoFlipView {
+public class UnoFlipFrame extends JFrame implements UnoFlipControllerView, UnoFlipDeltaListener {
 
     private UnoFlipModel model;
 
@@ -21,13 +31,30 @@ public class UnoFlipFrame extends JFrame implements UnoFlipView {
     private JLabel currentPlayerLabel;
     private JLabel statusLabel;
     private JPanel playerHandPanel;
+    private HandRenderer handRenderer;
+    private CardFaceCache handFaces;   // faces of the card buttons, sized to the buttons
+    private CardFaceCache topCardFaces;   // faces of the top card, including chosen wild colours
     private JButton nextPlayerButton;
     private JButton drawCardButton;
     private JTextArea scoreboardArea;
 
     // Card dimensions
-    private static final int CARD_WIDTH = 100;
-    private static final int CARD_HEIGHT = 140;
+    static final int CARD_WIDTH = 100;
+    static final int CARD_HEIGHT = 140;
+    private static final int CARD_BORDER = 2;
+
+    // Parts of the window that can be out of date
+    private static final int TOP_CARD = 1;
+    private static final int CURRENT_PLAYER = 2;
+    private static final int HAND = 4;
+    private static final int SCOREBOARD = 8;
+    private static final int GAME_OVER = 16;
+    private static final int ALL_PARTS = TOP_CARD | CURRENT_PLAYER | HAND | SCOREBOARD | GAME_OVER;
+
+    private final AtomicInteger dirtyParts = new AtomicInteger();
+    private final EdtCoalescer repaintCoalescer = new EdtCoalescer(this::renderDirtyParts);
+    private Runnable afterHandRendered;
+    private boolean[] botSeats = new boolean[0];   // seats the last setup gave to the computer
 
     /**
      * Constructor - initializes the GUI components
@@ -41,9 +68,14 @@ public class UnoFlipFrame extends JFrame implements UnoFlipView {
         setLayout(new BorderLayout(10, 10));
 
         this.model = model;
-        model.addView(this);
+        // Follow the model change by change, DIRECTION_REVERSED changes nothing on screen
+        model.addDeltaListener(this, EnumSet.complementOf(EnumSet.of(UnoFlipDeltaEvent.Kind.DIRECTION_REVERSED)));
 
         initializeComponents();
+
+        // Faces are painted at the screen's scale, repaint them if the window moves to another screen
+        addPropertyChangeListener("graphicsConfiguration", e -> updateScale());
+        updateScale();
     }
 
     /**
@@ -56,7 +88,7 @@ public class UnoFlipFrame extends JFrame implements UnoFlipView {
         topCardPanel.setBorder(BorderFactory.createTitledBorder("Top Card"));
         topCardLabel = new JLabel("No card");
         topCardLabel.setPreferredSize(new Dimension(CARD_WIDTH, CARD_HEIGHT));
-        topCardLabel.setBorder(BorderFactory.createLineBorder(Color.BLACK, 2));
+        topCardLabel.setBorder(BorderFactory.createLineBorder(Color.BLACK, CARD_BORDER));
         topCardLabel.setHorizontalAlignment(SwingConstants.CENTER);
         topCardLabel.setOpaque(true);
         topCardLabel.setBackground(Color.WHITE);
@@ -75,6 +107,9 @@ public class UnoFlipFrame extends JFrame implements UnoFlipView {
         playerHandPanel = new JPanel();
         // 0 rows = as many rows as needed, 7 columns across, with gaps 5x5
         playerHandPanel.setLayout(new GridLayout(0, 7, 5, 5));
+        handFaces = new CardFaceCache(CARD_WIDTH - 2 * CARD_BORDER, CARD_HEIGHT - 2 * CARD_BORDER);
+        topCardFaces = new CardFaceCache(CARD_WIDTH - 2 * CARD_BORDER, CARD_HEIGHT - 2 * CARD_BORDER);
+        handRenderer = new HandRenderer(playerHandPanel, handFaces);
         JScrollPane handScrollPane = new JScrollPane(
                 playerHandPanel,
                 ScrollPaneConstants.VERTICAL_SCROLLBAR_AS_NEEDED,
@@ -117,6 +152,23 @@ public class UnoFlipFrame extends JFrame implements UnoFlipView {
         add(scoreScrollPane, BorderLayout.EAST);
     }
 
+    /**
+     * Paints the card faces at the scale of the screen the window is on
+     */
+    private void updateScale() {
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        if (gc == null) {
+            return;
+        }
+        double scale = gc.getDefaultTransform().getScaleX();
+        if (handFaces.setScale(scale)) {
+            handRenderer.refreshFaces();
+        }
+        if (topCardFaces.setScale(scale) && model.getTopCard() != null) {
+            updateTopCard(model.getTopCard(), model.getForcedColour());
+        }
+    }
+
     /**
      * Gets the draw card button (for controller to add listener)
      *
@@ -144,8 +196,37 @@ public class UnoFlipFrame extends JFrame implements UnoFlipView {
         return playerHandPanel;
     }
 
+    /**
+     * Sets what happens when a card in the hand is clicked (for controller to install once)
+     *
+     * @param handler Given the index in the hand of the card clicked
+     */
+    public void setCardClickHandler(IntConsumer handler) {
+        handRenderer.setCardClickHandler(handler);
+    }
+
+    /**
+     * Gets the number of card buttons in the hand panel
+     *
+     * @return The number of cards shown
+     */
+    public int getCardButtonCount() {
+        return handRenderer.getButtonCount();
+    }
+
+    /**
+     * Gets the button of a card in the hand (for controller to enable or disable)
+     *
+     * @param index The card's index in the hand
+     * @return The card's JButton
+     */
+    public JButton getCardButton(int index) {
+        return handRenderer.getButton(index);
+    }
+
     /**
      * Prompts user for game setup and returns player names
+     * Also asks whether a person or the computer plays each seat, see getBotSeats()
      * This is a UI responsibility, so it belongs in the View
      * @return List of player names, or null if cancelled
      */
@@ -172,8 +253,9 @@ public class UnoFlipFrame extends JFrame implements UnoFlipView {
             return promptForGameSetup(); // Try again
         }
 
-        // Get player names
+        // Get player names, and who plays each seat
         List<String> playerNames = new ArrayList<>();
+        boolean[] seats = new boolean[numPlayers];
         for (int i = 1; i <= numPlayers; i++) {
             String name = JOptionPane.showInputDialog(this,
                     "Enter name for Player " + i + ":",
@@ -190,11 +272,34 @@ public class UnoFlipFrame extends JFrame implements UnoFlipView {
             }
 
             playerNames.add(name.trim());
+
+            // Ask who plays the seat, so no name is ever taken to mean a bot
+            Object[] choices = {"Person", "Computer"};
+            int choice = JOptionPane.showOptionDialog(this,
+                    "Who plays " + name.trim() + "?",
+                    "Player Setup",
+                    JOptionPane.DEFAULT_OPTION,
+                    JOptionPane.QUESTION_MESSAGE,
+                    null, choices, choices[0]);
+            if (choice < 0) {
+                return null; // User cancelled
+            }
+            seats[i - 1] = choice == 1;
         }
 
+        botSeats = seats;
         return playerNames;
     }
 
+    /**
+     * Gets which seats the last game setup gave to the computer
+     *
+     * @return true for each seat played by the computer, in turn order
+     */
+    public boolean[] getBotSeats() {
+        return botSeats.clone();
+    }
+
 
     /**
      * Updates the view to reflect current game state
@@ -203,15 +308,93 @@ public class UnoFlipFrame extends JFrame implements UnoFlipView {
     @Override
     //public void update() {
     public void update(UnoFlipEvent event) {
-        updateTopCard(event);
-        updateCurrentPlayer(event);
-        updatePlayerHand(event);
-        updateScoreboard();
-
-        // Check if game is over
-        if (event.isGameOver()) {
-            drawCardButton.setEnabled(false);
-            nextPlayerButton.setEnabled(false);
+        markDirty(ALL_PARTS);
+    }
+
+    /**
+     * Updates only the part of the view a change affects
+     * Called by the model for each change this view subscribed to
+     */
+    @Override
+    public void deltaOccurred(UnoFlipDeltaEvent event) {
+        switch (event.getKind()) {
+            case ROUND_STARTED:
+                markDirty(ALL_PARTS);
+                break;
+            case CARD_PLAYED:
+                markDirty(TOP_CARD | HAND);
+                break;
+            case CARD_DRAWN:
+            case PENALTY_DRAWN:
+                // Only the current player's hand is on screen, the renderer ignores other hands' changes
+                markDirty(HAND);
+                break;
+            case TURN_ADVANCED:
+                markDirty(CURRENT_PLAYER | HAND);
+                break;
+            case SCORE_CHANGED:
+                markDirty(SCOREBOARD);
+                break;
+            case ROUND_ENDED:
+                markDirty(GAME_OVER);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Sets what to run each time the hand has been redrawn (for controller to enable the playable cards)
+     *
+     * @param afterHandRendered Run on the event dispatch thread after the hand or top card is redrawn
+     */
+    public void setAfterHandRendered(Runnable afterHandRendered) {
+        this.afterHandRendered = afterHandRendered;
+    }
+
+    /**
+     * Marks parts of the window as out of date, to be redrawn together in the next frame.
+     * Even on the event dispatch thread the redraw waits, so the several changes of one
+     * move are drawn once, after the model call that made them has returned
+     *
+     * @param parts The parts that changed
+     */
+    private void markDirty(int parts) {
+        dirtyParts.getAndAccumulate(parts, (a, b) -> a | b);
+        repaintCoalescer.markDirty();
+    }
+
+    /**
+     * Redraws the parts of the window that are out of date from the model's latest state
+     */
+    private void renderDirtyParts() {
+        int parts;
+        synchronized (model) {
+            parts = dirtyParts.getAndSet(0);
+            if (parts == 0 || model.getPlayers().isEmpty()) {
+                return;
+            }
+            Player currentPlayer = model.getCurrentPlayer();
+            if ((parts & TOP_CARD) != 0) {
+                updateTopCard(model.getTopCard(), model.getForcedColour());
+            }
+            if ((parts & CURRENT_PLAYER) != 0) {
+                updateCurrentPlayer(currentPlayer);
+            }
+            if ((parts & HAND) != 0) {
+                updatePlayerHand(currentPlayer);
+            }
+            if ((parts & SCOREBOARD) != 0) {
+                updateScoreboard();
+            }
+            if ((parts & GAME_OVER) != 0 && model.isGameOver()) {
+                drawCardButton.setEnabled(false);
+                nextPlayerButton.setEnabled(false);
+            }
+            // Still holding the lock, so the callback sees the state that was just drawn
+            if ((parts & (TOP_CARD | HAND)) != 0 && afterHandRendered != null) {
+                afterHandRendered.run();
+            }
         }
     }
 
@@ -255,30 +438,29 @@ public class UnoFlipFrame extends JFrame implements UnoFlipView {
 
     /**
      * Updates the top card display
+     * @param topCard The card on top of the discard pile
+     * @param forcedColour The colour chosen for a wild top card, otherwise null
      */
-    private void updateTopCard(UnoFlipEvent event) {
-       // Card topCard = model.getTopCard();
-        Card topCard = event.getTopCard();
+    private void updateTopCard(Card topCard, Card.colortype forcedColour) {
         if (topCard != null) {
             String displayText;
-            //Card.colortype forcedColour = model.getForcedColour();
-            Card.colortype forcedColour = event.getForcedColour();
             if (forcedColour != null) {
                 displayText = forcedColour + " (from WILD)";
             } else {
                 displayText = topCard.getDescription();
             }
-            topCardLabel.setText("<html><center>" + displayText + "</center></html>");
+            topCardLabel.setText(null);
+            topCardLabel.setIcon(topCardFaces.getFace(topCard, forcedColour));
+            topCardLabel.setToolTipText(displayText);
             topCardLabel.setBackground(getColorForCard(topCard, forcedColour));
         }
     }
 
     /**
      * Updates current player display
+     * @param currentPlayer The player whose turn it is
      */
-    private void updateCurrentPlayer(UnoFlipEvent event) {
-        //Player currentPlayer = model.getCurrentPlayer();
-        Player currentPlayer = event.getCurrentPlayer();
+    private void updateCurrentPlayer(Player currentPlayer) {
         if (currentPlayer != null) {
             currentPlayerLabel.setText("Current Player: " + currentPlayer.getName());
         }
@@ -288,45 +470,16 @@ public class UnoFlipFrame extends JFrame implements UnoFlipView {
      * Updates the player's hand display
      */
     public void updatePlayerHand(UnoFlipEvent event) {
-        playerHandPanel.removeAll();
-        //Player currentPlayer = model.getCurrentPlayer();
-        Player currentPlayer = event.getCurrentPlayer();
-        if (currentPlayer != null) {
-            List<Card> hand = currentPlayer.getHand();
-
-            for (int i = 0; i < hand.size(); i++) {
-                Card card = hand.get(i);
-                JButton cardButton = createCardButton(card, i);
-                playerHandPanel.add(cardButton);
-            }
-        }
-        playerHandPanel.revalidate();
-        playerHandPanel.repaint();
+        updatePlayerHand(event.getCurrentPlayer());
     }
 
     /**
-     * Creates a button representing a card
-     * @param card The new card to represent
-     * @param index The card's index in the hand
+     * Updates the player's hand display
+     * @param currentPlayer The player whose hand is shown
      */
-    private JButton createCardButton(Card card, int index) {
-        JButton button = new JButton();
-        button.setPreferredSize(new Dimension(CARD_WIDTH, CARD_HEIGHT));
-        button.setBackground(getColorForCard(card, null));
-        button.setBorder(BorderFactory.createLineBorder(Color.BLACK, 2));
-        button.setName("card_" + index); // Set name so controller can identify which card
-
-        // Multi-line text for card
-        String cardText = "<html><center><b>" + card.getColor() + "</b><br><br>";
-        if (card.getType() == Card.cardtype.NUMBER) {
-            cardText += "<font size='+3'>" + card.getRank() + "</font>";
-        } else {
-            cardText += card.getType();
-        }
-        cardText += "</center></html>";
-        button.setText(cardText);
-
-        return button;
+    private void updatePlayerHand(Player currentPlayer) {
+        // Only the buttons of cards that changed are touched
+        handRenderer.render(currentPlayer != null ? currentPlayer.getHand() : List.of());
     }
 
     /**
@@ -368,7 +521,7 @@ public class UnoFlipFrame extends JFrame implements UnoFlipView {
      * @param card The card to get the background colour for
      * @param forcedColour The card's colour
      */
-    private Color getColorForCard(Card card, Card.colortype forcedColour) {
+    static Color getColorForCard(Card card, Card.colortype forcedColour) {
         Card.colortype colorToUse = (forcedColour != null) ? forcedColour : card.getColor();
 
         switch (colorToUse) {
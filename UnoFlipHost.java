@@ -0,0 +1,298 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * UnoFlipHost - runs many independent UnoFlip tables in one JVM.
+ *
+ * Each table has its own UnoFlipModel, the players seated at it and a
+ * queue of commands. Commands for a table run one at a time, in the order
+ * they were submitted, so a model is never touched by two threads at
+ * once and needs no lock. The tables share a fixed pool of worker
+ * threads: a table with waiting commands takes a worker, runs up to
+ * BATCH of them and then lets other tables have a turn, so a busy table
+ * cannot hold the rest up. Nothing is shared between tables but the
+ * registry, which is a ConcurrentHashMap.
+ *
+ * Every operation returns a CompletableFuture that completes once the
+ * table has run it, or completes exceptionally if the table refused it.
+ * A table accepts at most MAX_PENDING_COMMANDS waiting commands, further
+ * commands fail with a RejectedExecutionException, so a flooded table
+ * holds a bounded amount of memory: the queue, up to four players and
+ * one model with one deck.
+ *
+ * A table waits for players until it is started, after which nobody can
+ * join. A player leaving a started table ends its game and the table
+ * waits for players again. When a table or the whole host is closed,
+ * every command still waiting fails with an IllegalStateException, so
+ * nobody waits for a result that will never come.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public class UnoFlipHost implements AutoCloseable {
+    public static final int MAX_PENDING_COMMANDS = 64;
+    // Commands a table runs before giving its worker to another table
+    private static final int BATCH = 16;
+    private static final AtomicInteger HOST_NUMBER = new AtomicInteger();
+
+    private final ConcurrentHashMap<Long, Table> tables;
+    private final AtomicLong nextTableId;
+    private final ExecutorService workers;
+
+    /**
+     * Constructs a host whose tables share the given number of worker threads.
+     *
+     * @param threads The number of worker threads
+     */
+    public UnoFlipHost(int threads) {
+        this.tables = new ConcurrentHashMap<>();
+        this.nextTableId = new AtomicLong();
+        int host = HOST_NUMBER.incrementAndGet();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "uno-host-" + host + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Creates an empty table waiting for players.
+     *
+     * @param seats The number of seats at the table (2-4)
+     * @return The new table's id
+     */
+    public long createTable(int seats) {
+        if (seats < 2 || seats > 4) {
+            throw new IllegalArgumentException("Number of seats must be between 2 and 4.");
+        }
+        long id = nextTableId.incrementAndGet();
+        tables.put(id, new Table(id, seats));
+        return id;
+    }
+
+    /**
+     * Removes a table. Commands already waiting at it fail, a command running now finishes.
+     *
+     * @param tableId The table's id
+     * @return true if the table was removed, false if there was no such table
+     */
+    public boolean closeTable(long tableId) {
+        Table table = tables.remove(tableId);
+        if (table == null) return false;
+        // Not a queued command, which a full queue would refuse and which would wait its turn
+        table.closed = true;
+        return true;
+    }
+
+    /**
+     * Gets the number of open tables.
+     *
+     * @return The number of tables in the registry
+     */
+    public int getTableCount() {
+        return tables.size();
+    }
+
+    /**
+     * Seats a player at a table that has not started.
+     *
+     * @param tableId The table's id
+     * @param playerName The player's name, unique at the table
+     * @return The player's seat, or an IllegalStateException if the table is full, started or has that name
+     */
+    public CompletableFuture<Integer> join(long tableId, String playerName) {
+        Table table = table(tableId);
+        return table.submit(model -> {
+            if (table.model != null) {
+                throw new IllegalStateException("Table " + tableId + " has already started.");
+            }
+            if (table.players.size() == table.seats) {
+                throw new IllegalStateException("Table " + tableId + " is full.");
+            }
+            if (table.players.contains(playerName)) {
+                throw new IllegalStateException(playerName + " is already at table " + tableId + ".");
+            }
+            table.players.add(playerName);
+            return table.players.size() - 1;
+        }, true);
+    }
+
+    /**
+     * Removes a player from a table. If the table has started, its game ends.
+     *
+     * @param tableId The table's id
+     * @param playerName The player's name
+     * @return Completes with true if the player was at the table, otherwise false
+     */
+    public CompletableFuture<Boolean> leave(long tableId, String playerName) {
+        Table table = table(tableId);
+        return table.submit(model -> {
+            boolean removed = table.players.remove(playerName);
+            if (removed) {
+                table.model = null;
+            }
+            return removed;
+        }, true);
+    }
+
+    /**
+     * Starts a game between the players seated at a table.
+     *
+     * @param tableId The table's id
+     * @param seed The seed for shuffling, so the game can be replayed
+     * @return Completes when the cards are dealt, or with an IllegalStateException if too few players are seated
+     */
+    public CompletableFuture<Void> start(long tableId, long seed) {
+        Table table = table(tableId);
+        return table.submit(model -> {
+            if (table.players.size() < 2) {
+                throw new IllegalStateException("Table " + tableId + " needs at least 2 players.");
+            }
+            UnoFlipModel started = new UnoFlipModel(seed);
+            started.initializeGame(table.players);
+            table.model = started;
+            return null;
+        }, true);
+    }
+
+    /**
+     * Runs a command against a started table's model on the table's turn.
+     * The command must not keep the model, or use it from another thread.
+     *
+     * @param tableId The table's id
+     * @param command The command, given the table's model
+     * @return Completes with the command's result, or exceptionally if it threw
+     *         or the table has not started
+     */
+    public <T> CompletableFuture<T> execute(long tableId, Function<UnoFlipModel, T> command) {
+        return table(tableId).submit(command, false);
+    }
+
+    /**
+     * Stops the worker threads, interrupting the commands running now. Waiting commands fail.
+     */
+    @Override
+    public void close() {
+        for (Table table : tables.values()) {
+            table.closed = true;
+        }
+        tables.clear();
+        // Tables that never got a worker fail their commands here, the others on their worker
+        for (Runnable table : workers.shutdownNow()) {
+            table.run();
+        }
+    }
+
+    /**
+     * Looks a table up in the registry.
+     */
+    private Table table(long tableId) {
+        Table table = tables.get(tableId);
+        if (table == null) {
+            throw new IllegalArgumentException("No table " + tableId + ".");
+        }
+        return table;
+    }
+
+    /**
+     * One table: its players, its model and its queue of commands.
+     * The fields other than the queue are only touched by the table's commands.
+     */
+    private final class Table implements Runnable {
+        private final long id;
+        private final int seats;
+        private final List<String> players;
+        private UnoFlipModel model;
+        // Set by any thread, a closed table fails its commands instead of running them
+        private volatile boolean closed;
+
+        private final ConcurrentLinkedQueue<Runnable> commands;
+        // Commands submitted and not yet finished, the table is scheduled while this is above 0
+        private final AtomicInteger pending;
+
+        Table(long id, int seats) {
+            this.id = id;
+            this.seats = seats;
+            this.players = new ArrayList<>(seats);
+            this.commands = new ConcurrentLinkedQueue<>();
+            this.pending = new AtomicInteger();
+        }
+
+        /**
+         * Queues a command, scheduling the table if it was idle.
+         *
+         * @param command The command to run
+         * @param beforeStart Whether the command may run before the game has started
+         */
+        <T> CompletableFuture<T> submit(Function<UnoFlipModel, T> command, boolean beforeStart) {
+            CompletableFuture<T> future = new CompletableFuture<>();
+            int waiting;
+            do {
+                waiting = pending.get();
+                if (waiting >= MAX_PENDING_COMMANDS) {
+                    future.completeExceptionally(new RejectedExecutionException(
+                            "Table " + id + " has " + waiting + " commands waiting."));
+                    return future;
+                }
+            } while (!pending.compareAndSet(waiting, waiting + 1));
+
+            commands.add(() -> {
+                try {
+                    if (closed) {
+                        throw new IllegalStateException("Table " + id + " is closed.");
+                    }
+                    if (model == null && !beforeStart) {
+                        throw new IllegalStateException("Table " + id + " has not started.");
+                    }
+                    future.complete(command.apply(model));
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            });
+            if (waiting == 0) {
+                try {
+                    workers.execute(this);
+                } catch (RejectedExecutionException e) {
+                    future.completeExceptionally(e);
+                }
+            }
+            return future;
+        }
+
+        /**
+         * Runs waiting commands on a worker thread, up to BATCH before rescheduling.
+         * A closed table fails all of its commands at once.
+         */
+        @Override
+        public void run() {
+            int ran = 0;
+            while (true) {
+                Runnable command;
+                // A submitter counts its command just before adding it to the queue
+                while ((command = commands.poll()) == null) {
+                    Thread.onSpinWait();
+                }
+                command.run();
+                if (pending.decrementAndGet() == 0) return;
+                if (++ran == BATCH && !closed) {
+                    try {
+                        workers.execute(this);
+                        return;
+                    } catch (RejectedExecutionException e) {
+                        // The host is closing, the table is closed too and its commands fail quickly
+                    }
+                }
+            }
+        }
+    }
+}
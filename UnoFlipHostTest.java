@@ -0,0 +1,266 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the functionality of the UnoFlipHost class.
+ * This test suite makes sure players can join and leave tables, that a
+ * table runs its commands one at a time in order, and that a busy table
+ * does not hold up the others.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+class UnoFlipHostTest {
+    private UnoFlipHost host;
+
+    @BeforeEach
+    void setUp() {
+        host = new UnoFlipHost(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        host.close();
+    }
+
+    /**
+     * Gets a future's result, failing the test if it takes too long.
+     */
+    private static <T> T await(CompletableFuture<T> future) throws Exception {
+        return future.get(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Asserts a future failed with the given exception type.
+     */
+    private static void assertFails(Class<? extends Throwable> type, CompletableFuture<?> future) {
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(type, e.getCause());
+    }
+
+    /**
+     * Players join in seat order, the game starts with them, and a full or started table refuses more.
+     */
+    @Test
+    void joinStartAndPlay() throws Exception {
+        long id = host.createTable(3);
+        assertEquals(0, await(host.join(id, "Ann")));
+        assertEquals(1, await(host.join(id, "Bo")));
+        assertFails(IllegalStateException.class, host.join(id, "Bo"));
+        assertFails(IllegalStateException.class, host.execute(id, UnoFlipModel::getTopCard));
+
+        await(host.start(id, 42L));
+        assertFails(IllegalStateException.class, host.join(id, "Cy"));
+        assertEquals(List.of("Ann", "Bo"), await(host.execute(id, model -> {
+            List<String> names = new ArrayList<>();
+            for (Player p : model.getPlayers()) names.add(p.getName());
+            return names;
+        })));
+
+        UnoFlipModel expected = new UnoFlipModel(42L);
+        expected.initializeGame(List.of("Ann", "Bo"));
+        assertEquals(expected.getTopCard(), await(host.execute(id, UnoFlipModel::getTopCard)));
+    }
+
+    /**
+     * Leaving a table that has not started frees the seat, leaving a started one ends its game.
+     */
+    @Test
+    void leaveFreesSeatAndEndsGame() throws Exception {
+        long id = host.createTable(2);
+        await(host.join(id, "Ann"));
+        await(host.join(id, "Bo"));
+        assertTrue(await(host.leave(id, "Bo")));
+        assertFalse(await(host.leave(id, "Bo")));
+        assertEquals(1, await(host.join(id, "Cy")));
+
+        await(host.start(id, 1L));
+        assertTrue(await(host.leave(id, "Ann")));
+        assertFails(IllegalStateException.class, host.execute(id, UnoFlipModel::getTopCard));
+        assertEquals(1, await(host.join(id, "Di")));
+    }
+
+    /**
+     * Commands submitted from many threads run one at a time, each thread's in order.
+     */
+    @Test
+    void commandsRunOneAtATime() throws Exception {
+        long id = host.createTable(2);
+        await(host.join(id, "Ann"));
+        await(host.join(id, "Bo"));
+        await(host.start(id, 7L));
+
+        int threads = 4;
+        int perThread = 500;
+        AtomicInteger running = new AtomicInteger();
+        int[] last = new int[threads];
+        List<Thread> submitters = new ArrayList<>();
+        List<CompletableFuture<Boolean>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            submitters.add(new Thread(() -> {
+                for (int i = 1; i <= perThread; i++) {
+                    int n = i;
+                    CompletableFuture<Boolean> result;
+                    do {
+                        result = host.execute(id, model -> {
+                            boolean alone = running.incrementAndGet() == 1;
+                            boolean inOrder = last[thread] == n - 1;
+                            last[thread] = n;
+                            running.decrementAndGet();
+                            return alone && inOrder;
+                        });
+                        // Try again if the queue was full
+                    } while (result.isCompletedExceptionally());
+                    synchronized (results) {
+                        results.add(result);
+                    }
+                }
+            }));
+        }
+        for (Thread t : submitters) t.start();
+        for (Thread t : submitters) t.join();
+
+        assertEquals(threads * perThread, results.size());
+        for (CompletableFuture<Boolean> result : results) {
+            assertTrue(await(result));
+        }
+    }
+
+    /**
+     * Creates a started two player table.
+     */
+    private long startedTable() throws Exception {
+        long id = host.createTable(2);
+        host.join(id, "Ann");
+        host.join(id, "Bo");
+        await(host.start(id, 5L));
+        return id;
+    }
+
+    /**
+     * Holds a table up in a command until the latch is released.
+     */
+    private CompletableFuture<Boolean> holdUp(long id, CountDownLatch release) throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CompletableFuture<Boolean> held = host.execute(id, model -> {
+            entered.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                return false;
+            }
+        });
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        return held;
+    }
+
+    /**
+     * A table stuck in a long command does not hold up the other tables.
+     */
+    @Test
+    void busyTableDoesNotBlockOthers() throws Exception {
+        long slow = startedTable();
+        long fast = startedTable();
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> held = holdUp(slow, release);
+        CompletableFuture<Integer> waiting = host.execute(slow, UnoFlipModel::getCurrentTurn);
+
+        UnoFlipSimulator simulator = new UnoFlipSimulator(2);
+        for (int i = 0; i < 100; i++) {
+            await(host.execute(fast, model -> {
+                if (model.isRoundOver()) model.startNewRound();
+                simulator.playTurn(model);
+                return null;
+            }));
+        }
+        assertFalse(waiting.isDone());
+
+        release.countDown();
+        assertTrue(await(held));
+        assertEquals(0, await(waiting));
+    }
+
+    /**
+     * A table refuses commands beyond its queue limit, and a closed table refuses all commands.
+     */
+    @Test
+    void queueIsBoundedAndClosedTablesRefuse() throws Exception {
+        long id = startedTable();
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> held = holdUp(id, release);
+
+        List<CompletableFuture<Integer>> queued = new ArrayList<>();
+        for (int i = 1; i < UnoFlipHost.MAX_PENDING_COMMANDS; i++) {
+            queued.add(host.execute(id, UnoFlipModel::getCurrentTurn));
+        }
+        assertFails(RejectedExecutionException.class, host.execute(id, UnoFlipModel::getCurrentTurn));
+
+        release.countDown();
+        assertTrue(await(held));
+        for (CompletableFuture<Integer> command : queued) {
+            assertEquals(0, await(command));
+        }
+        assertEquals(0, await(host.execute(id, UnoFlipModel::getCurrentTurn)));
+
+        assertTrue(host.closeTable(id));
+        assertFalse(host.closeTable(id));
+        assertThrows(IllegalArgumentException.class, () -> host.execute(id, UnoFlipModel::getCurrentTurn));
+        assertEquals(0, host.getTableCount());
+    }
+
+    /**
+     * Closing a table with a full queue fails every waiting command, none of them run.
+     */
+    @Test
+    void closingFullTableFailsWaitingCommands() throws Exception {
+        long id = startedTable();
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> held = holdUp(id, release);
+        AtomicInteger ran = new AtomicInteger();
+        List<CompletableFuture<Integer>> queued = new ArrayList<>();
+        for (int i = 1; i < UnoFlipHost.MAX_PENDING_COMMANDS; i++) {
+            queued.add(host.execute(id, model -> ran.incrementAndGet()));
+        }
+
+        assertTrue(host.closeTable(id));
+        release.countDown();
+        assertTrue(await(held));
+        for (CompletableFuture<Integer> command : queued) {
+            assertFails(IllegalStateException.class, command);
+        }
+        assertEquals(0, ran.get());
+    }
+
+    /**
+     * Closing the host fails the commands still waiting, so nobody waits for them forever.
+     */
+    @Test
+    void closingHostFailsWaitingCommands() throws Exception {
+        long id = startedTable();
+        CompletableFuture<Boolean> held = holdUp(id, new CountDownLatch(1));
+        List<CompletableFuture<Integer>> queued = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            queued.add(host.execute(id, UnoFlipModel::getCurrentTurn));
+        }
+
+        host.close();
+        assertFalse(await(held), "The running command should have been interrupted.");
+        for (CompletableFuture<Integer> command : queued) {
+            assertFails(IllegalStateException.class, command);
+        }
+        assertEquals(0, host.getTableCount());
+    }
+}
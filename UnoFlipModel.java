@@ -1,4 +1,5 @@
 import java.util.*;
+import java.util.random.RandomGenerator;
 
 /**
  * UnoFlipModel - Model component of the MVC architecture for UnoFlip game.
@@ -35,24 +36,102 @@ public class UnoFlipModel {
     // List of views to notify
     private List<UnoFlipView> views;
 
+    // Listeners subscribed to each kind of delta event
+    private final EnumMap<UnoFlipDeltaEvent.Kind, List<UnoFlipDeltaListener>> deltaListeners;
+
+    // Seed of the generator shuffling the deck, 0 if the generator was supplied by the caller
+    private final long seed;
+    private final RandomGenerator random;
+
+    // Log the state-changing moves are appended to, null if not recording
+    private MoveLog moveLog;
+
+    // What a PlayerStrategy sees of the current player's turn, made when first needed
+    private ModelPlayerView playerView;
+
     /**
-     * Constructs a new UnoFlipModel with default initial state.
+     * Constructs a new UnoFlipModel with default initial state,
+     * shuffled by its own generator with a randomly chosen seed.
      */
     public UnoFlipModel(){
+        this(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Constructs a new UnoFlipModel whose decks are shuffled by its own generator with the given seed.
+     * Models built with the same seed and given the same moves play out identically.
+     *
+     * @param seed The seed for shuffling
+     */
+    public UnoFlipModel(long seed){
+        // Shuffles like new SplittableRandom(seed), but its state can be saved with the game
+        this(new SplitMix64Random(seed), seed);
+    }
+
+    /**
+     * Constructs a new UnoFlipModel whose decks are all shuffled by the given generator.
+     * Models built with identically seeded generators and given the same moves play out identically.
+     * The model does not synchronize on the generator, so each model should be given its own.
+     *
+     * @param random The random number generator for shuffling
+     */
+    public UnoFlipModel(RandomGenerator random){
+        this(random, 0);
+    }
+
+    /**
+     * Constructs a new UnoFlipModel shuffled by the given generator, which was seeded with seed.
+     */
+    UnoFlipModel(RandomGenerator random, long seed){
+        this.seed = seed;
+        this.random = random;
         this.players = new ArrayList<>();
-        this.deck = new Deck();
+        this.deck = new Deck(random);
         this.currentTurn = 0;
         this.direction = 1;
         this.forcedColour = null;
         this.gameOver = false;
         this.winner = null;
         this.views = new ArrayList<>();
+        this.deltaListeners = new EnumMap<>(UnoFlipDeltaEvent.Kind.class);
+        for (UnoFlipDeltaEvent.Kind kind : UnoFlipDeltaEvent.Kind.values()) {
+            deltaListeners.put(kind, new ArrayList<>());
+        }
         this.pendingAdvanceSteps = 1;
         this.roundOver = false;
         this.roundWinner = null;
         this.lastRoundPoints = 0;
     }
 
+    /**
+     * Gets the seed the model's shuffles were generated from,
+     * so a game can be reproduced with new UnoFlipModel(seed).
+     *
+     * @return The seed, or 0 if the model was given its own generator
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Records every following move in the given log, so the game can be replayed with MoveLog.replay().
+     * The log should be given to a model built with a seed, before its first move.
+     *
+     * @param moveLog The log to append to, or null to stop recording
+     */
+    public void setMoveLog(MoveLog moveLog) {
+        this.moveLog = moveLog;
+    }
+
+    /**
+     * Gets the log the model's moves are recorded in.
+     *
+     * @return The move log, or null if moves are not recorded
+     */
+    public MoveLog getMoveLog() {
+        return moveLog;
+    }
+
     /**
      * Adds a view to be notified of changes to the model.
      * @param view The UnoFlipView to register for updates
@@ -69,10 +148,50 @@ public class UnoFlipModel {
         this.views.remove(view);
     }
 
+    /**
+     * Subscribes a listener to the given kinds of delta event.
+     * @param listener The UnoFlipDeltaListener to notify
+     * @param kinds The kinds of change the listener wants to hear about
+     */
+    public void addDeltaListener(UnoFlipDeltaListener listener, Set<UnoFlipDeltaEvent.Kind> kinds){
+        for (UnoFlipDeltaEvent.Kind kind : kinds) {
+            List<UnoFlipDeltaListener> listeners = deltaListeners.get(kind);
+            if (!listeners.contains(listener)) {
+                listeners.add(listener);
+            }
+        }
+    }
+
+    /**
+     * Unsubscribes a listener from every kind of delta event.
+     * @param listener The UnoFlipDeltaListener to unregister
+     */
+    public void removeDeltaListener(UnoFlipDeltaListener listener){
+        for (List<UnoFlipDeltaListener> listeners : deltaListeners.values()) {
+            listeners.remove(listener);
+        }
+    }
+
+    /**
+     * Notifies the listeners subscribed to a kind of change. The event is only
+     * built if someone is listening, so unobserved models pay nothing for it.
+     */
+    private void fireDelta(UnoFlipDeltaEvent.Kind kind, int seat, Card card, int handIndex, int value){
+        List<UnoFlipDeltaListener> listeners = deltaListeners.get(kind);
+        if (listeners.isEmpty()) return;
+
+        UnoFlipDeltaEvent event = new UnoFlipDeltaEvent(this, kind, seat, card, handIndex, value);
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).deltaOccurred(event);
+        }
+    }
+
     /**
      * Notifies all subscribed views to update that the model state has changed.
      */
-    private void notifyViews(){
+    void notifyViews(){
+        if (views.isEmpty()) return;
+
         // Build an event object describing the new state
         UnoFlipEvent event = new UnoFlipEvent(this, roundOver, gameOver, players.isEmpty() ? null : getCurrentPlayer(), deck == null ? null : getTopCard(), forcedColour);
 
@@ -124,7 +243,12 @@ public class UnoFlipModel {
      * @param playerNames List of player names
      */
     public void initializeGame(List<String> playerNames){
+        if (moveLog != null) moveLog.recordInit(playerNames);
 
+        // Collect the cards from any previous game
+        if (!players.isEmpty()) {
+            deck.reset();
+        }
         players.clear(); // clear any previous players
 
         // Add players
@@ -157,6 +281,7 @@ public class UnoFlipModel {
         roundWinner = null;
         lastRoundPoints = 0;
 
+        fireDelta(UnoFlipDeltaEvent.Kind.ROUND_STARTED, currentTurn, getTopCard(), -1, 0);
         notifyViews();
     }
 
@@ -165,16 +290,18 @@ public class UnoFlipModel {
      */
     public void startNewRound() {
         if (players.isEmpty()) return;
+        if (moveLog != null) moveLog.record(MoveLog.Op.NEW_ROUND);
 
-        // New deck & clear hands
-        deck = new Deck();
-        for (Player p : players) {
-            p.clearHand();
+        // Gather every card back into the deck & clear hands
+        deck.reset();
+        for (int i = 0; i < players.size(); i++) {
+            players.get(i).clearHand();
         }
 
         // Deal cards again
-        for (Player p : players) {
-            while (p.getHand().size() < CARDS_PER_PLAYER) {
+        for (int i = 0; i < players.size(); i++) {
+            Player p = players.get(i);
+            for (int c = 0; c < CARDS_PER_PLAYER; c++) {
                 p.addCard(deck.drawCard());
             }
         }
@@ -194,6 +321,7 @@ public class UnoFlipModel {
         roundWinner = null;
 
         // don't touch gameOver or scores here
+        fireDelta(UnoFlipDeltaEvent.Kind.ROUND_STARTED, currentTurn, getTopCard(), -1, 0);
         notifyViews();
     }
 
@@ -223,6 +351,7 @@ public class UnoFlipModel {
         }
 
         // Execute the move
+        if (moveLog != null) moveLog.recordPlay(cardIndex, chosenColour);
         cur.removeCard(cardIndex + 1);  // removeCard uses 1 based indexing
         deck.discard(cardToPlay);
 
@@ -232,18 +361,14 @@ public class UnoFlipModel {
         } else {
             forcedColour = null;
         }
+        fireDelta(UnoFlipDeltaEvent.Kind.CARD_PLAYED, currentTurn, cardToPlay, cardIndex, 0);
 
         // Check for win condition
         if (cur.getHand().isEmpty()) {
-            int roundPoints = 0;
-            for (Player p : players) {
-                if (p == cur) continue;
-                for (Card c : p.getHand()) {
-                    roundPoints += calculatePoints(c);
-                }
-            }
+            int roundPoints = calculateRoundPoints(cur);
 
             cur.increaseScore(roundPoints);
+            fireDelta(UnoFlipDeltaEvent.Kind.SCORE_CHANGED, currentTurn, null, -1, cur.getScore());
 
             // Mark round over
             roundOver = true;
@@ -255,6 +380,7 @@ public class UnoFlipModel {
                 gameOver = true;     // entire match over
                 winner = cur;        // match winner
             }
+            fireDelta(UnoFlipDeltaEvent.Kind.ROUND_ENDED, currentTurn, null, -1, roundPoints);
             notifyViews();
             return true;
         }
@@ -267,6 +393,8 @@ public class UnoFlipModel {
 
     /**
      * Current player draws a card from the deck and ends their turn.
+     *
+     * @return The card drawn, or null if the round is over or every other card is in the players' hands
      */
     public Card playerDrawsCard(){
         //if (gameOver) return;
@@ -274,7 +402,10 @@ public class UnoFlipModel {
 
         Player cur = getCurrentPlayer();
         Card drawnCard = deck.drawCard();
+        if (drawnCard == null) return null;
+        if (moveLog != null) moveLog.record(MoveLog.Op.DRAW);
         cur.addCard(drawnCard);
+        fireDelta(UnoFlipDeltaEvent.Kind.CARD_DRAWN, currentTurn, drawnCard, cur.getHand().size() - 1, 0);
 
         //pendingAdvanceSteps = 1;
         notifyViews();
@@ -288,7 +419,7 @@ public class UnoFlipModel {
      * @param chosenColour The colour chosen for wild cards, ignored for regular cards
      * @return true if the card can be legally played, otherwise false
      */
-    private boolean isLegal(Card card, Card.colortype chosenColour){
+    boolean isLegal(Card card, Card.colortype chosenColour){
         Card topCard = deck.topCard();
 
         // Wild cards are always legal if colour is chosen
@@ -306,6 +437,84 @@ public class UnoFlipModel {
         return colourMatch || numberMatch || actionMatch;
     }
 
+    /**
+     * Checks whether the current player holds any card that could be played now.
+     * Wild cards always count as playable, the colour is chosen when they are played.
+     *
+     * @return true if the current player has a legal play, otherwise false
+     */
+    public boolean hasLegalPlay(){
+        if (players.isEmpty() || roundOver) return false;
+        Card topCard = deck.topCard();
+        return getCurrentPlayer().getPackedHand().containsAny(
+                CardMasks.playable(topCard, forcedColour, 0),
+                CardMasks.playable(topCard, forcedColour, 1));
+    }
+
+    /**
+     * Checks whether a card in the current player's hand could be played now.
+     * Wild cards always count as playable, the colour is chosen when they are played.
+     *
+     * @param cardIndex The index of the card in the player's hand
+     * @return true if the card is a legal play, otherwise false
+     */
+    public boolean isPlayable(int cardIndex){
+        if (players.isEmpty() || roundOver) return false;
+        PackedCards hand = getCurrentPlayer().getPackedHand();
+        if (cardIndex < 0 || cardIndex >= hand.size()) return false;
+        int code = hand.get(cardIndex);
+        return (CardMasks.playable(deck.topCard(), forcedColour, CardMasks.half(code)) & CardMasks.bit(code)) != 0;
+    }
+
+    /**
+     * Finds every card in the current player's hand that could be played now.
+     * Wild cards always count as playable, the colour is chosen when they are played.
+     *
+     * @param indices Filled with the playable card indices, in hand order
+     * @return The number of playable cards, at most indices.length are written
+     */
+    public int getPlayableIndices(int[] indices){
+        if (players.isEmpty() || roundOver) return 0;
+        Card topCard = deck.topCard();
+        long low = CardMasks.playable(topCard, forcedColour, 0);
+        long high = CardMasks.playable(topCard, forcedColour, 1);
+        PackedCards hand = getCurrentPlayer().getPackedHand();
+        if (!hand.containsAny(low, high)) return 0;
+
+        int count = 0;
+        for (int i = 0; i < hand.size(); i++) {
+            int code = hand.get(i);
+            long mask = CardMasks.half(code) == 0 ? low : high;
+            if ((mask & CardMasks.bit(code)) != 0) {
+                if (count < indices.length) indices[count] = i;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Makes a player draw penalty cards. Stops early if the deck runs out,
+     * since every card left is then in the players' hands.
+     *
+     * @param victimSeat The index of the player drawing the penalty
+     * @param count The number of cards to draw
+     */
+    private void drawPenalty(int victimSeat, int count) {
+        Player victim = players.get(victimSeat);
+        int firstIndex = victim.getHand().size();
+        int drawn = 0;
+        while (drawn < count) {
+            Card c = deck.drawCard();
+            if (c == null) break;
+            victim.addCard(c);
+            drawn++;
+        }
+        if (drawn > 0) {
+            fireDelta(UnoFlipDeltaEvent.Kind.PENALTY_DRAWN, victimSeat, null, firstIndex, drawn);
+        }
+    }
+
     /**
      * Handles special card after they are played.
      *
@@ -314,39 +523,36 @@ public class UnoFlipModel {
     private void handleSpecialCard(Card card){
         Card.cardtype type = card.getType();
 
-        pendingAdvanceSteps = 1;
-        switch (type){
-            case SKIP:
-                pendingAdvanceSteps = 2;
-                break;
-
-            case REVERSE:
-                // Reverse direction
-                if (players.size() == 2) {
-                    pendingAdvanceSteps = 0;
-                }
-                direction = -direction;
-                break;
-
-            case DRAW_ONE:
-                int victim1 = peekNextPlayerIndex(1);
-                Player nextPlayer1 = players.get(victim1);
-                Card drawnCard = deck.drawCard();
-                nextPlayer1.addCard(drawnCard);
-                pendingAdvanceSteps = 2;
-                break;
-
-            case WILDTWO:
-                int victim2 = peekNextPlayerIndex(1);
-                Player nextPlayer2 = players.get(victim2);
-                nextPlayer2.addCard(deck.drawCard());
-                nextPlayer2.addCard(deck.drawCard());
-                pendingAdvanceSteps = 2;
-                break;
-
-            default:
-                break;
+        // SKIP, DRAW_ONE and WILDTWO skip the next player, a two player REVERSE keeps the turn
+        pendingAdvanceSteps = GameState.stepsAfter(type, players.size());
+        if (type == Card.cardtype.REVERSE) {
+            direction = -direction;
+            fireDelta(UnoFlipDeltaEvent.Kind.DIRECTION_REVERSED, -1, null, -1, direction);
+        }
+
+        int penalty = GameState.penaltyCards(type);
+        if (penalty > 0) {
+            drawPenalty(peekNextPlayerIndex(1), penalty);
+        }
+    }
+
+    /**
+     * Calculates the points won by the round winner, the total value
+     * of the cards left in every other player's hand.
+     *
+     * @param roundWinner The player who emptied their hand
+     * @return The points won this round
+     */
+    int calculateRoundPoints(Player roundWinner){
+        int roundPoints = 0;
+        for (Player p : players) {
+            if (p == roundWinner) continue;
+            PackedCards hand = p.getPackedHand();
+            for (int i = 0; i < hand.size(); i++) {
+                roundPoints += calculatePoints(hand.getCard(i));
+            }
         }
+        return roundPoints;
     }
 
     /**
@@ -355,21 +561,8 @@ public class UnoFlipModel {
      * @param card The card to calculate points for
      * @return The point value of the card
      */
-    private int calculatePoints(Card card){
-        switch (card.getType()) {
-            case NUMBER:    return Math.max(0, card.getRank()); // rank value
-            case SKIP:
-            case REVERSE:
-                return 20;
-            case DRAW_ONE:
-                return 10; // if your enum is DRAW_ONE
-            case WILD:
-                return 40;
-            case WILDTWO:
-                return 50;
-            default:
-                return 0;
-        }
+    static int calculatePoints(Card card){
+        return GameState.points(card.getCode());
     }
 
     /**
@@ -378,8 +571,7 @@ public class UnoFlipModel {
      * @param steps The number of player positions to advance
      */
     private void advanceTurn(int steps){
-        int n = players.size();
-        currentTurn = ((currentTurn + steps * direction) % n + n) % n;
+        currentTurn = GameState.seatAfter(currentTurn, steps, direction, players.size());
     }
 
     /**
@@ -389,8 +581,7 @@ public class UnoFlipModel {
      * @return The index of the player at that position
      */
     private int peekNextPlayerIndex(int steps) {
-        int n = players.size();
-        return ((currentTurn + steps * direction) % n + n) % n;
+        return GameState.seatAfter(currentTurn, steps, direction, players.size());
     }
 
     /**
@@ -399,8 +590,11 @@ public class UnoFlipModel {
     public void advanceToNextPlayer() {
         if (gameOver)
             return;
-        advanceTurn(pendingAdvanceSteps);
+        if (moveLog != null) moveLog.record(MoveLog.Op.ADVANCE);
+        int steps = pendingAdvanceSteps;
+        advanceTurn(steps);
         pendingAdvanceSteps = 1;
+        fireDelta(UnoFlipDeltaEvent.Kind.TURN_ADVANCED, currentTurn, null, -1, steps);
         notifyViews();
     }
 
@@ -422,6 +616,38 @@ public class UnoFlipModel {
         return Collections.unmodifiableList(players);
     }
 
+    /**
+     * Gets the number of players without wrapping the list (for PlayerStrategy views).
+     *
+     * @return The number of players
+     */
+    int getPlayerCount() {
+        return players.size();
+    }
+
+    /**
+     * Gets the player in a seat without wrapping the list (for PlayerStrategy views).
+     *
+     * @param seat The player's index in turn order
+     * @return The Player
+     */
+    Player getPlayer(int seat) {
+        return players.get(seat);
+    }
+
+    /**
+     * Gets the read-only view of the current player's turn that a PlayerStrategy decides on.
+     * The same view is returned every time, and follows the model as it changes.
+     *
+     * @return The model's player view
+     */
+    ModelPlayerView getPlayerView() {
+        if (playerView == null) {
+            playerView = new ModelPlayerView(this);
+        }
+        return playerView;
+    }
+
     /**
      * Gets the top card of the discard pile.
      *
@@ -431,6 +657,15 @@ public class UnoFlipModel {
         return deck.topCard();
     }
 
+    /**
+     * Gets the colour chosen for the wild card on top of the discard pile.
+     *
+     * @return The forced colour if a wild effect is active, otherwise null
+     */
+    public Card.colortype getForcedColour() {
+        return forcedColour;
+    }
+
     /**
      * Checks whether the game has ended.
      *
@@ -457,4 +692,71 @@ public class UnoFlipModel {
     public int getDirection() {
         return direction;
     }
+
+    /**
+     * Gets the generator shuffling the deck (for GameStateCodec).
+     *
+     * @return The model's generator
+     */
+    RandomGenerator getRandom() {
+        return random;
+    }
+
+    /**
+     * Gets the deck (for GameStateCodec).
+     *
+     * @return The model's deck
+     */
+    Deck getDeck() {
+        return deck;
+    }
+
+    /**
+     * Gets the index of the current player in turn order.
+     *
+     * @return The current player's seat
+     */
+    public int getCurrentTurn() {
+        return currentTurn;
+    }
+
+    /**
+     * Gets how many seats the turn moves on the next advanceToNextPlayer() (for GameStateCodec).
+     *
+     * @return The pending advance steps
+     */
+    int getPendingAdvanceSteps() {
+        return pendingAdvanceSteps;
+    }
+
+    /**
+     * Replaces the whole game state with a saved one (for GameStateCodec).
+     * The deck is restored separately through getDeck(). Views are not notified.
+     *
+     * @param players The players in turn order, with their hands and scores
+     * @param currentTurn The index of the current player
+     * @param direction +1 for clockwise, -1 for counter-clockwise
+     * @param forcedColour The colour chosen for a wild top card, otherwise null
+     * @param pendingAdvanceSteps The seats the turn moves on the next advance
+     * @param roundOver Whether the round is over
+     * @param roundWinnerSeat The seat of the round winner, -1 if none
+     * @param lastRoundPoints The points won in the last round
+     * @param gameOver Whether the match is over
+     * @param winnerSeat The seat of the match winner, -1 if none
+     */
+    void restoreState(List<Player> players, int currentTurn, int direction, Card.colortype forcedColour,
+                      int pendingAdvanceSteps, boolean roundOver, int roundWinnerSeat, int lastRoundPoints,
+                      boolean gameOver, int winnerSeat) {
+        this.players.clear();
+        this.players.addAll(players);
+        this.currentTurn = currentTurn;
+        this.direction = direction;
+        this.forcedColour = forcedColour;
+        this.pendingAdvanceSteps = pendingAdvanceSteps;
+        this.roundOver = roundOver;
+        this.roundWinner = roundWinnerSeat < 0 ? null : players.get(roundWinnerSeat);
+        this.lastRoundPoints = lastRoundPoints;
+        this.gameOver = gameOver;
+        this.winner = winnerSeat < 0 ? null : players.get(winnerSeat);
+    }
 }
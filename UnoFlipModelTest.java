@@ -3,6 +3,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -204,7 +205,7 @@ class UnoFlipModelTest {
 
         // Hand should still contain exactly that same wild card
         assertEquals(1, current.getHand().size(), "Player should still have exactly 1 card");
-        assertSame(wild, current.getHand().get(0), "That card should still be the wild we added");
+        assertEquals(wild, current.getHand().get(0), "That card should still be the wild we added");
     }
 
     /**
@@ -240,7 +241,111 @@ class UnoFlipModelTest {
         assertEquals(scoreAfterRound, a.getScore());
     }
 
+    /**
+     * Tests that the playable-card lookup agrees with the legality check used by playCard,
+     * over the states reached while playing a simulated match.
+     */
+    @Test
+    void playableCardsMatchLegalMoves() {
+        UnoFlipSimulator simulator = new UnoFlipSimulator(2);
+        int[] indices = new int[128];
+        for (int turn = 0; turn < 500 && !model.isGameOver(); turn++) {
+            if (model.isRoundOver()) {
+                model.startNewRound();
+            }
+            List<Card> hand = model.getCurrentPlayer().getHand();
+            int count = model.getPlayableIndices(indices);
+            int expected = 0;
+            for (int i = 0; i < hand.size(); i++) {
+                Card c = hand.get(i);
+                boolean wild = c.getType() == Card.cardtype.WILD || c.getType() == Card.cardtype.WILDTWO;
+                boolean legal = model.isLegal(c, wild ? Card.colortype.RED : null);
+                assertEquals(legal, model.isPlayable(i), "Card " + c.getDescription() + " on " + model.getTopCard().getDescription());
+                if (legal) {
+                    assertEquals(i, indices[expected]);
+                    expected++;
+                }
+            }
+            assertEquals(expected, count);
+            assertEquals(expected > 0, model.hasLegalPlay());
+            simulator.playTurn(model);
+        }
+    }
 
+    /**
+     * Tests that two models built with the same seed deal the same cards.
+     */
+    @Test
+    void sameSeedDealsSameHands() {
+        UnoFlipModel first = new UnoFlipModel(3110L);
+        UnoFlipModel second = new UnoFlipModel(3110L);
+        first.initializeGame(players);
+        second.initializeGame(players);
+
+        assertEquals(3110L, first.getSeed());
+        assertEquals(first.getTopCard(), second.getTopCard());
+        for (int i = 0; i < players.size(); i++) {
+            assertEquals(first.getPlayers().get(i).getHand(), second.getPlayers().get(i).getHand());
+        }
+        assertEquals(first.playerDrawsCard(), second.playerDrawsCard());
+    }
 
+    /**
+     * Tests that delta listeners hear only the kinds they subscribed to,
+     * while views still get a full update for every change.
+     */
+    @Test
+    void deltaListenersGetOnlyTheirKinds() {
+        List<UnoFlipDeltaEvent> drawn = new ArrayList<>();
+        List<UnoFlipDeltaEvent> turns = new ArrayList<>();
+        model.addDeltaListener(drawn::add, EnumSet.of(UnoFlipDeltaEvent.Kind.CARD_DRAWN));
+        model.addDeltaListener(turns::add, EnumSet.of(UnoFlipDeltaEvent.Kind.TURN_ADVANCED));
+        int[] updates = new int[1];
+        model.addView(new UnoFlipView() {
+            public void update(UnoFlipEvent event) { updates[0]++; }
+            public void displayMessage(String message) { }
+            public void displayError(String message) { }
+        });
+
+        Card card = model.playerDrawsCard();
+        model.advanceToNextPlayer();
+
+        assertEquals(1, drawn.size());
+        assertEquals(UnoFlipDeltaEvent.Kind.CARD_DRAWN, drawn.get(0).getKind());
+        assertEquals(0, drawn.get(0).getSeat());
+        assertEquals(card, drawn.get(0).getCard());
+        assertEquals(7, drawn.get(0).getHandIndex());
+        assertEquals(1, turns.size());
+        assertEquals(1, turns.get(0).getSeat());
+        assertEquals(2, updates[0]);
+    }
 
+    /**
+     * Tests that a whole simulated match can be followed from delta events alone:
+     * the scores and round points they report match the model's.
+     */
+    @Test
+    void deltaEventsTrackScores() {
+        int[] scores = new int[2];
+        int[] roundPoints = new int[1];
+        model.addDeltaListener(event -> {
+            if (event.getKind() == UnoFlipDeltaEvent.Kind.SCORE_CHANGED) {
+                scores[event.getSeat()] = event.getValue();
+            } else {
+                roundPoints[0] += event.getValue();
+            }
+        }, EnumSet.of(UnoFlipDeltaEvent.Kind.SCORE_CHANGED, UnoFlipDeltaEvent.Kind.ROUND_ENDED));
+
+        UnoFlipSimulator simulator = new UnoFlipSimulator(2);
+        while (!model.isGameOver()) {
+            if (model.isRoundOver()) {
+                model.startNewRound();
+            }
+            simulator.playTurn(model);
+        }
+        for (int seat = 0; seat < 2; seat++) {
+            assertEquals(model.getPlayers().get(seat).getScore(), scores[seat]);
+        }
+        assertEquals(scores[0] + scores[1], roundPoints[0]);
+    }
 }
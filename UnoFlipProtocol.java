@@ -0,0 +1,152 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Class UnoFlipProtocol - the binary messages between UnoFlipServer and UnoFlipClient.
+ *
+ * This class is part of the UnoFlip game application.
+ *
+ * Every message is a frame: a 2 byte length, counting the bytes after it,
+ * a 1 byte type and the payload. Numbers are big-endian, cards are their
+ * one byte code (see Card.getCode()), a colour is its ordinal or NONE,
+ * and a string is a 1 byte length and that many UTF-8 bytes.
+ *
+ * Client to server, each answered by one RESULT (or GAME), in order:
+ * <pre>
+ *  CREATE    seats (1), seed (8), name       new game, the sender takes every seat
+ *  JOIN      game (4), name                  take the next free seat from the creator
+ *  START     -                               deal, creator only
+ *  PLAY      card index (1), colour (1)      playCard
+ *  DRAW      -                               playerDrawsCard, RESULT value is the card
+ *  NEXT      -                               advanceToNextPlayer
+ *  NEW_ROUND -                               startNewRound
+ * </pre>
+ * Server to client:
+ * <pre>
+ *  GAME      game (4), seat (1)              answer to CREATE and JOIN, or NO_GAME if a player left
+ *  RESULT    ok (1), value (1)               answer to the other commands
+ *  UPDATE    flags (1), current seat (1), top card (1), forced colour (1), seats (1),
+ *            per seat: score (2), hand size (1), then hand size (1) and the cards
+ *            of the current seat if the receiver holds it, otherwise of its first seat
+ *  MESSAGE   string
+ *  ERROR     string
+ * </pre>
+ * UPDATE flags are ROUND_OVER, GAME_OVER and MY_TURN, set when the receiver
+ * holds the current seat. Every UPDATE, MESSAGE and ERROR caused by a
+ * command is sent before its RESULT.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public class UnoFlipProtocol {
+    // Client to server
+    public static final byte CREATE = 1;
+    public static final byte JOIN = 2;
+    public static final byte START = 3;
+    public static final byte PLAY = 4;
+    public static final byte DRAW = 5;
+    public static final byte NEXT = 6;
+    public static final byte NEW_ROUND = 7;
+
+    // Server to client
+    public static final byte GAME = (byte) 0x81;
+    public static final byte RESULT = (byte) 0x82;
+    public static final byte UPDATE = (byte) 0x83;
+    public static final byte MESSAGE = (byte) 0x84;
+    public static final byte ERROR = (byte) 0x85;
+
+    // UPDATE flags
+    public static final int ROUND_OVER = 1;
+    public static final int GAME_OVER = 2;
+    public static final int MY_TURN = 4;
+
+    // GAME id sent when the receiver's game has ended because a player left
+    public static final int NO_GAME = -1;
+
+    // A missing colour or card
+    public static final int NONE = 0xFF;
+
+    // Length and type bytes in front of every payload
+    public static final int HEADER_SIZE = 3;
+
+    private static final Card.colortype[] COLOURS = Card.colortype.values();
+
+    /**
+     * Starts a frame, leaving room for its length, which endFrame() fills in.
+     *
+     * @param out The buffer to write to
+     * @param type The message type
+     * @return The position of the frame, to pass to endFrame()
+     */
+    public static int beginFrame(ByteBuffer out, byte type) {
+        int start = out.position();
+        out.putShort((short) 0).put(type);
+        return start;
+    }
+
+    /**
+     * Fills in the length of a frame once its payload is written.
+     *
+     * @param out The buffer written to
+     * @param start The position returned by beginFrame()
+     */
+    public static void endFrame(ByteBuffer out, int start) {
+        out.putShort(start, (short) (out.position() - start - 2));
+    }
+
+    /**
+     * Writes a string as its length and UTF-8 bytes, cut to 255 bytes.
+     *
+     * @param out The buffer to write to
+     * @param text The string
+     */
+    public static void putString(ByteBuffer out, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, 0xFF);
+        out.put((byte) length).put(bytes, 0, length);
+    }
+
+    /**
+     * Reads a string written by putString().
+     *
+     * @param in The buffer to read from
+     * @return The string
+     */
+    public static String getString(ByteBuffer in) {
+        int length = in.get() & 0xFF;
+        String text = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return text;
+    }
+
+    /**
+     * Gets the byte for a colour.
+     *
+     * @param colour The colour, or null
+     * @return The colour's ordinal, or NONE
+     */
+    public static int colourCode(Card.colortype colour) {
+        return colour == null ? NONE : colour.ordinal();
+    }
+
+    /**
+     * Gets the colour for a byte.
+     *
+     * @param code The byte written by colourCode(), as an unsigned value
+     * @return The colour, or null for NONE
+     */
+    public static Card.colortype colour(int code) {
+        return code < COLOURS.length ? COLOURS[code] : null;
+    }
+
+    /**
+     * Gets the length of the frame at the start of a buffer, if its length has arrived.
+     *
+     * @param in The received bytes, from position to limit
+     * @return The whole frame's size including the length, or 0 if fewer than 2 bytes are there
+     */
+    public static int frameSize(ByteBuffer in) {
+        if (in.remaining() < 2) return 0;
+        return (in.getShort(in.position()) & 0xFFFF) + 2;
+    }
+}
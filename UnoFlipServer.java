@@ -0,0 +1,570 @@
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * UnoFlipServer - lets remote players play UnoFlipModel games over TCP.
+ *
+ * One thread runs a java.nio Selector over the listening socket and every
+ * connection, reads their commands (see UnoFlipProtocol), applies them to
+ * the games, and writes the answers. Each game and its model are only ever
+ * touched by that thread, so nothing is locked, and thousands of mostly
+ * idle connections cost one thread between them.
+ *
+ * Each connection is an UnoFlipView of the game it plays in, so the model
+ * notifies remote players like it notifies the UnoFlipFrame: update()
+ * encodes an UPDATE frame into the connection's output buffer. Output is
+ * written once per pass of the selector, so the answers to every command
+ * read in that pass go out together.
+ *
+ * Turns follow the UnoFlipController's rules: a player plays one card, or
+ * draws one card and may then play only that card, and then ends the turn.
+ * A game ends when any of its connections closes.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public class UnoFlipServer implements AutoCloseable {
+    private static final int BUFFER_SIZE = 8192;
+    // A connection with this much unsent output is too slow and is closed
+    private static final int MAX_OUTPUT = 1 << 20;
+
+    private final Selector selector;
+    private final ServerSocketChannel listener;
+    private final Thread thread;
+    private volatile boolean running;
+
+    // Touched by the selector thread only
+    private final Map<Integer, Game> games;
+    private final ArrayDeque<Connection> unflushed;
+    private final ByteBuffer scratch;
+    private int nextGameId;
+    private volatile int connectionCount;
+
+    /**
+     * Opens a server listening on the given address. Call start() to accept connections.
+     *
+     * @param address The address to listen on, port 0 for any free port
+     * @throws IOException if the address cannot be bound
+     */
+    public UnoFlipServer(InetSocketAddress address) throws IOException {
+        this.selector = Selector.open();
+        this.listener = ServerSocketChannel.open();
+        listener.bind(address, 1024);
+        listener.configureBlocking(false);
+        listener.register(selector, SelectionKey.OP_ACCEPT);
+        this.games = new HashMap<>();
+        this.unflushed = new ArrayDeque<>();
+        this.scratch = ByteBuffer.allocate(BUFFER_SIZE);
+        this.thread = new Thread(this::run, "uno-server-" + getPort());
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Gets the port the server is listening on.
+     *
+     * @return The local port
+     */
+    public int getPort() {
+        return listener.socket().getLocalPort();
+    }
+
+    /**
+     * Starts the selector thread.
+     */
+    public void start() {
+        running = true;
+        thread.start();
+    }
+
+    /**
+     * Gets the number of open connections.
+     *
+     * @return The number of connected clients
+     */
+    public int getConnectionCount() {
+        return connectionCount;
+    }
+
+    /**
+     * Stops the selector thread and closes every connection.
+     */
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            for (SelectionKey key : selector.keys()) {
+                key.channel().close();
+            }
+            selector.close();
+        } catch (IOException e) {
+            // closing anyway
+        }
+    }
+
+    /**
+     * The selector loop.
+     */
+    private void run() {
+        while (running) {
+            try {
+                selector.select();
+            } catch (IOException e) {
+                break;
+            }
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                if (!key.isValid()) continue;
+                if (key.isAcceptable()) {
+                    accept();
+                    continue;
+                }
+                Connection connection = (Connection) key.attachment();
+                if (key.isWritable()) {
+                    connection.flush();
+                }
+                if (key.isValid() && key.isReadable()) {
+                    connection.read();
+                }
+            }
+            while (!unflushed.isEmpty()) {
+                unflushed.poll().flush();
+            }
+        }
+    }
+
+    /**
+     * Accepts every waiting connection.
+     */
+    private void accept() {
+        try {
+            SocketChannel channel;
+            while ((channel = listener.accept()) != null) {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                Connection connection = new Connection(channel);
+                connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+                connectionCount++;
+            }
+        } catch (IOException e) {
+            // the client gave up before it was accepted
+        }
+    }
+
+    /**
+     * One game: its model, which connection holds each seat, and the turn rules' state.
+     */
+    private static final class Game {
+        private final int id;
+        private final UnoFlipModel model;
+        private final Connection[] seats;
+        private final String[] names;
+        private int joined;
+        private boolean started;
+
+        // As in UnoFlipController
+        private boolean actionTakenThisTurn;
+        private boolean drewCardThisTurn;
+        private int drawnCardIndexThisTurn = -1;
+
+        Game(int id, int seatCount, long seed, Connection creator, String name) {
+            this.id = id;
+            this.model = new UnoFlipModel(seed);
+            this.seats = new Connection[seatCount];
+            this.names = new String[seatCount];
+            Arrays.fill(seats, creator);
+            for (int seat = 0; seat < seatCount; seat++) {
+                names[seat] = seat == 0 ? name : name + " " + (seat + 1);
+            }
+            this.joined = 1;
+            model.addView(creator);
+        }
+
+        /**
+         * Resets the turn rules' state for the next player.
+         */
+        void newTurn() {
+            actionTakenThisTurn = false;
+            drewCardThisTurn = false;
+            drawnCardIndexThisTurn = -1;
+        }
+    }
+
+    /**
+     * One client: its socket, buffers, and the game it plays in.
+     */
+    private final class Connection implements UnoFlipView {
+        private final SocketChannel channel;
+        private SelectionKey key;
+        private ByteBuffer in;
+        private ByteBuffer out;
+        private boolean queued;
+        private boolean tooSlow;
+        private Game game;
+        private int firstSeat;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+            this.in = ByteBuffer.allocate(BUFFER_SIZE);
+            this.out = ByteBuffer.allocate(BUFFER_SIZE);
+        }
+
+        /**
+         * Reads what has arrived and runs every complete command.
+         */
+        void read() {
+            int n;
+            try {
+                n = channel.read(in);
+            } catch (IOException e) {
+                n = -1;
+            }
+            if (n < 0) {
+                close();
+                return;
+            }
+            in.flip();
+            int size;
+            while ((size = UnoFlipProtocol.frameSize(in)) > 0 && in.remaining() >= size) {
+                int end = in.position() + size;
+                ByteBuffer frame = in.duplicate();
+                frame.limit(end).position(in.position() + 2);
+                try {
+                    handle(frame.get(), frame);
+                } catch (RuntimeException e) {
+                    // A malformed command, answer it rather than lose the connection
+                    displayError("Bad command: " + e);
+                    result(false, UnoFlipProtocol.NONE);
+                }
+                in.position(end);
+                if (!channel.isOpen()) return;
+            }
+            in.compact();
+            if (!in.hasRemaining()) {
+                close();
+            }
+        }
+
+        /**
+         * Runs one command.
+         */
+        private void handle(byte type, ByteBuffer frame) {
+            switch (type) {
+                case UnoFlipProtocol.CREATE:
+                    create(frame.get() & 0xFF, frame.getLong(), UnoFlipProtocol.getString(frame));
+                    break;
+                case UnoFlipProtocol.JOIN:
+                    join(frame.getInt(), UnoFlipProtocol.getString(frame));
+                    break;
+                case UnoFlipProtocol.START:
+                    start();
+                    break;
+                case UnoFlipProtocol.PLAY:
+                    play(frame.get() & 0xFF, UnoFlipProtocol.colour(frame.get() & 0xFF));
+                    break;
+                case UnoFlipProtocol.DRAW:
+                    draw();
+                    break;
+                case UnoFlipProtocol.NEXT:
+                    next();
+                    break;
+                case UnoFlipProtocol.NEW_ROUND:
+                    newRound();
+                    break;
+                default:
+                    fail("Unknown command " + type + ".");
+                    break;
+            }
+        }
+
+        private void create(int seats, long seed, String name) {
+            if (game != null) {
+                fail("Already in a game.");
+            } else if (seats < 2 || seats > 4) {
+                fail("Number of players must be between 2 and 4.");
+            } else {
+                game = new Game(++nextGameId, seats, seed, this, name);
+                games.put(game.id, game);
+                firstSeat = 0;
+                sendGame(game.id, firstSeat);
+            }
+        }
+
+        private void join(int gameId, String name) {
+            Game joining = games.get(gameId);
+            if (game != null) {
+                fail("Already in a game.");
+            } else if (joining == null || joining.started || joining.joined == joining.seats.length) {
+                fail("Cannot join game " + gameId + ".");
+            } else {
+                game = joining;
+                firstSeat = joining.joined++;
+                joining.seats[firstSeat] = this;
+                joining.names[firstSeat] = name;
+                joining.model.addView(this);
+                sendGame(game.id, firstSeat);
+            }
+        }
+
+        private void start() {
+            if (game == null || game.seats[0] != this || game.started) {
+                fail("Only the creator can start a game, once.");
+                return;
+            }
+            game.started = true;
+            game.newTurn();
+            game.model.initializeGame(Arrays.asList(game.names));
+            result(true, UnoFlipProtocol.NONE);
+        }
+
+        private void play(int cardIndex, Card.colortype chosenColour) {
+            if (!onTurn()) return;
+            if (game.actionTakenThisTurn) {
+                fail("You already played or drew this turn.");
+            } else if (game.drewCardThisTurn && cardIndex != game.drawnCardIndexThisTurn) {
+                fail("After drawing, you may only play the drawn card or skip.");
+            } else if (game.model.playCard(cardIndex, chosenColour)) {
+                game.actionTakenThisTurn = true;
+                result(true, UnoFlipProtocol.NONE);
+            } else {
+                fail("Invalid move. Please try a different card.");
+            }
+        }
+
+        private void draw() {
+            if (!onTurn()) return;
+            if (game.actionTakenThisTurn || game.drewCardThisTurn) {
+                fail("You can only draw once, and only if you haven't played.");
+                return;
+            }
+            Card drawn = game.model.playerDrawsCard();
+            if (drawn == null) {
+                // Every card is in the players' hands, trying to draw is the turn's action
+                game.drewCardThisTurn = true;
+                game.drawnCardIndexThisTurn = -1;
+                displayMessage("No cards are left to draw.");
+                result(false, UnoFlipProtocol.NONE);
+                return;
+            }
+            game.drewCardThisTurn = true;
+            game.drawnCardIndexThisTurn = game.model.getCurrentPlayer().getHand().size() - 1;
+            result(true, drawn.getCode());
+        }
+
+        private void next() {
+            if (!onTurn()) return;
+            if (!game.actionTakenThisTurn && !game.drewCardThisTurn) {
+                fail("You must play a card or draw before ending your turn.");
+                return;
+            }
+            game.newTurn();
+            game.model.advanceToNextPlayer();
+            result(true, UnoFlipProtocol.NONE);
+        }
+
+        private void newRound() {
+            if (game == null || !game.started || !game.model.isRoundOver() || game.model.isGameOver()) {
+                fail("No round to start.");
+                return;
+            }
+            game.newTurn();
+            game.model.startNewRound();
+            result(true, UnoFlipProtocol.NONE);
+        }
+
+        /**
+         * Checks the game is running and the current seat is this connection's, answering with an error if not.
+         */
+        private boolean onTurn() {
+            if (game == null || !game.started) {
+                fail("The game has not started.");
+            } else if (game.model.isRoundOver()) {
+                fail(game.model.isGameOver() ? "Game is over!" : "The round is over.");
+            } else if (game.seats[game.model.getCurrentTurn()] != this) {
+                fail("It is not your turn.");
+            } else {
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Answers a command with an error.
+         */
+        private void fail(String message) {
+            displayError(message);
+            result(false, UnoFlipProtocol.NONE);
+        }
+
+        private void result(boolean ok, int value) {
+            ByteBuffer frame = frame(2);
+            int start = UnoFlipProtocol.beginFrame(frame, UnoFlipProtocol.RESULT);
+            frame.put((byte) (ok ? 1 : 0)).put((byte) value);
+            UnoFlipProtocol.endFrame(frame, start);
+        }
+
+        private void sendGame(int gameId, int seat) {
+            ByteBuffer frame = frame(5);
+            int start = UnoFlipProtocol.beginFrame(frame, UnoFlipProtocol.GAME);
+            frame.putInt(gameId).put((byte) seat);
+            UnoFlipProtocol.endFrame(frame, start);
+        }
+
+        /**
+         * Sends the new game state: everyone's scores and hand sizes, and this player's hand.
+         *
+         * @param event the UnoFlipEvent describing the update
+         */
+        @Override
+        public void update(UnoFlipEvent event) {
+            UnoFlipModel model = event.getModel();
+            List<Player> players = model.getPlayers();
+            int current = model.getCurrentTurn();
+            boolean myTurn = game.seats[current] == this;
+            PackedCards hand = players.get(myTurn ? current : firstSeat).getPackedHand();
+
+            ByteBuffer frame = frame(6 + 3 * players.size() + hand.size());
+            int start = UnoFlipProtocol.beginFrame(frame, UnoFlipProtocol.UPDATE);
+            frame.put((byte) ((event.isRoundOver() ? UnoFlipProtocol.ROUND_OVER : 0)
+                    | (event.isGameOver() ? UnoFlipProtocol.GAME_OVER : 0)
+                    | (myTurn ? UnoFlipProtocol.MY_TURN : 0)));
+            frame.put((byte) current);
+            frame.put(event.getTopCard() == null ? (byte) UnoFlipProtocol.NONE : event.getTopCard().getCode());
+            frame.put((byte) UnoFlipProtocol.colourCode(event.getForcedColour()));
+            frame.put((byte) players.size());
+            for (int i = 0; i < players.size(); i++) {
+                Player p = players.get(i);
+                frame.putShort((short) p.getScore()).put((byte) p.getPackedHand().size());
+            }
+            frame.put((byte) hand.size());
+            for (int i = 0; i < hand.size(); i++) {
+                frame.put(hand.get(i));
+            }
+            UnoFlipProtocol.endFrame(frame, start);
+        }
+
+        @Override
+        public void displayMessage(String message) {
+            sendText(UnoFlipProtocol.MESSAGE, message);
+        }
+
+        @Override
+        public void displayError(String message) {
+            sendText(UnoFlipProtocol.ERROR, message);
+        }
+
+        private void sendText(byte type, String text) {
+            ByteBuffer frame = frame(1 + Math.min(0xFF, 3 * text.length()));
+            int start = UnoFlipProtocol.beginFrame(frame, type);
+            UnoFlipProtocol.putString(frame, text);
+            UnoFlipProtocol.endFrame(frame, start);
+        }
+
+        /**
+         * Makes room in the output buffer for a frame and queues the connection to be flushed.
+         *
+         * @param payload The most payload bytes the frame will hold
+         * @return The output buffer, ready for the frame
+         */
+        private ByteBuffer frame(int payload) {
+            int needed = UnoFlipProtocol.HEADER_SIZE + payload;
+            if (out.remaining() < needed) {
+                int size = out.capacity();
+                while (size - out.position() < needed) size *= 2;
+                if (size > MAX_OUTPUT) {
+                    // Too far behind, write into a buffer that is thrown away. The connection is
+                    // closed by flush(), not here: this may be the model notifying its views, and
+                    // closing would end the game under the views still to be notified
+                    tooSlow = true;
+                    scratch.clear();
+                    queue();
+                    return scratch;
+                }
+                out = ByteBuffer.allocate(size).put(out.flip());
+            }
+            queue();
+            return out;
+        }
+
+        /**
+         * Queues the connection to be flushed after the commands read in this pass.
+         */
+        private void queue() {
+            if (!queued && channel.isOpen()) {
+                queued = true;
+                unflushed.add(this);
+            }
+        }
+
+        /**
+         * Writes as much output as the socket takes, waiting for OP_WRITE if it is full.
+         * Closes the connection instead if it fell too far behind.
+         */
+        void flush() {
+            queued = false;
+            if (!channel.isOpen()) return;
+            if (tooSlow) {
+                close();
+                return;
+            }
+            out.flip();
+            try {
+                channel.write(out);
+            } catch (IOException e) {
+                close();
+                return;
+            }
+            out.compact();
+            if (key.isValid()) {
+                key.interestOps(out.position() > 0
+                        ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+            }
+        }
+
+        /**
+         * Closes the connection and ends its game, telling the other players.
+         */
+        void close() {
+            if (!channel.isOpen()) return;
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // closed anyway
+            }
+            connectionCount--;
+            Game left = game;
+            game = null;
+            if (left == null) return;
+            games.remove(left.id);
+            List<Connection> others = new ArrayList<>();
+            for (Connection seat : left.seats) {
+                if (seat != this && !others.contains(seat)) others.add(seat);
+            }
+            for (Connection other : others) {
+                other.game = null;
+                other.displayError(left.names[firstSeat] + " left, the game is over.");
+                other.sendGame(UnoFlipProtocol.NO_GAME, 0);
+            }
+        }
+    }
+}
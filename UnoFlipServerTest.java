@@ -0,0 +1,174 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the functionality of the UnoFlipServer and UnoFlipClient classes.
+ * This test suite plays games over loopback connections and checks the
+ * remote players see exactly what a local model shows, that the turn rules
+ * hold, and that one server thread handles many connections.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+class UnoFlipServerTest {
+    private UnoFlipServer server;
+    private InetSocketAddress address;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new UnoFlipServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.start();
+        address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    /**
+     * A client holding every seat plays a whole round, and sees the same game as a local model given the same moves.
+     */
+    @Test
+    void remoteGameMatchesLocalModel() throws Exception {
+        UnoFlipModel local = new UnoFlipModel(99L);
+        try (UnoFlipClient client = new UnoFlipClient(address)) {
+            int game = client.create("Ann", 3, 99L);
+            assertNotEquals(UnoFlipProtocol.NO_GAME, game);
+            assertTrue(client.start());
+            local.initializeGame(List.of("Ann", "Ann 2", "Ann 3"));
+
+            for (int turn = 0; turn < 500 && !client.isRoundOver(); turn++) {
+                assertTrue(client.isMyTurn());
+                assertEquals(local.getCurrentTurn(), client.getCurrentSeat());
+                assertEquals(local.getTopCard(), client.getTopCard());
+                assertEquals(local.getCurrentPlayer().getHand(), client.getHand().asList());
+
+                int index = client.findPlayableCard();
+                if (index < 0) {
+                    // Draw, and end the turn without playing
+                    assertEquals(local.playerDrawsCard(), client.drawCard());
+                } else {
+                    Card.colortype colour = client.getHand().getCard(index).getColor() == Card.colortype.ALL
+                            ? Card.colortype.BLUE : null;
+                    assertTrue(client.playCard(index, colour));
+                    assertTrue(local.playCard(index, colour));
+                }
+                if (!client.isRoundOver()) {
+                    assertTrue(client.nextPlayer());
+                    local.advanceToNextPlayer();
+                }
+            }
+            assertTrue(client.isRoundOver());
+            for (int seat = 0; seat < 3; seat++) {
+                assertEquals(local.getPlayers().get(seat).getScore(), client.getScore(seat));
+                assertEquals(local.getPlayers().get(seat).getHand().size(), client.getHandSize(seat));
+            }
+        }
+    }
+
+    /**
+     * Players only move on their own turn, and follow the controller's one action per turn rule.
+     */
+    @Test
+    void turnRulesAreEnforced() throws Exception {
+        try (UnoFlipClient ann = new UnoFlipClient(address); UnoFlipClient bo = new UnoFlipClient(address)) {
+            int game = ann.create("Ann", 2, 5L);
+            assertEquals(1, bo.join(game, "Bo"));
+            try (UnoFlipClient cy = new UnoFlipClient(address)) {
+                assertEquals(-1, cy.join(game, "Cy"));
+            }
+            assertFalse(bo.start());
+            assertTrue(ann.start());
+
+            assertTrue(ann.isMyTurn());
+            assertNull(bo.drawCard());
+            assertEquals("It is not your turn.", bo.getLastError());
+
+            assertFalse(ann.nextPlayer());
+            assertNotNull(ann.drawCard());
+            assertNull(ann.drawCard());
+            assertTrue(ann.nextPlayer());
+
+            assertTrue(bo.awaitTurn());
+            assertEquals(1, bo.getCurrentSeat());
+            assertEquals(7, bo.getHand().size());
+            assertEquals(8, bo.getHandSize(0));
+        }
+    }
+
+    /**
+     * With every card in the players' hands, a draw that finds nothing still lets the player end the turn.
+     */
+    @Test
+    void drawingFromExhaustedDeckEndsTurn() throws Exception {
+        try (UnoFlipClient client = new UnoFlipClient(address)) {
+            client.create("Ann", 2, 5L);
+            assertTrue(client.start());
+            int drawn = 0;
+            while (client.drawCard() != null) {
+                drawn++;
+                assertTrue(client.nextPlayer());
+            }
+            assertEquals(Deck.DECK_SIZE - 2 * 7 - 1, drawn);
+            assertNull(client.getLastError());
+            assertEquals("No cards are left to draw.", client.getLastMessage());
+
+            int seat = client.getCurrentSeat();
+            assertTrue(client.nextPlayer());
+            assertNotEquals(seat, client.getCurrentSeat());
+        }
+    }
+
+    /**
+     * When a player disconnects the other players' game ends.
+     */
+    @Test
+    void disconnectEndsGame() throws Exception {
+        try (UnoFlipClient bo = new UnoFlipClient(address)) {
+            UnoFlipClient ann = new UnoFlipClient(address);
+            int game = ann.create("Ann", 2, 5L);
+            bo.join(game, "Bo");
+            ann.start();
+            ann.close();
+
+            assertFalse(bo.awaitTurn());
+            assertEquals(UnoFlipProtocol.NO_GAME, bo.getGameId());
+            assertEquals("Ann left, the game is over.", bo.getLastError());
+        }
+    }
+
+    /**
+     * One server thread serves many connections at once.
+     */
+    @Test
+    void servesManyConnections() throws Exception {
+        List<UnoFlipClient> clients = new ArrayList<>();
+        try {
+            for (int i = 0; i < 500; i++) {
+                UnoFlipClient client = new UnoFlipClient(address);
+                clients.add(client);
+                assertNotEquals(UnoFlipProtocol.NO_GAME, client.create("P" + i, 2, i));
+                assertTrue(client.start());
+            }
+            assertEquals(500, server.getConnectionCount());
+            for (UnoFlipClient client : clients) {
+                assertNotNull(client.drawCard());
+                assertTrue(client.nextPlayer());
+                assertEquals(1, client.getCurrentSeat());
+            }
+        } finally {
+            for (UnoFlipClient client : clients) {
+                client.close();
+            }
+        }
+    }
+}
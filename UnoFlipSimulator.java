@@ -0,0 +1,213 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * UnoFlipSimulator - plays full UnoFlip matches without any GUI.
+ *
+ * The simulator drives the UnoFlipModel directly, the same way the
+ * UnoFlipController does from button clicks, so that very large numbers
+ * of matches can be run at full speed for tuning rules and bots.
+ *
+ * Each turn follows the controller's rules: the current player either
+ * plays one legal card, or draws one card and may then play only that
+ * drawn card. The turn always ends with Next Player. When a round ends
+ * a new round is started until a player reaches the target score.
+ *
+ * Each seat's moves are chosen by a PlayerStrategy, FirstPlayableStrategy
+ * unless others are given. A model with more seats than strategies
+ * reuses them from the first.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public class UnoFlipSimulator {
+    private static final int DEFAULT_GAMES = 1000;
+    private static final int DEFAULT_PLAYERS = 4;
+    private static final int INITIAL_ROUNDS = 16;
+
+    private static final PlayerStrategy DEFAULT_STRATEGY = new FirstPlayableStrategy();
+
+    private final List<String> playerNames;
+    private final PlayerStrategy[] strategies;
+
+    /**
+     * Constructs a simulator for matches between the given number of players.
+     *
+     * @param numPlayers The number of players at the table (2-4)
+     */
+    public UnoFlipSimulator(int numPlayers) {
+        this(Collections.nCopies(numPlayers, DEFAULT_STRATEGY));
+    }
+
+    /**
+     * Constructs a simulator for matches between bots, one per seat.
+     * Strategies with state must not be shared with simulators on other threads.
+     *
+     * @param strategies The strategy of each seat in turn order (2-4)
+     */
+    public UnoFlipSimulator(List<PlayerStrategy> strategies) {
+        int numPlayers = strategies.size();
+        if (numPlayers < 2 || numPlayers > 4) {
+            throw new IllegalArgumentException("Number of players must be between 2 and 4.");
+        }
+        playerNames = new ArrayList<>();
+        for (int i = 1; i <= numPlayers; i++) {
+            playerNames.add("Player " + i);
+        }
+        this.strategies = strategies.toArray(new PlayerStrategy[0]);
+    }
+
+    /**
+     * Plays one full match, until a player reaches the target score.
+     *
+     * @return The result of the match
+     */
+    public MatchResult playMatch() {
+        return playMatch(new SplittableRandom());
+    }
+
+    /**
+     * Plays one full match with every deck shuffled by the given generator.
+     * The same seed always plays out the same match.
+     *
+     * @param random The random number generator for shuffling
+     * @return The result of the match
+     */
+    public MatchResult playMatch(RandomGenerator random) {
+        UnoFlipModel model = new UnoFlipModel(random);
+        model.initializeGame(playerNames);
+        List<Player> players = model.getPlayers();
+
+        int[] roundWinners = new int[INITIAL_ROUNDS];
+        int[] roundPoints = new int[INITIAL_ROUNDS];
+        int[] roundTurns = new int[INITIAL_ROUNDS];
+        int rounds = 0;
+        int turns = 0;
+        while (true) {
+            playTurn(model);
+            turns++;
+
+            if (model.isRoundOver()) {
+                if (rounds == roundWinners.length) {
+                    roundWinners = Arrays.copyOf(roundWinners, rounds * 2);
+                    roundPoints = Arrays.copyOf(roundPoints, rounds * 2);
+                    roundTurns = Arrays.copyOf(roundTurns, rounds * 2);
+                }
+                roundWinners[rounds] = players.indexOf(model.getRoundWinner());
+                roundPoints[rounds] = model.getLastRoundPoints();
+                roundTurns[rounds] = turns;
+                rounds++;
+                turns = 0;
+
+                if (model.isGameOver()) {
+                    break;
+                }
+                model.startNewRound();
+            }
+        }
+
+        int[] scores = new int[players.size()];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = players.get(i).getScore();
+        }
+        return new MatchResult(players.indexOf(model.getWinner()), scores, rounds,
+                roundWinners, roundPoints, roundTurns);
+    }
+
+    /**
+     * Plays turns on a model, dealing a new round whenever one ends.
+     *
+     * @param model The model to play on
+     * @param turns The most turns to play, fewer if the match ends first
+     */
+    void playTurns(UnoFlipModel model, int turns) {
+        for (int t = 0; t < turns && !model.isGameOver(); t++) {
+            if (model.isRoundOver()) {
+                model.startNewRound();
+            }
+            playTurn(model);
+        }
+    }
+
+    /**
+     * Plays a single turn for the current player.
+     * Mirrors the controller: the seat's strategy plays a card, or draws and may play the drawn card,
+     * then presses Next Player unless the round ended.
+     *
+     * @param model The model to play the turn on
+     */
+    void playTurn(UnoFlipModel model) {
+        if (model.isRoundOver()) return;
+        PlayerStrategy strategy = strategies[model.getCurrentTurn() % strategies.length];
+        ModelPlayerView view = model.getPlayerView();
+        view.setDrawnCardIndex(-1);
+
+        int move = strategy.chooseMove(view);
+        if (!PlayerMove.isPlay(move) || !tryPlay(model, view, move)) {
+            // Draw one card, only the drawn card may be played afterwards
+            if (model.playerDrawsCard() != null) {
+                view.setDrawnCardIndex(view.getHandSize() - 1);
+                move = strategy.chooseMove(view);
+                if (PlayerMove.isPlay(move)) {
+                    tryPlay(model, view, move);
+                }
+                view.setDrawnCardIndex(-1);
+            }
+        }
+
+        if (!model.isRoundOver()) {
+            model.advanceToNextPlayer();
+        }
+    }
+
+    /**
+     * Attempts a play chosen by a strategy.
+     *
+     * @param model The model to play on
+     * @param view The view the play was chosen on
+     * @param move The play
+     * @return true if the card was played, otherwise false if the move is illegal
+     */
+    private boolean tryPlay(UnoFlipModel model, ModelPlayerView view, int move) {
+        int index = PlayerMove.cardIndex(move);
+        int drawn = view.getDrawnCardIndex();
+        if (drawn >= 0 && index != drawn) return false;
+        return model.playCard(index, PlayerMove.colour(move));
+    }
+
+    /**
+     * Runs a batch of matches and reports throughput and wins by seat.
+     *
+     * @param args Optional number of games and number of players
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+        int numPlayers = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PLAYERS;
+
+        UnoFlipSimulator simulator = new UnoFlipSimulator(numPlayers);
+        int[] wins = new int[numPlayers];
+        long rounds = 0;
+        long turns = 0;
+
+        long start = System.nanoTime();
+        for (int g = 0; g < games; g++) {
+            MatchResult result = simulator.playMatch();
+            wins[result.getWinnerSeat()]++;
+            rounds += result.getRounds();
+            turns += result.getTurns();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("Games: %d  Players: %d  Time: %.2f s%n", games, numPlayers, seconds);
+        System.out.printf("Games per second: %.1f%n", games / seconds);
+        System.out.printf("Average rounds per game: %.2f  Average turns per game: %.1f%n",
+                (double) rounds / games, (double) turns / games);
+        for (int i = 0; i < numPlayers; i++) {
+            System.out.printf("Seat %d wins: %d (%.1f%%)%n", i, wins[i], 100.0 * wins[i] / games);
+        }
+    }
+}
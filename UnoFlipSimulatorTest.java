@@ -0,0 +1,63 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the functionality of the UnoFlipSimulator class.
+ * This test suite makes sure simulated matches follow the
+ * match rules and produce a consistent result.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+class UnoFlipSimulatorTest {
+
+    /**
+     * A simulated match ends with exactly one winner at or above the target score.
+     */
+    @Test
+    void playMatchEndsWithWinner() {
+        UnoFlipSimulator simulator = new UnoFlipSimulator(3);
+        MatchResult result = simulator.playMatch();
+
+        assertEquals(3, result.getPlayerCount());
+        assertTrue(result.getWinnerSeat() >= 0 && result.getWinnerSeat() < 3);
+        assertTrue(result.getFinalScore(result.getWinnerSeat()) >= 500);
+        assertTrue(result.getRounds() >= 1);
+        assertTrue(result.getTurns() >= result.getRounds());
+    }
+
+    /**
+     * Only 2 to 4 players are allowed at a table.
+     */
+    @Test
+    void rejectsInvalidPlayerCount() {
+        assertThrows(IllegalArgumentException.class, () -> new UnoFlipSimulator(1));
+        assertThrows(IllegalArgumentException.class, () -> new UnoFlipSimulator(5));
+    }
+
+    /**
+     * Matches played with the same seed play out identically, round by round.
+     */
+    @Test
+    void sameSeedSameMatch() {
+        UnoFlipSimulator simulator = new UnoFlipSimulator(4);
+        MatchResult first = simulator.playMatch(new SplittableRandom(99));
+        MatchResult second = simulator.playMatch(new SplittableRandom(99));
+
+        assertEquals(first.getWinnerSeat(), second.getWinnerSeat());
+        assertEquals(first.getRounds(), second.getRounds());
+        for (int r = 0; r < first.getRounds(); r++) {
+            assertEquals(first.getRoundWinnerSeat(r), second.getRoundWinnerSeat(r));
+            assertEquals(first.getRoundPoints(r), second.getRoundPoints(r));
+            assertEquals(first.getRoundTurns(r), second.getRoundTurns(r));
+        }
+        int points = 0;
+        for (int r = 0; r < first.getRounds(); r++) {
+            if (first.getRoundWinnerSeat(r) == first.getWinnerSeat()) points += first.getRoundPoints(r);
+        }
+        assertEquals(first.getFinalScore(first.getWinnerSeat()), points);
+    }
+}
@@ -0,0 +1,217 @@
+import java.util.List;
+
+/**
+ * UnoFlipSnapshot - an immutable copy of a game's state at one version.
+ *
+ * ConcurrentUnoFlipModel publishes a new snapshot after every command it
+ * applies, so any number of threads can read a consistent game without
+ * locking, while commands change the model. Hands are kept as card codes
+ * and only turned into Cards when asked for.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public final class UnoFlipSnapshot {
+    private final long version;
+    private final int currentTurn;
+    private final int direction;
+    private final Card topCard;
+    private final Card.colortype forcedColour;
+    private final boolean roundOver;
+    private final boolean gameOver;
+    private final int roundWinner;
+    private final int winner;
+    private final Card drawnCard;
+    private final String[] names;
+    private final int[] scores;
+    private final byte[][] hands;
+
+    /**
+     * Copies the state of a model.
+     *
+     * @param model The model, which must not change while it is copied
+     * @param version The version the copy is taken at
+     * @param drawnCard The card drawn by the command that made this version, otherwise null
+     */
+    UnoFlipSnapshot(UnoFlipModel model, long version, Card drawnCard) {
+        List<Player> players = model.getPlayers();
+        int n = players.size();
+        this.version = version;
+        this.currentTurn = model.getCurrentTurn();
+        this.direction = model.getDirection();
+        this.topCard = model.getTopCard();
+        this.forcedColour = model.getForcedColour();
+        this.roundOver = model.isRoundOver();
+        this.gameOver = model.isGameOver();
+        this.roundWinner = players.indexOf(model.getRoundWinner());
+        this.winner = players.indexOf(model.getWinner());
+        this.drawnCard = drawnCard;
+        this.names = new String[n];
+        this.scores = new int[n];
+        this.hands = new byte[n][];
+        for (int seat = 0; seat < n; seat++) {
+            Player player = players.get(seat);
+            PackedCards hand = player.getPackedHand();
+            names[seat] = player.getName();
+            scores[seat] = player.getScore();
+            hands[seat] = new byte[hand.size()];
+            for (int i = 0; i < hands[seat].length; i++) {
+                hands[seat][i] = hand.get(i);
+            }
+        }
+    }
+
+    /**
+     * Gets the version this snapshot was taken at, to issue commands against.
+     *
+     * @return The number of commands applied before this snapshot
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the index of the current player in turn order.
+     *
+     * @return The current player's seat
+     */
+    public int getCurrentTurn() {
+        return currentTurn;
+    }
+
+    /**
+     * Gets the direction of play.
+     *
+     * @return +1 for clockwise, -1 for counter-clockwise
+     */
+    public int getDirection() {
+        return direction;
+    }
+
+    /**
+     * Gets the top card of the discard pile.
+     *
+     * @return The top Card
+     */
+    public Card getTopCard() {
+        return topCard;
+    }
+
+    /**
+     * Gets the colour chosen for the wild card on top of the discard pile.
+     *
+     * @return The forced colour if a wild effect is active, otherwise null
+     */
+    public Card.colortype getForcedColour() {
+        return forcedColour;
+    }
+
+    /**
+     * Checks whether the round is over.
+     *
+     * @return true if the round is over, otherwise false
+     */
+    public boolean isRoundOver() {
+        return roundOver;
+    }
+
+    /**
+     * Checks whether the game has ended.
+     *
+     * @return true if the game is over, otherwise false
+     */
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    /**
+     * Gets the seat that won the last round.
+     *
+     * @return The winner's seat, or -1 if the round is not over
+     */
+    public int getRoundWinner() {
+        return roundWinner;
+    }
+
+    /**
+     * Gets the seat that won the game.
+     *
+     * @return The winner's seat, or -1 if the game is not over
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    /**
+     * Gets the card drawn by the command that made this version.
+     *
+     * @return The drawn Card, or null if the last command did not draw
+     */
+    public Card getDrawnCard() {
+        return drawnCard;
+    }
+
+    /**
+     * Gets the number of players.
+     *
+     * @return The number of seats
+     */
+    public int getPlayerCount() {
+        return names.length;
+    }
+
+    /**
+     * Gets a player's name.
+     *
+     * @param seat The player's seat
+     * @return The name
+     */
+    public String getName(int seat) {
+        return names[seat];
+    }
+
+    /**
+     * Gets a player's score.
+     *
+     * @param seat The player's seat
+     * @return The score
+     */
+    public int getScore(int seat) {
+        return scores[seat];
+    }
+
+    /**
+     * Gets the number of cards a player holds.
+     *
+     * @param seat The player's seat
+     * @return The hand size
+     */
+    public int getHandSize(int seat) {
+        return hands[seat].length;
+    }
+
+    /**
+     * Gets one card of a player's hand.
+     *
+     * @param seat The player's seat
+     * @param index The card's index in the hand
+     * @return The Card
+     */
+    public Card getCard(int seat, int index) {
+        return Card.fromCode(hands[seat][index] & 0xFF);
+    }
+
+    /**
+     * Gets a player's hand.
+     *
+     * @param seat The player's seat
+     * @return An unmodifiable list of the player's cards
+     */
+    public List<Card> getHand(int seat) {
+        Card[] cards = new Card[hands[seat].length];
+        for (int i = 0; i < cards.length; i++) {
+            cards[i] = getCard(seat, i);
+        }
+        return List.of(cards);
+    }
+}
@@ -0,0 +1,536 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * UnoFlipViewBus - delivers model notifications to each view on its own thread.
+ *
+ * UnoFlipModel.notifyViews() calls every view in turn on the thread that
+ * changed the model, so one slow view (a log written to disk, a spectator
+ * over the network) holds up the game for everyone. The bus is registered
+ * with the model as a single view. It copies the game state of each
+ * update into an immutable UnoFlipSnapshot, so later changes to the model
+ * cannot reach a queued update, puts the copy in a bounded queue per
+ * subscribed view and returns at once. Each view has a
+ * delivery thread that takes notifications off its queue and passes them
+ * on in order.
+ *
+ * When a view falls so far behind that its queue is full, its
+ * OverflowPolicy decides what happens to the next notification. Every
+ * subscription keeps counts and timings so a lagging view can be spotted.
+ *
+ * Views are called on their delivery thread, and may be called after the
+ * model has moved on. A view should read what it needs from the event,
+ * which is an Update holding the copy, not from the live model that
+ * getModel() returns. Swing views must still pass their work on to
+ * the event dispatch thread. A view with the BLOCK policy must not take
+ * the model's lock, since the thread it would hold up may be holding it.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public class UnoFlipViewBus implements UnoFlipView {
+
+    /**
+     * What to do with a notification for a view whose queue is full.
+     */
+    public enum OverflowPolicy {
+        /** Throw away the oldest queued notification to make room. */
+        DROP_OLDEST,
+        /**
+         * Replace the newest queued update with the new one, since an update carries the
+         * whole game state and the newest one supersedes it. Messages are never replaced,
+         * if the newest queued notification is a message the oldest is dropped instead.
+         */
+        COALESCE,
+        /** Make the thread changing the model wait until the view catches up. */
+        BLOCK
+    }
+
+    // Kinds of queued notification
+    private static final int UPDATE = 0;
+    private static final int MESSAGE = 1;
+    private static final int ERROR = 2;
+
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+    private final List<Subscription> subscriptions;
+    // Number of updates copied so far, the version of the next copy
+    private final AtomicLong updates;
+
+    /**
+     * Constructs a bus with no subscribed views.
+     */
+    public UnoFlipViewBus() {
+        this.subscriptions = new ArrayList<>();
+        this.updates = new AtomicLong();
+    }
+
+    /**
+     * Subscribes a view, starting its delivery thread.
+     *
+     * @param view The view to deliver notifications to
+     * @param capacity The most notifications that may wait for the view
+     * @param policy What to do with a notification when capacity are already waiting
+     * @return The subscription, for its statistics and to cancel it
+     */
+    public Subscription subscribe(UnoFlipView view, int capacity, OverflowPolicy policy) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1.");
+        }
+        Subscription subscription = new Subscription(view, capacity, policy);
+        synchronized (subscriptions) {
+            subscriptions.add(subscription);
+        }
+        subscription.thread.start();
+        return subscription;
+    }
+
+    /**
+     * Cancels every subscription. Notifications still queued are not delivered.
+     */
+    public void close() {
+        List<Subscription> all;
+        synchronized (subscriptions) {
+            all = new ArrayList<>(subscriptions);
+        }
+        for (Subscription subscription : all) {
+            subscription.cancel();
+        }
+    }
+
+    /**
+     * Copies a model update and queues the copy for every subscribed view.
+     * Called on the thread that changed the model, while the model is not changing.
+     *
+     * @param event the UnoFlipEvent describing the update
+     */
+    @Override
+    public void update(UnoFlipEvent event) {
+        synchronized (subscriptions) {
+            if (subscriptions.isEmpty()) return;
+        }
+        publish(UPDATE, new Update(event, new UnoFlipSnapshot(event.getModel(), updates.getAndIncrement(), null)));
+    }
+
+    /**
+     * Queues a message for every subscribed view.
+     */
+    @Override
+    public void displayMessage(String message) {
+        publish(MESSAGE, message);
+    }
+
+    /**
+     * Queues an error for every subscribed view.
+     */
+    @Override
+    public void displayError(String message) {
+        publish(ERROR, message);
+    }
+
+    /**
+     * Queues a notification for every subscribed view.
+     */
+    private void publish(int kind, Object payload) {
+        Subscription[] all;
+        synchronized (subscriptions) {
+            all = subscriptions.toArray(new Subscription[0]);
+        }
+        for (Subscription subscription : all) {
+            subscription.offer(kind, payload);
+        }
+    }
+
+    /**
+     * An update as the bus delivers it: every answer comes from a copy of the
+     * game taken when the model notified the bus, never from the live model.
+     */
+    public static final class Update extends UnoFlipEvent {
+        private static final long serialVersionUID = 1L;
+
+        private final UnoFlipSnapshot snapshot;
+        private final boolean hasCurrentPlayer;
+
+        Update(UnoFlipEvent event, UnoFlipSnapshot snapshot) {
+            // The flags, top card and colour are immutable values, only the player must be copied
+            super(event.getModel(), event.isRoundOver(), event.isGameOver(), null,
+                    event.getTopCard(), event.getForcedColour());
+            this.snapshot = snapshot;
+            this.hasCurrentPlayer = event.getCurrentPlayer() != null;
+        }
+
+        /**
+         * Gets the copy of the game taken for this update.
+         *
+         * @return The snapshot, versioned by the number of updates the bus copied before it
+         */
+        public UnoFlipSnapshot getSnapshot() {
+            return snapshot;
+        }
+
+        /**
+         * Gets a new Player holding a copy of the current player's name, score and hand,
+         * which nothing else refers to.
+         *
+         * @return The current player when the update was made, or null if there were no players
+         */
+        @Override
+        public Player getCurrentPlayer() {
+            if (!hasCurrentPlayer || snapshot.getPlayerCount() == 0) return null;
+            int seat = snapshot.getCurrentTurn();
+            Player player = new Player(snapshot.getName(seat));
+            player.increaseScore(snapshot.getScore(seat));
+            for (int i = 0; i < snapshot.getHandSize(seat); i++) {
+                player.addCard(snapshot.getCard(seat, i));
+            }
+            return player;
+        }
+    }
+
+    /**
+     * One view's queue, delivery thread and statistics.
+     */
+    public class Subscription {
+        private final UnoFlipView view;
+        private final OverflowPolicy policy;
+        private final Thread thread;
+
+        // Ring of queued notifications, guarded by lock
+        private final int[] kinds;
+        private final Object[] payloads;
+        private final long[] queuedAt;
+        private int head;
+        private int count;
+        private boolean cancelled;
+        private final ReentrantLock lock;
+        private final Condition notEmpty;
+        private final Condition notFull;
+
+        // Statistics, guarded by lock
+        private long published;
+        private long delivered;
+        private long dropped;
+        private long coalesced;
+        private long failed;
+        private long totalLagNanos;
+        private long maxLagNanos;
+        private long lastLagNanos;
+
+        Subscription(UnoFlipView view, int capacity, OverflowPolicy policy) {
+            this.view = view;
+            this.policy = policy;
+            this.kinds = new int[capacity];
+            this.payloads = new Object[capacity];
+            this.queuedAt = new long[capacity];
+            this.lock = new ReentrantLock();
+            this.notEmpty = lock.newCondition();
+            this.notFull = lock.newCondition();
+            this.thread = new Thread(this::deliver, "view-bus-" + THREAD_NUMBER.incrementAndGet());
+            this.thread.setDaemon(true);
+        }
+
+        /**
+         * Queues a notification, applying the overflow policy if the queue is full.
+         */
+        void offer(int kind, Object payload) {
+            lock.lock();
+            try {
+                if (cancelled) return;
+                published++;
+                int capacity = kinds.length;
+                if (count == capacity) {
+                    int newest = (head + count - 1) % capacity;
+                    if (policy == OverflowPolicy.BLOCK) {
+                        while (count == capacity && !cancelled) {
+                            notFull.awaitUninterruptibly();
+                        }
+                        if (cancelled) return;
+                    } else if (policy == OverflowPolicy.COALESCE && kind == UPDATE && kinds[newest] == UPDATE) {
+                        // Keep the time the replaced update was queued, it has waited that long
+                        payloads[newest] = payload;
+                        coalesced++;
+                        return;
+                    } else {
+                        payloads[head] = null;
+                        head = (head + 1) % capacity;
+                        count--;
+                        dropped++;
+                    }
+                }
+                int tail = (head + count) % capacity;
+                kinds[tail] = kind;
+                payloads[tail] = payload;
+                queuedAt[tail] = System.nanoTime();
+                count++;
+                notEmpty.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * The delivery thread: passes queued notifications on to the view until cancelled.
+         */
+        private void deliver() {
+            while (true) {
+                int kind;
+                Object payload;
+                long waitedSince;
+                lock.lock();
+                try {
+                    while (count == 0 && !cancelled) {
+                        notEmpty.awaitUninterruptibly();
+                    }
+                    if (cancelled) return;
+                    kind = kinds[head];
+                    payload = payloads[head];
+                    waitedSince = queuedAt[head];
+                    payloads[head] = null;
+                    head = (head + 1) % kinds.length;
+                    count--;
+                    notFull.signal();
+                } finally {
+                    lock.unlock();
+                }
+
+                boolean ok = true;
+                try {
+                    switch (kind) {
+                        case UPDATE:
+                            view.update((UnoFlipEvent) payload);
+                            break;
+                        case MESSAGE:
+                            view.displayMessage((String) payload);
+                            break;
+                        default:
+                            view.displayError((String) payload);
+                            break;
+                    }
+                } catch (RuntimeException e) {
+                    // A failing view must not stop its own deliveries or anyone else's
+                    ok = false;
+                }
+
+                long lag = System.nanoTime() - waitedSince;
+                lock.lock();
+                try {
+                    if (ok) delivered++; else failed++;
+                    totalLagNanos += lag;
+                    lastLagNanos = lag;
+                    maxLagNanos = Math.max(maxLagNanos, lag);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        /**
+         * Unsubscribes the view and stops its delivery thread.
+         * Notifications still queued are not delivered.
+         */
+        public void cancel() {
+            lock.lock();
+            try {
+                cancelled = true;
+                notEmpty.signalAll();
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            synchronized (subscriptions) {
+                subscriptions.remove(this);
+            }
+        }
+
+        /**
+         * Waits until every queued notification has been delivered, or the time runs out.
+         *
+         * @param timeout The longest time to wait
+         * @param unit The unit of timeout
+         * @return true if the queue is empty and the last notification was handled, otherwise false
+         * @throws InterruptedException if interrupted while waiting
+         */
+        public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            while (true) {
+                lock.lock();
+                try {
+                    if (count == 0 && delivered + failed + dropped + coalesced == published) return true;
+                } finally {
+                    lock.unlock();
+                }
+                if (System.nanoTime() >= deadline) return false;
+                Thread.sleep(1);
+            }
+        }
+
+        /**
+         * Gets the view this subscription delivers to.
+         *
+         * @return The subscribed view
+         */
+        public UnoFlipView getView() {
+            return view;
+        }
+
+        /**
+         * Gets the view's overflow policy.
+         *
+         * @return The policy applied when the queue is full
+         */
+        public OverflowPolicy getPolicy() {
+            return policy;
+        }
+
+        /**
+         * Gets the number of notifications waiting for the view.
+         *
+         * @return The queue length
+         */
+        public int getQueued() {
+            lock.lock();
+            try {
+                return count;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Gets the number of notifications published to the view.
+         *
+         * @return The number published, including any dropped or coalesced
+         */
+        public long getPublished() {
+            lock.lock();
+            try {
+                return published;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Gets the number of notifications the view handled.
+         *
+         * @return The number delivered without the view throwing
+         */
+        public long getDelivered() {
+            lock.lock();
+            try {
+                return delivered;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Gets the number of notifications thrown away because the queue was full.
+         *
+         * @return The number dropped
+         */
+        public long getDropped() {
+            lock.lock();
+            try {
+                return dropped;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Gets the number of updates folded into a newer one because the queue was full.
+         *
+         * @return The number coalesced
+         */
+        public long getCoalesced() {
+            lock.lock();
+            try {
+                return coalesced;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Gets the number of notifications the view threw an exception for.
+         *
+         * @return The number failed
+         */
+        public long getFailed() {
+            lock.lock();
+            try {
+                return failed;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Gets the time the last delivered notification spent between being queued and being handled.
+         *
+         * @return The last lag in nanoseconds
+         */
+        public long getLastLagNanos() {
+            lock.lock();
+            try {
+                return lastLagNanos;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Gets the longest time a notification spent between being queued and being handled.
+         *
+         * @return The maximum lag in nanoseconds
+         */
+        public long getMaxLagNanos() {
+            lock.lock();
+            try {
+                return maxLagNanos;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Gets the average time notifications spent between being queued and being handled.
+         *
+         * @return The mean lag in nanoseconds
+         */
+        public double getAverageLagNanos() {
+            lock.lock();
+            try {
+                long handled = delivered + failed;
+                return handled == 0 ? 0 : (double) totalLagNanos / handled;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Describes the subscription's statistics.
+         *
+         * @return The statistics on one line
+         */
+        @Override
+        public String toString() {
+            lock.lock();
+            try {
+                long handled = delivered + failed;
+                return String.format("%s %s: queued %d, published %d, delivered %d, dropped %d, coalesced %d, failed %d, "
+                                + "lag avg %.1f us max %.1f us",
+                        thread.getName(), policy, count, published, delivered, dropped, coalesced, failed,
+                        handled == 0 ? 0 : totalLagNanos / 1e3 / handled, maxLagNanos / 1e3);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,223 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the functionality of the UnoFlipViewBus class.
+ * This test suite makes sure each view gets its notifications in order
+ * on its own thread, that a slow view does not hold up the model, and
+ * that each overflow policy does what it says.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+class UnoFlipViewBusTest {
+
+    UnoFlipModel model;
+    UnoFlipViewBus bus;
+
+    /**
+     * A view that records the top card of every update, optionally waiting for a gate first.
+     */
+    static class RecordingView implements UnoFlipView {
+        final List<Object> seen = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch gate;
+
+        RecordingView(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        public void update(UnoFlipEvent event) {
+            await();
+            seen.add(event.getTopCard());
+        }
+
+        public void displayMessage(String message) {
+            await();
+            seen.add(message);
+        }
+
+        public void displayError(String message) {
+            await();
+            seen.add("error: " + message);
+        }
+
+        private void await() {
+            try {
+                if (gate != null) gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        model = new UnoFlipModel(7L);
+        model.initializeGame(List.of("A", "B"));
+        bus = new UnoFlipViewBus();
+        model.addView(bus);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        bus.close();
+    }
+
+    /**
+     * Publishes n updates, each with a different top card, and returns the cards in order.
+     */
+    private List<Card> publishUpdates(int n) {
+        List<Card> cards = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            Card card = Card.fromCode(i % Card.CODE_COUNT);
+            cards.add(card);
+            bus.update(new UnoFlipEvent(model, false, false, null, card, null));
+        }
+        return cards;
+    }
+
+    /**
+     * Model changes reach a subscribed view in order, with messages in between.
+     */
+    @Test
+    void deliversInOrder() throws Exception {
+        RecordingView view = new RecordingView(null);
+        UnoFlipViewBus.Subscription sub = bus.subscribe(view, 8, UnoFlipViewBus.OverflowPolicy.BLOCK);
+
+        model.playerDrawsCard();
+        bus.displayMessage("drew");
+        model.advanceToNextPlayer();
+        assertTrue(sub.awaitIdle(5, TimeUnit.SECONDS));
+
+        assertEquals(List.of(model.getTopCard(), "drew", model.getTopCard()), view.seen);
+        assertEquals(3, sub.getDelivered());
+        assertEquals(0, sub.getDropped());
+    }
+
+    /**
+     * A stalled view with DROP_OLDEST loses the oldest updates but never holds up the model,
+     * and a fast view next to it still gets everything.
+     */
+    @Test
+    void dropOldestKeepsNewest() throws Exception {
+        CountDownLatch gate = new CountDownLatch(1);
+        RecordingView slow = new RecordingView(gate);
+        RecordingView fast = new RecordingView(null);
+        UnoFlipViewBus.Subscription slowSub = bus.subscribe(slow, 4, UnoFlipViewBus.OverflowPolicy.DROP_OLDEST);
+        UnoFlipViewBus.Subscription fastSub = bus.subscribe(fast, 256, UnoFlipViewBus.OverflowPolicy.BLOCK);
+
+        List<Card> cards = publishUpdates(100);
+        gate.countDown();
+        assertTrue(slowSub.awaitIdle(5, TimeUnit.SECONDS));
+        assertTrue(fastSub.awaitIdle(5, TimeUnit.SECONDS));
+
+        assertEquals(cards, fast.seen);
+        assertEquals(100, slowSub.getPublished());
+        assertEquals(100, slowSub.getDelivered() + slowSub.getDropped());
+        assertTrue(slowSub.getDropped() >= 100 - 5);
+        assertEquals(cards.subList(96, 100), slow.seen.subList(slow.seen.size() - 4, slow.seen.size()));
+        assertTrue(slowSub.getMaxLagNanos() > 0);
+    }
+
+    /**
+     * A stalled view with COALESCE keeps its oldest queued updates and folds the rest into the newest.
+     */
+    @Test
+    void coalesceReplacesNewest() throws Exception {
+        CountDownLatch gate = new CountDownLatch(1);
+        RecordingView slow = new RecordingView(gate);
+        UnoFlipViewBus.Subscription sub = bus.subscribe(slow, 4, UnoFlipViewBus.OverflowPolicy.COALESCE);
+
+        List<Card> cards = publishUpdates(50);
+        gate.countDown();
+        assertTrue(sub.awaitIdle(5, TimeUnit.SECONDS));
+
+        assertTrue(sub.getCoalesced() >= 50 - 5);
+        assertEquals(50, sub.getDelivered() + sub.getCoalesced());
+        assertEquals(cards.get(49), slow.seen.get(slow.seen.size() - 1));
+        assertEquals(0, sub.getDropped());
+    }
+
+    /**
+     * With BLOCK, every update is delivered, the publisher waiting when the queue is full.
+     */
+    @Test
+    void blockDeliversEverything() throws Exception {
+        RecordingView view = new RecordingView(null);
+        UnoFlipViewBus.Subscription sub = bus.subscribe(view, 2, UnoFlipViewBus.OverflowPolicy.BLOCK);
+
+        List<Card> cards = publishUpdates(500);
+        assertTrue(sub.awaitIdle(5, TimeUnit.SECONDS));
+
+        assertEquals(cards, view.seen);
+        assertEquals(500, sub.getDelivered());
+        assertTrue(sub.getAverageLagNanos() > 0);
+    }
+
+    /**
+     * A queued update keeps the game as it was when it was published, however the model changes before delivery.
+     */
+    @Test
+    void queuedUpdateIsACopy() throws Exception {
+        CountDownLatch gate = new CountDownLatch(1);
+        List<UnoFlipEvent> events = Collections.synchronizedList(new ArrayList<>());
+        RecordingView view = new RecordingView(gate) {
+            public void update(UnoFlipEvent event) {
+                super.update(event);
+                events.add(event);
+            }
+        };
+        UnoFlipViewBus.Subscription sub = bus.subscribe(view, 8, UnoFlipViewBus.OverflowPolicy.BLOCK);
+
+        model.playerDrawsCard();
+        String name = model.getCurrentPlayer().getName();
+        List<Card> hand = new ArrayList<>(model.getCurrentPlayer().getHand());
+        int seat = model.getCurrentTurn();
+
+        // Change the model while the update waits in the queue
+        model.playerDrawsCard();
+        model.advanceToNextPlayer();
+        gate.countDown();
+        assertTrue(sub.awaitIdle(5, TimeUnit.SECONDS));
+
+        UnoFlipEvent first = events.get(0);
+        assertEquals(name, first.getCurrentPlayer().getName());
+        assertEquals(hand, first.getCurrentPlayer().getHand());
+        UnoFlipSnapshot snapshot = ((UnoFlipViewBus.Update) first).getSnapshot();
+        assertEquals(seat, snapshot.getCurrentTurn());
+        assertEquals(hand, snapshot.getHand(seat));
+        assertNotEquals(hand.size(), model.getPlayers().get(seat).getHand().size());
+    }
+
+    /**
+     * A view that throws does not stop its deliveries, and a cancelled view gets nothing more.
+     */
+    @Test
+    void failingViewKeepsGettingNotifications() throws Exception {
+        RecordingView view = new RecordingView(null) {
+            public void displayError(String message) {
+                throw new IllegalStateException(message);
+            }
+        };
+        UnoFlipViewBus.Subscription sub = bus.subscribe(view, 8, UnoFlipViewBus.OverflowPolicy.BLOCK);
+
+        bus.displayError("boom");
+        bus.displayMessage("after");
+        assertTrue(sub.awaitIdle(5, TimeUnit.SECONDS));
+        assertEquals(List.of("after"), view.seen);
+        assertEquals(1, sub.getFailed());
+
+        sub.cancel();
+        bus.displayMessage("ignored");
+        assertEquals(List.of("after"), view.seen);
+    }
+}
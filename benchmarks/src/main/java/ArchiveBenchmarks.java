@@ -0,0 +1,80 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+/**
+ * ArchiveBenchmarks - append and query rates of the MatchArchive.
+ *
+ * Fills an archive in a temporary directory with a million matches,
+ * then times an indexed query against it. The directory is deleted
+ * afterwards.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public class ArchiveBenchmarks {
+    private static final int MATCHES = 1_000_000;
+    private static final int DISTINCT_RESULTS = 1024;
+    private static final int QUERIES = 20;
+
+    /**
+     * Measures appending and querying and records the results.
+     *
+     * @param harness The harness to record the results with
+     * @param filter Regular expression matched against the measurement names
+     */
+    public static void run(BenchmarkHarness harness, String filter) {
+        if (!harness.matches(filter, "MatchArchive.append") && !harness.matches(filter, "MatchArchive.find")) {
+            return;
+        }
+        UnoFlipSimulator simulator = new UnoFlipSimulator(4);
+        MatchResult[] results = new MatchResult[DISTINCT_RESULTS];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = simulator.playMatch(new SplittableRandom(i));
+        }
+
+        Path dir = null;
+        try {
+            dir = Files.createTempDirectory("match-archive");
+            try (MatchArchive archive = new MatchArchive(dir)) {
+                long start = System.nanoTime();
+                for (int i = 0; i < MATCHES; i++) {
+                    archive.append(i, results[i % results.length]);
+                }
+                double seconds = (System.nanoTime() - start) / 1e9;
+                harness.record(filter, "MatchArchive.append", MATCHES / seconds, "ops/s");
+
+                // The matches seat 0 won in under 5 rounds
+                long found = 0;
+                start = System.nanoTime();
+                for (int q = 0; q < QUERIES; q++) {
+                    found += archive.find(0, MatchArchive.ANY, 4, MatchArchive.ANY, MatchArchive.ANY).length;
+                }
+                seconds = (System.nanoTime() - start) / 1e9;
+                harness.record(filter, "MatchArchive.find", QUERIES / seconds, "ops/s");
+                harness.record(filter, "MatchArchive.find.matches", (double) found / QUERIES, "records");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (dir != null) {
+                delete(dir);
+            }
+        }
+    }
+
+    /**
+     * Deletes a directory and everything in it.
+     */
+    private static void delete(Path dir) {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * BenchmarkHarness - a small throughput benchmark runner for the UnoFlip hot paths.
+ *
+ * The game classes live in the default package, which JMH refuses to
+ * generate benchmarks for, so this harness follows the same approach:
+ * each benchmark is set up once, warmed up for a few iterations, then
+ * measured for a fixed number of timed iterations. Every operation
+ * returns a long which is folded into a sink so the JIT cannot remove it.
+ *
+ * Results are printed as a table and can be written as JSON in the same
+ * shape as JMH's "-rf json" output so runs can be compared.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public class BenchmarkHarness {
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private final long iterationNanos;
+    private final Map<String, Supplier<LongSupplier>> benchmarks;
+    private final List<String> jsonResults;
+
+    // Consumes every result so the measured work cannot be optimized away
+    private static volatile long sink;
+
+    /**
+     * Constructs a harness with the given iteration settings.
+     *
+     * @param warmupIterations Number of untimed iterations before measuring
+     * @param measurementIterations Number of timed iterations
+     * @param iterationMillis Length of each iteration in milliseconds
+     */
+    public BenchmarkHarness(int warmupIterations, int measurementIterations, long iterationMillis) {
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+        this.iterationNanos = iterationMillis * NANOS_PER_MILLI;
+        this.benchmarks = new LinkedHashMap<>();
+        this.jsonResults = new ArrayList<>();
+    }
+
+    /**
+     * Registers a benchmark. The setup supplier is only called if the benchmark is run,
+     * and returns the operation to measure.
+     *
+     * @param name The benchmark name, e.g. "Deck.drawCard"
+     * @param setup Builds the state for the benchmark and returns the measured operation
+     */
+    public void add(String name, Supplier<LongSupplier> setup) {
+        benchmarks.put(name, setup);
+    }
+
+    /**
+     * Runs every registered benchmark whose name matches the filter.
+     *
+     * @param filter Regular expression matched against benchmark names
+     */
+    public void runMatching(String filter) {
+        Pattern pattern = Pattern.compile(filter);
+        System.out.printf("%-45s %16s %12s  %s%n", "Benchmark", "Score", "Error", "Units");
+        for (Map.Entry<String, Supplier<LongSupplier>> entry : benchmarks.entrySet()) {
+            if (pattern.matcher(entry.getKey()).find()) {
+                run(entry.getKey(), entry.getValue().get());
+            }
+        }
+    }
+
+    /**
+     * Warms up and measures one operation, then records its result.
+     *
+     * @param name The benchmark name
+     * @param op The operation to measure
+     */
+    private void run(String name, LongSupplier op) {
+        for (int i = 0; i < warmupIterations; i++) {
+            iteration(op);
+        }
+
+        double[] scores = new double[measurementIterations];
+        for (int i = 0; i < measurementIterations; i++) {
+            scores[i] = iteration(op);
+        }
+
+        double mean = 0;
+        for (double s : scores) mean += s;
+        mean /= scores.length;
+        double variance = 0;
+        for (double s : scores) variance += (s - mean) * (s - mean);
+        double error = scores.length > 1 ? Math.sqrt(variance / (scores.length - 1)) : 0;
+
+        System.out.printf("%-45s %16.3f %12.3f  ops/s%n", name, mean, error);
+        jsonResults.add(toJson(name, "thrpt", "ops/s", mean, error, scores));
+    }
+
+    /**
+     * Checks whether a benchmark name is selected by a filter.
+     *
+     * @param filter Regular expression matched against the name
+     * @param name The benchmark name
+     * @return true if the filter matches part of the name
+     */
+    public boolean matches(String filter, String name) {
+        return Pattern.compile(filter).matcher(name).find();
+    }
+
+    /**
+     * Records a single measured value, such as a memory footprint, alongside the
+     * throughput results. Recorded only if the name matches the filter.
+     *
+     * @param filter Regular expression matched against the name
+     * @param name The measurement name
+     * @param value The measured value
+     * @param unit The unit of the value, e.g. "B/table"
+     */
+    public void record(String filter, String name, double value, String unit) {
+        if (!matches(filter, name)) {
+            return;
+        }
+        System.out.printf("%-45s %16.3f %12s  %s%n", name, value, "", unit);
+        jsonResults.add(toJson(name, "ss", unit, value, 0, new double[]{value}));
+    }
+
+    /**
+     * Runs the operation for one iteration and returns its throughput.
+     * The operation is called in batches that grow until a batch takes about a
+     * millisecond, so the clock is not read on every call for fast operations.
+     *
+     * @param op The operation to measure
+     * @return Operations per second during this iteration
+     */
+    private double iteration(LongSupplier op) {
+        long acc = 0;
+        long ops = 0;
+        int batch = 1;
+        long start = System.nanoTime();
+        long now = start;
+        while (now - start < iterationNanos) {
+            long batchStart = now;
+            for (int i = 0; i < batch; i++) {
+                acc += op.getAsLong();
+            }
+            ops += batch;
+            now = System.nanoTime();
+            if (now - batchStart < NANOS_PER_MILLI && batch < (1 << 20)) {
+                batch <<= 1;
+            }
+        }
+        sink += acc;
+        return ops * 1e9 / (now - start);
+    }
+
+    /**
+     * Formats one result in the shape used by JMH's JSON result format.
+     */
+    private String toJson(String name, String mode, String unit, double mean, double error, double[] scores) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("  {\n");
+        sb.append("    \"benchmark\" : \"").append(name).append("\",\n");
+        sb.append("    \"mode\" : \"").append(mode).append("\",\n");
+        sb.append("    \"warmupIterations\" : ").append(warmupIterations).append(",\n");
+        sb.append("    \"measurementIterations\" : ").append(measurementIterations).append(",\n");
+        sb.append("    \"primaryMetric\" : {\n");
+        sb.append("      \"score\" : ").append(mean).append(",\n");
+        sb.append("      \"scoreError\" : ").append(error).append(",\n");
+        sb.append("      \"scoreUnit\" : \"").append(unit).append("\",\n");
+        sb.append("      \"rawData\" : [ [");
+        for (int i = 0; i < scores.length; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(scores[i]);
+        }
+        sb.append("] ]\n");
+        sb.append("    }\n");
+        sb.append("  }");
+        return sb.toString();
+    }
+
+    /**
+     * Writes all results recorded so far to a JSON file.
+     *
+     * @param file The file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void writeJson(Path file) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+            out.println("[");
+            out.println(String.join(",\n", jsonResults));
+            out.println("]");
+        }
+    }
+}
@@ -0,0 +1,66 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * BenchmarkMain - runs the UnoFlip benchmarks and writes the results to a JSON file.
+ *
+ * Usage: java -jar benchmarks.jar [name-regex] [-wi n] [-i n] [-t millis] [-rf file]
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public class BenchmarkMain {
+    private static final int DEFAULT_WARMUP = 3;
+    private static final int DEFAULT_ITERATIONS = 5;
+    private static final long DEFAULT_ITERATION_MILLIS = 1000;
+    private static final String DEFAULT_RESULT_FILE = "benchmark-results.json";
+
+    /**
+     * Runs the benchmarks matching the given filter.
+     *
+     * @param args Optional filter and iteration settings
+     * @throws IOException if the result file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        String filter = ".*";
+        int warmup = DEFAULT_WARMUP;
+        int iterations = DEFAULT_ITERATIONS;
+        long millis = DEFAULT_ITERATION_MILLIS;
+        Path resultFile = Paths.get(DEFAULT_RESULT_FILE);
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-wi": warmup = Integer.parseInt(args[++i]); break;
+                case "-i":  iterations = Integer.parseInt(args[++i]); break;
+                case "-t":  millis = Long.parseLong(args[++i]); break;
+                case "-rf": resultFile = Paths.get(args[++i]); break;
+                default:    filter = args[i]; break;
+            }
+        }
+
+        BenchmarkHarness harness = new BenchmarkHarness(warmup, iterations, millis);
+        DeckBenchmarks.register(harness);
+        ModelBenchmarks.register(harness);
+        MatchBenchmarks.register(harness);
+        CodecBenchmarks.register(harness);
+        ReplayBenchmarks.register(harness);
+        ConcurrencyBenchmarks.register(harness);
+        StrategyBenchmarks.register(harness);
+        GameStateBenchmarks.register(harness);
+
+        harness.runMatching(filter);
+        MemoryBenchmarks.run(harness, filter);
+        ShuffleBenchmarks.run(harness, filter);
+        CodecBenchmarks.run(harness, filter);
+        ReplayBenchmarks.run(harness, filter);
+        ArchiveBenchmarks.run(harness, filter);
+        HostBenchmarks.run(harness, filter);
+        NetworkBenchmarks.run(harness, filter);
+        ConcurrencyBenchmarks.run(harness, filter);
+        StrategyBenchmarks.run(harness, filter);
+        MctsBenchmarks.run(harness, filter);
+        harness.writeJson(resultFile);
+        System.out.println("Results written to " + resultFile.toAbsolutePath());
+    }
+}
@@ -0,0 +1,74 @@
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CodecBenchmarks - benchmarks for saving and restoring a table with GameStateCodec.
+ *
+ * The target is under 1 us to save or restore a four player table, and
+ * a snapshot under 300 bytes.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public class CodecBenchmarks {
+    private static final int PLAYERS = 4;
+
+    /**
+     * Registers the GameStateCodec benchmarks with the harness.
+     *
+     * @param harness The harness to register with
+     */
+    public static void register(BenchmarkHarness harness) {
+        // Writing a snapshot of a table into a reused buffer
+        harness.add("GameStateCodec.encode", () -> {
+            UnoFlipModel model = midGameModel();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(GameStateCodec.MAX_SIZE);
+            return () -> {
+                buffer.clear();
+                GameStateCodec.encode(model, buffer);
+                return buffer.position();
+            };
+        });
+
+        // Building a new model from a snapshot
+        harness.add("GameStateCodec.decode", () -> {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(GameStateCodec.MAX_SIZE);
+            GameStateCodec.encode(midGameModel(), buffer);
+            buffer.flip();
+            return () -> {
+                buffer.rewind();
+                return GameStateCodec.decode(buffer).getCurrentTurn();
+            };
+        });
+    }
+
+    /**
+     * Records the size of a snapshot of a table.
+     *
+     * @param harness The harness to record the result with
+     * @param filter Regular expression matched against the measurement names
+     */
+    public static void run(BenchmarkHarness harness, String filter) {
+        ByteBuffer buffer = ByteBuffer.allocate(GameStateCodec.MAX_SIZE);
+        GameStateCodec.encode(midGameModel(), buffer);
+        harness.record(filter, "GameStateCodec.size", buffer.position(), "B/table");
+    }
+
+    /**
+     * Creates a four player model a few turns into its first round.
+     */
+    private static UnoFlipModel midGameModel() {
+        List<String> names = new ArrayList<>();
+        for (int i = 1; i <= PLAYERS; i++) {
+            names.add("Player " + i);
+        }
+        UnoFlipModel model = new UnoFlipModel(3110L);
+        model.initializeGame(names);
+        UnoFlipSimulator simulator = new UnoFlipSimulator(PLAYERS);
+        for (int turn = 0; turn < 20 && !model.isRoundOver(); turn++) {
+            simulator.playTurn(model);
+        }
+        return model;
+    }
+}
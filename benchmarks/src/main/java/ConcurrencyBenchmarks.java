@@ -0,0 +1,87 @@
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ConcurrencyBenchmarks - benchmarks for the ConcurrentUnoFlipModel facade.
+ *
+ * The single threaded benchmarks time a snapshot read, a command that is
+ * applied and a stale command that is rejected. The contended run has
+ * several threads race commands on one game, each deciding on the latest
+ * snapshot, and reports how many commands were applied and rejected.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public class ConcurrencyBenchmarks {
+    private static final long SEED = 3110L;
+    private static final List<String> NAMES = List.of("Player 1", "Player 2", "Player 3", "Player 4");
+    private static final int THREADS = 4;
+    private static final long MEASURE_MILLIS = 2000;
+
+    /**
+     * Registers the ConcurrentUnoFlipModel benchmarks with the harness.
+     *
+     * @param harness The harness to register with
+     */
+    public static void register(BenchmarkHarness harness) {
+        harness.add("ConcurrentUnoFlipModel.getSnapshot", () -> {
+            ConcurrentUnoFlipModel game = new ConcurrentUnoFlipModel(SEED, NAMES);
+            return () -> game.getSnapshot().getCurrentTurn();
+        });
+        // Ending a turn never runs out, so this can repeat for as long as the harness likes
+        harness.add("ConcurrentUnoFlipModel.advanceToNextPlayer", () -> {
+            ConcurrentUnoFlipModel game = new ConcurrentUnoFlipModel(SEED, NAMES);
+            return () -> game.advanceToNextPlayer(game.getVersion());
+        });
+        harness.add("ConcurrentUnoFlipModel.staleCommand", () -> {
+            ConcurrentUnoFlipModel game = new ConcurrentUnoFlipModel(SEED, NAMES);
+            game.advanceToNextPlayer(0);
+            return () -> game.advanceToNextPlayer(0);
+        });
+    }
+
+    /**
+     * Measures applied and rejected commands per second with threads racing on one game.
+     *
+     * @param harness The harness to record the results with
+     * @param filter Regular expression matched against the measurement names
+     */
+    public static void run(BenchmarkHarness harness, String filter) {
+        String prefix = "ConcurrentUnoFlipModel.threads=" + THREADS;
+        if (!harness.matches(filter, prefix + ".applied")) return;
+
+        ConcurrentUnoFlipModel game = new ConcurrentUnoFlipModel(SEED, NAMES);
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder applied = new LongAdder();
+        LongAdder stale = new LongAdder();
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            threads[t] = new Thread(() -> {
+                while (running.get()) {
+                    if (game.advanceToNextPlayer(game.getVersion()) >= 0) {
+                        applied.increment();
+                    } else {
+                        stale.increment();
+                    }
+                }
+            });
+        }
+        long start = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        try {
+            Thread.sleep(MEASURE_MILLIS);
+            running.set(false);
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        harness.record(filter, prefix + ".applied", applied.sum() / seconds, "ops/s");
+        harness.record(filter, prefix + ".stale", stale.sum() / seconds, "ops/s");
+    }
+}
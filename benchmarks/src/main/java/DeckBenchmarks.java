@@ -0,0 +1,39 @@
+/**
+ * DeckBenchmarks - benchmarks for building, shuffling and drawing from a Deck.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public class DeckBenchmarks {
+
+    /**
+     * Registers the Deck benchmarks with the harness.
+     *
+     * @param harness The harness to register with
+     */
+    public static void register(BenchmarkHarness harness) {
+        // Building a full deck of cards, as done at the start of every round
+        harness.add("Deck.new", () -> () -> new Deck().hashCode());
+
+        // Shuffling the draw pile
+        harness.add("Deck.shuffle", () -> {
+            Deck deck = new Deck();
+            return () -> {
+                deck.shuffle();
+                return 1;
+            };
+        });
+
+        // Drawing a card and discarding it again. Once the draw pile runs out
+        // the discards are reshuffled back in, so this also covers reshuffleDiscards.
+        harness.add("Deck.drawCard", () -> {
+            Deck deck = new Deck();
+            deck.discard(deck.drawCard());
+            return () -> {
+                Card card = deck.drawCard();
+                deck.discard(card);
+                return card.getRank();
+            };
+        });
+    }
+}
@@ -0,0 +1,84 @@
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * GameStateBenchmarks - benchmarks for branching a game with GameState.
+ *
+ * A search branches the same position over and over: copy it, play the
+ * copy to the end of the round, and start again. Each benchmark does
+ * this from a four player table a few turns into its first round, once
+ * with GameState and once with an UnoFlipModel restored by
+ * GameStateCodec, the cheapest way to copy a model. Every playout turn
+ * is chosen by FirstPlayableStrategy.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public class GameStateBenchmarks {
+    private static final long SEED = 3110L;
+    private static final List<String> NAMES = List.of("Player 1", "Player 2", "Player 3", "Player 4");
+
+    /**
+     * Registers the GameState benchmarks with the harness.
+     *
+     * @param harness The harness to register with
+     */
+    public static void register(BenchmarkHarness harness) {
+        // Copying a table into a reused state
+        harness.add("GameState.copyFrom", () -> {
+            GameState root = GameState.of(midGameModel());
+            GameState copy = root.copy();
+            return () -> {
+                copy.copyFrom(root);
+                return copy.getSeat();
+            };
+        });
+
+        // Copying a table and playing the copy out to the end of the round
+        harness.add("GameState.playout", () -> {
+            GameState root = GameState.of(midGameModel());
+            GameState copy = root.copy();
+            PlayerStrategy policy = new FirstPlayableStrategy();
+            return () -> {
+                copy.copyFrom(root);
+                int turns = 0;
+                while (!copy.isRoundOver()) {
+                    copy.playTurn(policy);
+                    turns++;
+                }
+                return turns;
+            };
+        });
+
+        // The same playout on a model restored from a snapshot
+        harness.add("UnoFlipModel.playout", () -> {
+            ByteBuffer buffer = ByteBuffer.allocate(GameStateCodec.MAX_SIZE);
+            GameStateCodec.encode(midGameModel(), buffer);
+            buffer.flip();
+            UnoFlipSimulator simulator = new UnoFlipSimulator(NAMES.size());
+            return () -> {
+                buffer.rewind();
+                UnoFlipModel copy = GameStateCodec.decode(buffer);
+                int turns = 0;
+                while (!copy.isRoundOver()) {
+                    simulator.playTurn(copy);
+                    turns++;
+                }
+                return turns;
+            };
+        });
+    }
+
+    /**
+     * Creates a four player model a few turns into its first round.
+     */
+    private static UnoFlipModel midGameModel() {
+        UnoFlipModel model = new UnoFlipModel(SEED);
+        model.initializeGame(NAMES);
+        UnoFlipSimulator simulator = new UnoFlipSimulator(NAMES.size());
+        for (int turn = 0; turn < 8 && !model.isRoundOver(); turn++) {
+            simulator.playTurn(model);
+        }
+        return model;
+    }
+}
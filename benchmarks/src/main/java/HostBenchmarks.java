@@ -0,0 +1,144 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * HostBenchmarks - load test of an UnoFlipHost with 1k and 10k active tables.
+ *
+ * Every table seats four players and is started. Client threads then each
+ * pick a random table, send it one move (a full turn, starting a new round
+ * or game when one ends) and wait for the answer, over and over. The time
+ * from sending a move to getting its answer is recorded, and the
+ * percentiles of those latencies are reported with the total move rate
+ * and the heap held by each table.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public class HostBenchmarks {
+    private static final int[] TABLE_COUNTS = {1_000, 10_000};
+    private static final int CLIENTS = 32;
+    private static final long WARMUP_MILLIS = 1000;
+    private static final long MEASURE_MILLIS = 3000;
+    private static final int MAX_SAMPLES = 1 << 20;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final String[] PERCENTILE_NAMES = {"p50", "p90", "p99", "p99.9"};
+
+    /**
+     * Runs the load test for each table count and records the results.
+     *
+     * @param harness The harness to record the results with
+     * @param filter Regular expression matched against the measurement names
+     */
+    public static void run(BenchmarkHarness harness, String filter) {
+        for (int tables : TABLE_COUNTS) {
+            String prefix = "UnoFlipHost.tables=" + tables;
+            if (!harness.matches(filter, prefix + ".move.p50")) continue;
+
+            int threads = Runtime.getRuntime().availableProcessors();
+            try (UnoFlipHost host = new UnoFlipHost(threads)) {
+                long before = usedHeap();
+                long[] ids = openTables(host, tables);
+                harness.record(filter, prefix + ".memory", (usedHeap() - before) / (double) tables, "B/table");
+
+                load(host, ids, WARMUP_MILLIS);
+                long start = System.nanoTime();
+                long[][] latencies = load(host, ids, MEASURE_MILLIS);
+                double seconds = (System.nanoTime() - start) / 1e9;
+
+                int total = 0;
+                for (long[] client : latencies) total += client.length;
+                long[] all = new long[total];
+                int n = 0;
+                for (long[] client : latencies) {
+                    System.arraycopy(client, 0, all, n, client.length);
+                    n += client.length;
+                }
+                Arrays.sort(all);
+                harness.record(filter, prefix + ".moves", total / seconds, "ops/s");
+                for (int i = 0; i < PERCENTILES.length; i++) {
+                    long nanos = all[Math.min(all.length - 1, (int) (all.length * PERCENTILES[i] / 100))];
+                    harness.record(filter, prefix + ".move." + PERCENTILE_NAMES[i], nanos / 1e3, "us");
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates and starts the tables, four players each.
+     */
+    private static long[] openTables(UnoFlipHost host, int tables) {
+        long[] ids = new long[tables];
+        for (int t = 0; t < tables; t++) {
+            ids[t] = host.createTable(4);
+            for (int p = 1; p <= 4; p++) {
+                host.join(ids[t], "Player " + p);
+            }
+            host.start(ids[t], t);
+        }
+        // Commands run in order, so once this answers every table has started
+        for (long id : ids) {
+            host.execute(id, UnoFlipModel::getCurrentTurn).join();
+        }
+        return ids;
+    }
+
+    /**
+     * Sends moves to random tables from every client for a while.
+     *
+     * @return Each client's move latencies in nanoseconds
+     */
+    private static long[][] load(UnoFlipHost host, long[] ids, long millis) {
+        long[][] latencies = new long[CLIENTS][];
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread[] clients = new Thread[CLIENTS];
+        UnoFlipSimulator simulator = new UnoFlipSimulator(4);
+        for (int c = 0; c < CLIENTS; c++) {
+            int client = c;
+            clients[c] = new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(client);
+                long[] samples = new long[MAX_SAMPLES / CLIENTS];
+                int n = 0;
+                while (running.get()) {
+                    long id = ids[random.nextInt(ids.length)];
+                    long sent = System.nanoTime();
+                    host.execute(id, model -> {
+                        if (model.isGameOver()) {
+                            model.initializeGame(Arrays.asList("Player 1", "Player 2", "Player 3", "Player 4"));
+                        } else if (model.isRoundOver()) {
+                            model.startNewRound();
+                        }
+                        simulator.playTurn(model);
+                        return null;
+                    }).join();
+                    long latency = System.nanoTime() - sent;
+                    if (n < samples.length) samples[n++] = latency;
+                }
+                latencies[client] = Arrays.copyOf(samples, n);
+            });
+            clients[c].start();
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+            running.set(false);
+            for (Thread client : clients) {
+                client.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return latencies;
+    }
+
+    /**
+     * Gets the heap in use after collecting garbage.
+     */
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
@@ -0,0 +1,23 @@
+/**
+ * MatchBenchmarks - macro benchmarks playing full matches to the target score.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public class MatchBenchmarks {
+
+    /**
+     * Registers the full match benchmarks with the harness.
+     *
+     * @param harness The harness to register with
+     */
+    public static void register(BenchmarkHarness harness) {
+        for (int players = 2; players <= 4; players++) {
+            int numPlayers = players;
+            harness.add("UnoFlipSimulator.playMatch.players=" + numPlayers, () -> {
+                UnoFlipSimulator simulator = new UnoFlipSimulator(numPlayers);
+                return () -> simulator.playMatch().getTurns();
+            });
+        }
+    }
+}
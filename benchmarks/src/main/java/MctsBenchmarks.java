@@ -0,0 +1,87 @@
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * MctsBenchmarks - search rate, thread scaling and strength of the MctsStrategy bot.
+ *
+ * The bot searches the opening position of a four player game for a
+ * fixed time on 1, 2 and 4 threads, and on every core if there are more,
+ * and the iterations per second and the speedup over one thread are
+ * reported. Each iteration ends in one playout of the rest of the round.
+ * Then the bot plays whole matches against three FirstPlayableStrategy
+ * bots, and the share of rounds it wins is reported, where 25% would be
+ * no better than its opponents.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public class MctsBenchmarks {
+    private static final long SEED = 3110L;
+    private static final List<String> NAMES = List.of("Player 1", "Player 2", "Player 3", "Player 4");
+    private static final long SEARCH_MILLIS = 1000;
+    private static final int DECISIONS = 3;
+    private static final int WARMUP_DECISIONS = 5;
+    private static final int MATCH_ITERATIONS = 200;
+    private static final int MATCHES = 10;
+
+    /**
+     * Measures the search rate for each thread count and the bot's share of rounds won.
+     *
+     * @param harness The harness to record the results with
+     * @param filter Regular expression matched against the measurement names
+     */
+    public static void run(BenchmarkHarness harness, String filter) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        double single = 0;
+        boolean warm = false;
+        int[] threadCounts = cores > 4 ? new int[] {1, 2, 4, cores} : new int[] {1, 2, 4};
+        for (int threads : threadCounts) {
+            String prefix = "MctsStrategy.threads=" + threads;
+            if (!harness.matches(filter, prefix + ".iterations")) continue;
+
+            UnoFlipModel model = new UnoFlipModel(SEED);
+            model.initializeGame(NAMES);
+            if (!warm) {
+                // Compile the search before the first thread count is measured
+                try (MctsStrategy bot = new MctsStrategy(1, 0, SEARCH_MILLIS, SEED)) {
+                    for (int i = 0; i < WARMUP_DECISIONS; i++) {
+                        bot.chooseMove(model.getPlayerView());
+                    }
+                }
+                warm = true;
+            }
+            long iterations = 0;
+            long nanos = 0;
+            try (MctsStrategy bot = new MctsStrategy(threads, 0, SEARCH_MILLIS, SEED)) {
+                for (int i = 0; i < DECISIONS; i++) {
+                    bot.chooseMove(model.getPlayerView());
+                    iterations += bot.getLastIterations();
+                    nanos += bot.getLastNanos();
+                }
+            }
+            double perSecond = iterations / (nanos / 1e9);
+            if (threads == 1) single = perSecond;
+            harness.record(filter, prefix + ".iterations", perSecond, "ops/s");
+            if (single > 0) {
+                harness.record(filter, prefix + ".speedup", perSecond / single, "x");
+            }
+        }
+
+        String name = "MctsStrategy.iterations=" + MATCH_ITERATIONS + ".roundsWon";
+        if (!harness.matches(filter, name)) return;
+        try (MctsStrategy bot = new MctsStrategy(1, MATCH_ITERATIONS, 0, SEED)) {
+            PlayerStrategy baseline = new FirstPlayableStrategy();
+            UnoFlipSimulator simulator = new UnoFlipSimulator(List.of(bot, baseline, baseline, baseline));
+            int rounds = 0;
+            int won = 0;
+            for (int m = 0; m < MATCHES; m++) {
+                MatchResult result = simulator.playMatch(new SplittableRandom(SEED + m));
+                for (int r = 0; r < result.getRounds(); r++) {
+                    if (result.getRoundWinnerSeat(r) == 0) won++;
+                }
+                rounds += result.getRounds();
+            }
+            harness.record(filter, name, 100.0 * won / rounds, "%");
+        }
+    }
+}
@@ -0,0 +1,119 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * MemoryBenchmarks - measures the heap used per table by the card storage.
+ *
+ * "Before" rebuilds the original layout, with a new Card object for every
+ * card in the deck, ArrayList hands and draw pile and an ArrayDeque discard
+ * pile. "After" is the current Deck and Player hands, which store one byte
+ * per card. The whole UnoFlipModel is measured as well.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public class MemoryBenchmarks {
+    private static final int TABLES = 20_000;
+    private static final int PLAYERS = 4;
+    private static final int CARDS_PER_PLAYER = 7;
+
+    // Keeps the measured tables reachable until the heap has been measured
+    private static Object[] retained;
+
+    /**
+     * Measures each layout and records the bytes per table.
+     *
+     * @param harness The harness to record the results with
+     * @param filter Regular expression matched against the measurement names
+     */
+    public static void run(BenchmarkHarness harness, String filter) {
+        harness.record(filter, "Memory.cards.before", bytesPerTable(MemoryBenchmarks::objectTable), "B/table");
+        harness.record(filter, "Memory.cards.after", bytesPerTable(MemoryBenchmarks::packedTable), "B/table");
+        harness.record(filter, "Memory.UnoFlipModel", bytesPerTable(MemoryBenchmarks::model), "B/table");
+    }
+
+    /**
+     * Builds the original card layout for one dealt table.
+     */
+    private static Object objectTable() {
+        Deck source = new Deck();
+        ArrayList<Card> drawPile = new ArrayList<>();
+        for (int i = 0; i < Deck.DECK_SIZE; i++) {
+            Card c = source.drawCard();
+            drawPile.add(new Card(c.getColor().ordinal(), c.getType().ordinal(), c.getRank()));
+        }
+        List<ArrayList<Card>> hands = new ArrayList<>();
+        for (int p = 0; p < PLAYERS; p++) {
+            ArrayList<Card> hand = new ArrayList<>();
+            for (int i = 0; i < CARDS_PER_PLAYER; i++) {
+                hand.add(drawPile.remove(0));
+            }
+            hands.add(hand);
+        }
+        ArrayDeque<Card> discards = new ArrayDeque<>();
+        discards.push(drawPile.remove(0));
+        return new Object[]{drawPile, discards, hands};
+    }
+
+    /**
+     * Builds the current card layout for one dealt table.
+     */
+    private static Object packedTable() {
+        Deck deck = new Deck();
+        List<Player> hands = new ArrayList<>();
+        for (int p = 0; p < PLAYERS; p++) {
+            Player player = new Player("Player " + p);
+            for (int i = 0; i < CARDS_PER_PLAYER; i++) {
+                player.addCard(deck.drawCard());
+            }
+            hands.add(player);
+        }
+        deck.discard(deck.drawCard());
+        return new Object[]{deck, hands};
+    }
+
+    /**
+     * Builds a whole model for one dealt table.
+     */
+    private static Object model() {
+        List<String> names = new ArrayList<>();
+        for (int p = 0; p < PLAYERS; p++) {
+            names.add("Player " + p);
+        }
+        UnoFlipModel model = new UnoFlipModel();
+        model.initializeGame(names);
+        return model;
+    }
+
+    /**
+     * Builds many tables and measures how much the used heap grew.
+     *
+     * @param factory Builds one table
+     * @return The average bytes retained per table
+     */
+    private static double bytesPerTable(Supplier<Object> factory) {
+        retained = null;
+        long before = usedHeap();
+        Object[] tables = new Object[TABLES];
+        for (int i = 0; i < TABLES; i++) {
+            tables[i] = factory.get();
+        }
+        retained = tables;
+        long after = usedHeap();
+        retained = null;
+        return (after - before) / (double) TABLES;
+    }
+
+    /**
+     * Gets the heap in use after collecting garbage.
+     */
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
@@ -0,0 +1,132 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ModelBenchmarks - benchmarks for the UnoFlipModel rules and view notification.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public class ModelBenchmarks {
+    private static final int[] VIEW_COUNTS = {1, 8, 64};
+
+    /**
+     * Registers the UnoFlipModel benchmarks with the harness.
+     *
+     * @param harness The harness to register with
+     */
+    public static void register(BenchmarkHarness harness) {
+        // Checking every card in a 7 card hand against the top card
+        harness.add("UnoFlipModel.isLegal", () -> {
+            UnoFlipModel model = newModel(4);
+            List<Card> hand = model.getCurrentPlayer().getHand();
+            return () -> {
+                int legal = 0;
+                for (int i = 0; i < hand.size(); i++) {
+                    if (model.isLegal(hand.get(i), Card.colortype.RED)) legal++;
+                }
+                return legal;
+            };
+        });
+
+        // Finding whether the current player has any legal play, using the hand's code masks
+        harness.add("UnoFlipModel.hasLegalPlay", () -> {
+            UnoFlipModel model = newModel(4);
+            return () -> model.hasLegalPlay() ? 1 : 0;
+        });
+
+        // Listing the playable cards in a 7 card hand
+        harness.add("UnoFlipModel.getPlayableIndices", () -> {
+            UnoFlipModel model = newModel(4);
+            int[] indices = new int[16];
+            return () -> model.getPlayableIndices(indices);
+        });
+
+        // Attempting to play a card that does not match the top card
+        harness.add("UnoFlipModel.playCard.illegal", () -> {
+            UnoFlipModel model = newModel(4);
+            Card top = model.getTopCard();
+            Player cur = model.getCurrentPlayer();
+            cur.clearHand();
+            int colour = (top.getColor().ordinal() + 1) % Deck.MAX_COLOURS;
+            int rank = top.getRank() % Deck.MAX_RANK + 1;
+            cur.addCard(new Card(colour, Deck.NUMBER_TYPE, rank));
+            return () -> model.playCard(0, null) ? 1 : 0;
+        });
+
+        // Playing one full turn (play or draw, then next player) on a running match
+        harness.add("UnoFlipModel.playTurn", () -> {
+            UnoFlipSimulator simulator = new UnoFlipSimulator(4);
+            UnoFlipModel[] model = {newModel(4)};
+            return () -> {
+                simulator.playTurn(model[0]);
+                if (model[0].isGameOver()) {
+                    model[0] = newModel(4);
+                } else if (model[0].isRoundOver()) {
+                    model[0].startNewRound();
+                }
+                return model[0].getCurrentPlayer().getHand().size();
+            };
+        });
+
+        // Collecting the cards, reshuffling and dealing a new round
+        harness.add("UnoFlipModel.startNewRound", () -> {
+            UnoFlipModel model = newModel(4);
+            return () -> {
+                model.startNewRound();
+                return model.getTopCard().getCode();
+            };
+        });
+
+        // Scoring the other players' hands at the end of a round
+        harness.add("UnoFlipModel.calculateRoundPoints", () -> {
+            UnoFlipModel model = newModel(4);
+            Player winner = model.getCurrentPlayer();
+            return () -> model.calculateRoundPoints(winner);
+        });
+
+        // Building the event and notifying N registered views
+        for (int views : VIEW_COUNTS) {
+            harness.add("UnoFlipModel.notifyViews.views=" + views, () -> {
+                UnoFlipModel model = newModel(4);
+                long[] updates = new long[1];
+                for (int i = 0; i < views; i++) {
+                    model.addView(new UnoFlipView() {
+                        @Override
+                        public void update(UnoFlipEvent event) {
+                            updates[0]++;
+                        }
+
+                        @Override
+                        public void displayMessage(String message) {
+                        }
+
+                        @Override
+                        public void displayError(String message) {
+                        }
+                    });
+                }
+                return () -> {
+                    model.notifyViews();
+                    return updates[0];
+                };
+            });
+        }
+    }
+
+    /**
+     * Creates a model with a freshly dealt game.
+     *
+     * @param numPlayers The number of players
+     * @return The initialized model
+     */
+    private static UnoFlipModel newModel(int numPlayers) {
+        List<String> names = new ArrayList<>();
+        for (int i = 1; i <= numPlayers; i++) {
+            names.add("Player " + i);
+        }
+        UnoFlipModel model = new UnoFlipModel();
+        model.initializeGame(names);
+        return model;
+    }
+}
@@ -0,0 +1,152 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * NetworkBenchmarks - load test of one UnoFlipServer thread with thousands of loopback connections.
+ *
+ * Every connection creates a two player game it plays both seats of.
+ * Client threads each take a share of the connections and make moves on
+ * them in turn: play the first playable card or draw, then end the turn,
+ * starting new rounds and games as they finish. The round trip of every
+ * command, from sending it to reading its answer, is recorded, and the
+ * percentiles are reported with the total command rate.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public class NetworkBenchmarks {
+    private static final int[] CONNECTION_COUNTS = {1_000, 4_000};
+    private static final int CLIENT_THREADS = 8;
+    private static final long WARMUP_MILLIS = 1000;
+    private static final long MEASURE_MILLIS = 3000;
+    private static final int SAMPLES_PER_THREAD = 1 << 18;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final String[] PERCENTILE_NAMES = {"p50", "p90", "p99", "p99.9"};
+
+    /**
+     * Runs the load test for each connection count and records the results.
+     *
+     * @param harness The harness to record the results with
+     * @param filter Regular expression matched against the measurement names
+     */
+    public static void run(BenchmarkHarness harness, String filter) {
+        for (int connections : CONNECTION_COUNTS) {
+            String prefix = "UnoFlipServer.connections=" + connections;
+            if (!harness.matches(filter, prefix + ".roundTrip.p50")) continue;
+
+            InetAddress loopback = InetAddress.getLoopbackAddress();
+            UnoFlipClient[] clients = new UnoFlipClient[connections];
+            try (UnoFlipServer server = new UnoFlipServer(new InetSocketAddress(loopback, 0))) {
+                server.start();
+                InetSocketAddress address = new InetSocketAddress(loopback, server.getPort());
+                for (int i = 0; i < connections; i++) {
+                    clients[i] = new UnoFlipClient(address);
+                    newGame(clients[i], i);
+                }
+
+                load(clients, WARMUP_MILLIS);
+                long start = System.nanoTime();
+                long[] all = load(clients, MEASURE_MILLIS);
+                double seconds = (System.nanoTime() - start) / 1e9;
+
+                Arrays.sort(all);
+                harness.record(filter, prefix + ".commands", all.length / seconds, "ops/s");
+                for (int i = 0; i < PERCENTILES.length; i++) {
+                    long nanos = all[Math.min(all.length - 1, (int) (all.length * PERCENTILES[i] / 100))];
+                    harness.record(filter, prefix + ".roundTrip." + PERCENTILE_NAMES[i], nanos / 1e3, "us");
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                for (UnoFlipClient client : clients) {
+                    try {
+                        if (client != null) client.close();
+                    } catch (IOException e) {
+                        // closing anyway
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates and starts a new two player game on a connection.
+     */
+    private static void newGame(UnoFlipClient client, long seed) throws IOException {
+        client.create("Player", 2, seed);
+        client.start();
+    }
+
+    /**
+     * Makes moves on every connection from the client threads for a while.
+     *
+     * @return Every command's round trip in nanoseconds
+     */
+    private static long[] load(UnoFlipClient[] clients, long millis) {
+        AtomicBoolean running = new AtomicBoolean(true);
+        long[][] samples = new long[CLIENT_THREADS][SAMPLES_PER_THREAD];
+        int[] counts = new int[CLIENT_THREADS];
+        Thread[] threads = new Thread[CLIENT_THREADS];
+        for (int t = 0; t < CLIENT_THREADS; t++) {
+            int thread = t;
+            threads[t] = new Thread(() -> {
+                long[] mine = samples[thread];
+                int n = 0;
+                try {
+                    while (running.get()) {
+                        for (int c = thread; c < clients.length && running.get(); c += CLIENT_THREADS) {
+                            UnoFlipClient client = clients[c];
+                            long sent = System.nanoTime();
+                            move(client);
+                            if (n < mine.length) mine[n++] = System.nanoTime() - sent;
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                counts[thread] = n;
+            });
+            threads[t].start();
+        }
+        try {
+            Thread.sleep(millis);
+            running.set(false);
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        int total = 0;
+        for (int count : counts) total += count;
+        long[] all = new long[total];
+        int n = 0;
+        for (int t = 0; t < CLIENT_THREADS; t++) {
+            System.arraycopy(samples[t], 0, all, n, counts[t]);
+            n += counts[t];
+        }
+        return all;
+    }
+
+    /**
+     * Sends one command: the next step of the current turn, or a new round or game.
+     */
+    private static void move(UnoFlipClient client) throws IOException {
+        if (client.isGameOver()) {
+            newGame(client, client.getGameId());
+        } else if (client.isRoundOver()) {
+            client.startNewRound();
+        } else if (!client.nextPlayer()) {
+            // Nothing done yet this turn, so next was refused: play or draw
+            int index = client.findPlayableCard();
+            if (index < 0 || !client.playCard(index, Card.colortype.RED)) {
+                client.drawCard();
+            }
+        }
+    }
+}
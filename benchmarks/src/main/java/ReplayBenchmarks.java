@@ -0,0 +1,68 @@
+import java.util.List;
+
+/**
+ * ReplayBenchmarks - benchmarks for recording moves in a MoveLog and replaying them.
+ *
+ * The target is a replay rate of millions of moves per second, so a
+ * disputed match can be rebuilt at any move almost instantly.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public class ReplayBenchmarks {
+    private static final long SEED = 3110L;
+    private static final long MEASURE_MILLIS = 2000;
+
+    /**
+     * Registers the MoveLog benchmarks with the harness.
+     *
+     * @param harness The harness to register with
+     */
+    public static void register(BenchmarkHarness harness) {
+        // Replaying every move of a whole four player match
+        harness.add("MoveLog.replay", () -> {
+            MoveLog log = recordedMatch();
+            return () -> log.replay().getCurrentTurn();
+        });
+    }
+
+    /**
+     * Measures the replay rate in moves per second.
+     *
+     * @param harness The harness to record the result with
+     * @param filter Regular expression matched against the measurement names
+     */
+    public static void run(BenchmarkHarness harness, String filter) {
+        String name = "MoveLog.replay.moves";
+        if (!harness.matches(filter, name)) return;
+
+        MoveLog log = recordedMatch();
+        long moves = 0;
+        long start = System.nanoTime();
+        long end = start + MEASURE_MILLIS * 1_000_000L;
+        long now;
+        do {
+            log.replay();
+            moves += log.size();
+            now = System.nanoTime();
+        } while (now < end);
+        harness.record(filter, name, moves / ((now - start) / 1e9), "moves/s");
+    }
+
+    /**
+     * Plays a whole four player match on a recording model.
+     */
+    private static MoveLog recordedMatch() {
+        UnoFlipModel model = new UnoFlipModel(SEED);
+        model.setMoveLog(new MoveLog(SEED));
+        model.initializeGame(List.of("Player 1", "Player 2", "Player 3", "Player 4"));
+        UnoFlipSimulator simulator = new UnoFlipSimulator(4);
+        while (!model.isGameOver()) {
+            if (model.isRoundOver()) {
+                model.startNewRound();
+            }
+            simulator.playTurn(model);
+        }
+        return model.getMoveLog();
+    }
+}
@@ -0,0 +1,122 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * ShuffleBenchmarks - shuffle throughput with 1 and 32 threads shuffling at once.
+ *
+ * Compares Collections.shuffle, which every thread runs against the one
+ * java.util.Random shared by the whole JVM, with Deck.shuffle, where each
+ * deck owns its generator. Every thread shuffles its own deck, so only
+ * the shared Random is contended.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public class ShuffleBenchmarks {
+    private static final int[] THREAD_COUNTS = {1, 32};
+    private static final long WARMUP_MILLIS = 1000;
+    private static final long MEASURE_MILLIS = 2000;
+
+    /**
+     * Measures each shuffle with each thread count and records the total shuffles per second.
+     *
+     * @param harness The harness to record the results with
+     * @param filter Regular expression matched against the measurement names
+     */
+    public static void run(BenchmarkHarness harness, String filter) {
+        for (int threads : THREAD_COUNTS) {
+            String shared = "Shuffle.Collections.shuffle.threads=" + threads;
+            if (harness.matches(filter, shared)) {
+                harness.record(filter, shared, throughput(threads, ShuffleBenchmarks::sharedRandomShuffle), "ops/s");
+            }
+            String perDeck = "Shuffle.Deck.shuffle.threads=" + threads;
+            if (harness.matches(filter, perDeck)) {
+                harness.record(filter, perDeck, throughput(threads, ShuffleBenchmarks::deckShuffle), "ops/s");
+            }
+        }
+    }
+
+    /**
+     * The original shuffle, through the JVM-wide Random used by Collections.shuffle.
+     */
+    private static LongSupplier sharedRandomShuffle() {
+        Deck source = new Deck();
+        List<Card> cards = new ArrayList<>();
+        for (int i = 0; i < Deck.DECK_SIZE; i++) {
+            cards.add(source.drawCard());
+        }
+        return () -> {
+            Collections.shuffle(cards);
+            return cards.get(0).getCode();
+        };
+    }
+
+    /**
+     * Deck.shuffle with the deck's own generator.
+     */
+    private static LongSupplier deckShuffle() {
+        Deck deck = new Deck();
+        return () -> {
+            deck.shuffle();
+            return 1;
+        };
+    }
+
+    /**
+     * Runs one operation per thread, each with its own state, and measures the combined rate.
+     *
+     * @param threads The number of threads
+     * @param setup Builds one thread's state and returns its operation
+     * @return Operations per second over all threads
+     */
+    private static double throughput(int threads, Supplier<LongSupplier> setup) {
+        LongAdder ops = new LongAdder();
+        AtomicBoolean measuring = new AtomicBoolean(false);
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch done = new CountDownLatch(threads);
+        long[] sink = new long[threads];
+
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            Thread worker = new Thread(() -> {
+                LongSupplier op = setup.get();
+                long acc = 0;
+                while (running.get()) {
+                    for (int i = 0; i < 64; i++) {
+                        acc += op.getAsLong();
+                    }
+                    if (measuring.get()) {
+                        ops.add(64);
+                    }
+                }
+                sink[id] = acc;
+                done.countDown();
+            });
+            worker.setDaemon(true);
+            worker.start();
+        }
+
+        try {
+            Thread.sleep(WARMUP_MILLIS);
+            measuring.set(true);
+            long start = System.nanoTime();
+            Thread.sleep(MEASURE_MILLIS);
+            measuring.set(false);
+            long elapsed = System.nanoTime() - start;
+            long total = ops.sum();
+            running.set(false);
+            done.await();
+            return total * 1e9 / elapsed;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running.set(false);
+            return 0;
+        }
+    }
+}
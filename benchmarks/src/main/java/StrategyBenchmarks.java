@@ -0,0 +1,111 @@
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * StrategyBenchmarks - benchmarks for the PlayerStrategy bots.
+ *
+ * Each bot decides on the turns of a match in progress, and plays whole
+ * matches against itself. The run also counts the bytes each decision
+ * allocates, which should be none.
+ *
+ * @author Emma Wong
+ * @version 1
+ */
+public class StrategyBenchmarks {
+    private static final long SEED = 3110L;
+    private static final int PLAYERS = 4;
+    private static final int POSITIONS = 64;
+    private static final int DECISIONS = 10_000_000;
+
+    // Keeps the decisions of the allocation run from being optimised away
+    private static volatile long sink;
+
+    /**
+     * Registers the strategy benchmarks with the harness.
+     *
+     * @param harness The harness to register with
+     */
+    public static void register(BenchmarkHarness harness) {
+        for (String name : List.of("FirstPlayable", "Random", "Greedy", "ColourHoarding")) {
+            harness.add(name + "Strategy.chooseMove", () -> {
+                PlayerStrategy strategy = strategy(name);
+                PlayerView[] views = positions();
+                int[] next = {0};
+                return () -> strategy.chooseMove(views[next[0]++ & (POSITIONS - 1)]);
+            });
+            harness.add(name + "Strategy.playMatch.players=" + PLAYERS, () -> {
+                List<PlayerStrategy> strategies = new ArrayList<>();
+                for (int i = 0; i < PLAYERS; i++) {
+                    strategies.add(strategy(name));
+                }
+                UnoFlipSimulator simulator = new UnoFlipSimulator(strategies);
+                return () -> simulator.playMatch().getTurns();
+            });
+        }
+    }
+
+    /**
+     * Measures the bytes each bot allocates per decision.
+     *
+     * @param harness The harness to record the results with
+     * @param filter Regular expression matched against the measurement names
+     */
+    public static void run(BenchmarkHarness harness, String filter) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (String name : List.of("FirstPlayable", "Random", "Greedy", "ColourHoarding")) {
+            String measurement = name + "Strategy.chooseMove.allocated";
+            if (!harness.matches(filter, measurement)) continue;
+
+            PlayerStrategy strategy = strategy(name);
+            PlayerView[] views = positions();
+            long moves = 0;
+            // Warm up first so the measured loop runs compiled code
+            for (int i = 0; i < DECISIONS; i++) {
+                moves += strategy.chooseMove(views[i & (POSITIONS - 1)]);
+            }
+            long before = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < DECISIONS; i++) {
+                moves += strategy.chooseMove(views[i & (POSITIONS - 1)]);
+            }
+            long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+            sink = moves;
+            harness.record(filter, measurement, (double) allocated / DECISIONS, "B/op");
+        }
+    }
+
+    /**
+     * Makes a new bot of the named kind.
+     */
+    private static PlayerStrategy strategy(String name) {
+        switch (name) {
+            case "Random":         return new RandomStrategy(new SplittableRandom(SEED));
+            case "Greedy":         return new GreedyStrategy();
+            case "ColourHoarding": return new ColourHoardingStrategy();
+            default:               return new FirstPlayableStrategy();
+        }
+    }
+
+    /**
+     * Sets up POSITIONS seeded games at different turns and keeps the view of each.
+     */
+    private static PlayerView[] positions() {
+        UnoFlipSimulator simulator = new UnoFlipSimulator(PLAYERS);
+        PlayerView[] views = new PlayerView[POSITIONS];
+        long seed = SEED;
+        for (int i = 0; i < POSITIONS; i++) {
+            // Each position gets its own model, so its view stays on that turn
+            UnoFlipModel model = new UnoFlipModel(seed++);
+            model.initializeGame(List.of("Player 1", "Player 2", "Player 3", "Player 4"));
+            for (int turn = 0; turn < i % 16 && !model.isRoundOver(); turn++) {
+                simulator.playTurn(model);
+            }
+            if (model.isRoundOver()) {
+                model.startNewRound();
+            }
+            views[i] = model.getPlayerView();
+        }
+        return views;
+    }
+}